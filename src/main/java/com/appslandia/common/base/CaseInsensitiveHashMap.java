@@ -0,0 +1,453 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.base;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion-ordered hash map whose String keys are hashed and compared case-insensitively character by character, so
+ * lookups don't allocate lower-case copies of the keys. Characters below 128 take an ASCII fast path. Keys are stored
+ * in lower case.
+ *
+ * <p>
+ * Entries are kept in insertion order in parallel arrays; an open-addressing table maps hashes to entry positions.
+ * Removed entries are dropped when the arrays are resized.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+public class CaseInsensitiveHashMap<V> extends AbstractMap<String, V> implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  static final int DEFAULT_CAPACITY = 8;
+  static final String REMOVED = new String("REMOVED");
+
+  transient String[] keys;
+  transient Object[] values;
+  transient int[] hashes;
+
+  // Entry position + 1; 0: empty slot
+  transient int[] table;
+
+  transient int count;
+  transient int size;
+  transient int modCount;
+
+  public CaseInsensitiveHashMap() {
+  }
+
+  public CaseInsensitiveHashMap(int initialCapacity) {
+    if (initialCapacity > 0) {
+      allocate(Math.max(DEFAULT_CAPACITY, initialCapacity));
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return (key == null || key instanceof String) && indexOf((String) key) >= 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    if (key != null && !(key instanceof String)) {
+      return null;
+    }
+    var index = indexOf((String) key);
+    return (index >= 0) ? valueAt(index) : null;
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    if (key != null && !(key instanceof String)) {
+      return defaultValue;
+    }
+    var index = indexOf((String) key);
+    return (index >= 0) ? valueAt(index) : defaultValue;
+  }
+
+  @Override
+  public V put(String key, V value) {
+    var hash = hash(key);
+    var index = indexOf(key, hash);
+
+    if (index >= 0) {
+      var old = valueAt(index);
+      values[index] = value;
+      return old;
+    }
+
+    if (table == null) {
+      allocate(DEFAULT_CAPACITY);
+
+    } else if (count == keys.length) {
+      // Compact if many entries were removed, grow otherwise
+      resize((size >= keys.length / 2) ? keys.length * 2 : keys.length);
+    }
+
+    index = count++;
+    keys[index] = toLowerCase(key);
+    values[index] = value;
+    hashes[index] = hash;
+    link(index, hash);
+
+    size++;
+    modCount++;
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (key != null && !(key instanceof String)) {
+      return null;
+    }
+    var index = indexOf((String) key);
+    if (index < 0) {
+      return null;
+    }
+    var old = valueAt(index);
+    removeAt(index);
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    if (table != null) {
+      Arrays.fill(keys, 0, count, null);
+      Arrays.fill(values, 0, count, null);
+      Arrays.fill(table, 0);
+    }
+    count = 0;
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    return new AbstractSet<>() {
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        CaseInsensitiveHashMap.this.clear();
+      }
+
+      @Override
+      public Iterator<Entry<String, V>> iterator() {
+        return new EntryIterator();
+      }
+    };
+  }
+
+  int indexOf(String key) {
+    return indexOf(key, hash(key));
+  }
+
+  int indexOf(String key, int hash) {
+    if (table == null) {
+      return -1;
+    }
+    var mask = table.length - 1;
+    var slot = hash & mask;
+    int pos;
+
+    while ((pos = table[slot]) != 0) {
+      var index = pos - 1;
+      var k = keys[index];
+
+      if (k != REMOVED && hashes[index] == hash && equalsIgnoreCase(k, key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  void link(int index, int hash) {
+    var mask = table.length - 1;
+    var slot = hash & mask;
+
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = index + 1;
+  }
+
+  void removeAt(int index) {
+    keys[index] = REMOVED;
+    values[index] = null;
+    size--;
+    modCount++;
+  }
+
+  @SuppressWarnings("unchecked")
+  V valueAt(int index) {
+    return (V) values[index];
+  }
+
+  void allocate(int capacity) {
+    keys = new String[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+
+    // Keep the load factor at or below 0.5
+    table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+  }
+
+  void resize(int capacity) {
+    var oldKeys = keys;
+    var oldValues = values;
+    var oldHashes = hashes;
+    var oldCount = count;
+
+    allocate(capacity);
+    count = 0;
+
+    for (var i = 0; i < oldCount; i++) {
+      if (oldKeys[i] != REMOVED) {
+        keys[count] = oldKeys[i];
+        values[count] = oldValues[i];
+        hashes[count] = oldHashes[i];
+        link(count, oldHashes[i]);
+        count++;
+      }
+    }
+    modCount++;
+  }
+
+  static char fold(char c) {
+    if (c < 128) {
+      return (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+    }
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  public static int hash(String key) {
+    if (key == null) {
+      return 0;
+    }
+    var h = 0;
+    for (var i = 0; i < key.length(); i++) {
+      h = 31 * h + fold(key.charAt(i));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  public static boolean equalsIgnoreCase(String s1, String s2) {
+    if (s1 == s2) {
+      return true;
+    }
+    if (s1 == null || s2 == null || s1.length() != s2.length()) {
+      return false;
+    }
+    for (var i = 0; i < s1.length(); i++) {
+      var c1 = s1.charAt(i);
+      var c2 = s2.charAt(i);
+
+      if (c1 != c2 && fold(c1) != fold(c2)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Folds each character to lower case. Unlike {@link String#toLowerCase()}, the length never changes, which keeps the
+   * stored key consistent with {@link #equalsIgnoreCase(String, String)}. Returns the given key if it is already in
+   * lower case.
+   *
+   */
+  public static String toLowerCase(String key) {
+    if (key == null) {
+      return null;
+    }
+    var i = 0;
+    while (i < key.length() && fold(key.charAt(i)) == key.charAt(i)) {
+      i++;
+    }
+    if (i == key.length()) {
+      return key;
+    }
+    var chars = key.toCharArray();
+    for (; i < chars.length; i++) {
+      chars[i] = fold(chars[i]);
+    }
+    return new String(chars);
+  }
+
+  class EntryIterator implements Iterator<Entry<String, V>> {
+    int next;
+    int last = -1;
+    int expectedModCount = modCount;
+
+    EntryIterator() {
+      next = advance(0);
+    }
+
+    int advance(int index) {
+      while (index < count && keys[index] == REMOVED) {
+        index++;
+      }
+      return index;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < count;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= count) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = advance(next + 1);
+      return new MapEntry(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(last);
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  class MapEntry implements Entry<String, V> {
+    final String key;
+
+    // The arrays the index refers to; a resize compacts the entries into new arrays
+    String[] entryKeys;
+    int index;
+
+    MapEntry(int index) {
+      this.entryKeys = keys;
+      this.index = index;
+      this.key = keys[index];
+    }
+
+    int locate() {
+      if (entryKeys != keys) {
+        entryKeys = keys;
+        index = (keys != null) ? indexOf(key) : -1;
+      }
+      return (index >= 0 && keys[index] == key) ? index : -1;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      var i = locate();
+      return (i >= 0) ? valueAt(i) : null;
+    }
+
+    @Override
+    public V setValue(V value) {
+      var i = locate();
+      if (i < 0) {
+        throw new IllegalStateException("The entry was removed.");
+      }
+      var old = valueAt(i);
+      values[i] = value;
+      return old;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return (o instanceof Entry<?, ?> e) && Objects.equals(key, e.getKey())
+          && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+
+    for (var i = 0; i < count; i++) {
+      if (keys[i] != REMOVED) {
+        out.writeObject(keys[i]);
+        out.writeObject(values[i]);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    var entries = in.readInt();
+
+    if (entries > 0) {
+      allocate(Math.max(DEFAULT_CAPACITY, entries));
+    }
+    for (var i = 0; i < entries; i++) {
+      put((String) in.readObject(), (V) in.readObject());
+    }
+  }
+}
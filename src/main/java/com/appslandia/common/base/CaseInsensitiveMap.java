@@ -22,7 +22,6 @@ package com.appslandia.common.base;
 
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -39,12 +38,16 @@ public class CaseInsensitiveMap<V> implements Map<String, V>, Serializable {
 
   protected final Map<String, V> map;
 
+  // The backing map compares keys case-insensitively itself
+  final boolean ciBacked;
+
   public CaseInsensitiveMap() {
-    this(new HashMap<>());
+    this(new CaseInsensitiveHashMap<>());
   }
 
   public CaseInsensitiveMap(Map<String, V> backingMap) {
     map = backingMap;
+    ciBacked = backingMap instanceof CaseInsensitiveHashMap;
   }
 
   @Override
@@ -59,7 +62,7 @@ public class CaseInsensitiveMap<V> implements Map<String, V>, Serializable {
 
   @Override
   public boolean containsKey(Object key) {
-    return (key instanceof String s) && map.containsKey(toKey(s));
+    return (key instanceof String s) && map.containsKey(ciBacked ? s : toKey(s));
   }
 
   @Override
@@ -69,17 +72,17 @@ public class CaseInsensitiveMap<V> implements Map<String, V>, Serializable {
 
   @Override
   public V get(Object key) {
-    return (key instanceof String s) ? map.get(toKey(s)) : null;
+    return (key instanceof String s) ? map.get(ciBacked ? s : toKey(s)) : null;
   }
 
   @Override
   public V put(String key, V value) {
-    return map.put(toKey(key), value);
+    return map.put(ciBacked ? key : toKey(key), value);
   }
 
   @Override
   public V remove(Object key) {
-    return (key instanceof String s) ? map.remove(toKey(s)) : null;
+    return (key instanceof String s) ? map.remove(ciBacked ? s : toKey(s)) : null;
   }
 
   @Override
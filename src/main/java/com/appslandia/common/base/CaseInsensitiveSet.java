@@ -22,7 +22,7 @@ package com.appslandia.common.base;
 
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Set;
@@ -39,12 +39,20 @@ public class CaseInsensitiveSet implements Set<String>, Serializable {
 
   protected final Set<String> elements;
 
+  // The backing set compares elements case-insensitively itself
+  final boolean ciBacked;
+
   public CaseInsensitiveSet() {
-    this(new HashSet<>());
+    this(Collections.newSetFromMap(new CaseInsensitiveHashMap<>()), true);
   }
 
   public CaseInsensitiveSet(Set<String> backingSet) {
+    this(backingSet, false);
+  }
+
+  CaseInsensitiveSet(Set<String> backingSet, boolean ciBacked) {
     this.elements = backingSet;
+    this.ciBacked = ciBacked;
   }
 
   @Override
@@ -59,7 +67,7 @@ public class CaseInsensitiveSet implements Set<String>, Serializable {
 
   @Override
   public boolean contains(Object e) {
-    return (e instanceof String s) && elements.contains(toValue(s));
+    return (e instanceof String s) && elements.contains(ciBacked ? s : toValue(s));
   }
 
   @Override
@@ -79,12 +87,12 @@ public class CaseInsensitiveSet implements Set<String>, Serializable {
 
   @Override
   public boolean add(String e) {
-    return elements.add(toValue(e));
+    return elements.add(ciBacked ? e : toValue(e));
   }
 
   @Override
   public boolean remove(Object e) {
-    return (e instanceof String s) && elements.remove(toValue(s));
+    return (e instanceof String s) && elements.remove(ciBacked ? s : toValue(s));
   }
 
   @Override
@@ -124,7 +132,7 @@ public class CaseInsensitiveSet implements Set<String>, Serializable {
 
   static boolean containsIn(Collection<?> c, String value) {
     for (Object e : c) {
-      if ((e instanceof String s) && toValue(s).equals(value)) {
+      if ((e instanceof String s) && CaseInsensitiveHashMap.equalsIgnoreCase(s, value)) {
         return true;
       }
     }
@@ -0,0 +1,190 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.csv;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.appslandia.common.base.TextBuilder;
+import com.appslandia.common.data.Column;
+import com.appslandia.common.data.Table;
+import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.DbDialect;
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.IOUtils;
+
+/**
+ * Loads a CSV file into a table with a native bulk-load primitive of the database. The CSV values are parsed by the
+ * database, so values are not trimmed and are converted by the database's own rules.
+ *
+ * @author Loc Ha
+ *
+ */
+public interface BulkLoadStrategy {
+
+  long load(ConnectionImpl conn, Table table, List<Column> columns, String csvFile, boolean csvHeader,
+      CsvProcessor csvProcessor) throws Exception;
+
+  /**
+   * Returns the default strategy of the given dialect or null if the dialect has no strategy which works without
+   * driver-specific settings.
+   *
+   */
+  public static BulkLoadStrategy forDialect(DbDialect dialect) {
+    return switch (dialect.getType()) {
+    case H2 -> new H2CsvReadStrategy();
+    default -> null;
+    };
+  }
+
+  static String toSqlString(String value) {
+    return "'" + value.replace("'", "''") + "'";
+  }
+
+  static String toQColumns(List<Column> columns) {
+    var sb = new TextBuilder();
+    for (var i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(columns.get(i).getQName());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Uses {@code INSERT INTO ... SELECT * FROM CSVREAD(...)}. The file is read by the H2 server.
+   *
+   */
+  public static class H2CsvReadStrategy implements BulkLoadStrategy {
+
+    @Override
+    public long load(ConnectionImpl conn, Table table, List<Column> columns, String csvFile, boolean csvHeader,
+        CsvProcessor csvProcessor) throws Exception {
+      Arguments.isTrue(!csvProcessor.isEscCrLf(), "escCrLf is not supported.");
+
+      var sb = new TextBuilder();
+      sb.append("INSERT INTO ").append(table.getQTableName()).append(" (").append(toQColumns(columns)).append(")");
+      sb.append(" SELECT * FROM CSVREAD(").append(toSqlString(csvFile)).append(", ");
+
+      // Without a header the column names are given, so the first line is read as data
+      if (csvHeader) {
+        sb.append("NULL");
+      } else {
+        var names = new TextBuilder();
+        for (var i = 0; i < columns.size(); i++) {
+          if (i > 0) {
+            names.append(csvProcessor.getSeparator());
+          }
+          names.append('C').append(i);
+        }
+        sb.append(toSqlString(names.toString()));
+      }
+
+      var options = "charset=" + StandardCharsets.UTF_8.name() + " fieldSeparator=" + csvProcessor.getSeparator();
+      sb.append(", ").append(toSqlString(options)).append(")");
+
+      return conn.executeUpdate(sb.toString());
+    }
+  }
+
+  /**
+   * Uses {@code LOAD DATA LOCAL INFILE}. The connection must allow local infile, e.g. Connector/J
+   * {@code allowLoadLocalInfile=true}. Empty values are loaded as NULL.
+   *
+   */
+  public static class MySQLLoadDataStrategy implements BulkLoadStrategy {
+
+    @Override
+    public long load(ConnectionImpl conn, Table table, List<Column> columns, String csvFile, boolean csvHeader,
+        CsvProcessor csvProcessor) throws Exception {
+      Arguments.isTrue(!csvProcessor.isEscCrLf(), "escCrLf is not supported.");
+
+      var sb = new TextBuilder();
+      sb.append("LOAD DATA LOCAL INFILE ").append(toSqlString(csvFile.replace("\\", "\\\\")));
+      sb.append(" INTO TABLE ").append(table.getQTableName()).append(" CHARACTER SET utf8mb4");
+      sb.append(" FIELDS TERMINATED BY ").append(toSqlString(String.valueOf(csvProcessor.getSeparator())));
+      sb.append(" OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '' LINES TERMINATED BY '\\n'");
+      if (csvHeader) {
+        sb.append(" IGNORE 1 LINES");
+      }
+
+      // Read into variables: empty -> NULL, trailing CR of the last value is removed
+      sb.append(" (");
+      for (var i = 0; i < columns.size(); i++) {
+        sb.append((i > 0) ? ", @v" : "@v").append(i);
+      }
+      sb.append(") SET ");
+
+      var last = columns.size() - 1;
+      for (var i = 0; i <= last; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(columns.get(i).getQName()).append(" = NULLIF(");
+        if (i == last) {
+          sb.append("TRIM(TRAILING '\\r' FROM @v").append(i).append(")");
+        } else {
+          sb.append("@v").append(i);
+        }
+        sb.append(", '')");
+      }
+      return conn.executeUpdate(sb.toString());
+    }
+  }
+
+  /**
+   * Uses {@code COPY ... FROM STDIN}. The copy itself is delegated to a {@link CopyHandler} since it requires the
+   * PostgreSQL driver API, e.g.
+   * {@code (c, sql, r) -> c.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, r)}.
+   *
+   */
+  public static class PostgreSQLCopyStrategy implements BulkLoadStrategy {
+
+    final CopyHandler copyHandler;
+
+    public PostgreSQLCopyStrategy(CopyHandler copyHandler) {
+      this.copyHandler = Arguments.notNull(copyHandler);
+    }
+
+    @Override
+    public long load(ConnectionImpl conn, Table table, List<Column> columns, String csvFile, boolean csvHeader,
+        CsvProcessor csvProcessor) throws Exception {
+      Arguments.isTrue(!csvProcessor.isEscCrLf(), "escCrLf is not supported.");
+
+      var sb = new TextBuilder();
+      sb.append("COPY ").append(table.getQTableName()).append(" (").append(toQColumns(columns)).append(")");
+      sb.append(" FROM STDIN WITH (FORMAT csv, HEADER ").append(csvHeader ? "true" : "false");
+      sb.append(", DELIMITER ").append(toSqlString(String.valueOf(csvProcessor.getSeparator()))).append(")");
+
+      try (var in = IOUtils.readerBOM(csvFile, StandardCharsets.UTF_8.name())) {
+        return copyHandler.copyIn(conn, sb.toString(), in);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface CopyHandler {
+
+    long copyIn(ConnectionImpl conn, String copySql, Reader csvReader) throws Exception;
+  }
+}
@@ -21,16 +21,23 @@
 package com.appslandia.common.csv;
 
 import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 import com.appslandia.common.base.CaseInsensitiveMap;
 import com.appslandia.common.base.InitializingObject;
-import com.appslandia.common.base.Out;
 import com.appslandia.common.data.RecordContext;
 import com.appslandia.common.jdbc.ConnectionImpl;
 import com.appslandia.common.jdbc.ResultSetColumn;
+import com.appslandia.common.jdbc.ResultSetImpl;
 import com.appslandia.common.utils.Arguments;
 import com.appslandia.common.utils.IOUtils;
 
@@ -41,6 +48,8 @@ import com.appslandia.common.utils.IOUtils;
  */
 public class CsvExporter extends InitializingObject {
 
+  static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
   private ConnectionImpl connection;
   private String pQuery;
   private Map<String, Object> pQueryParams;
@@ -48,6 +57,9 @@ public class CsvExporter extends InitializingObject {
   private CsvProcessor csvProcessor;
   final Map<String, DbToCsvConverter> converters = new CaseInsensitiveMap<>();
 
+  private int fetchSize;
+  private boolean gzip;
+
   @Override
   protected void init() throws Exception {
     Arguments.notNull(pQuery);
@@ -62,7 +74,10 @@ public class CsvExporter extends InitializingObject {
 
   public int execute(String csvFileLocation) throws Exception {
     initialize();
-    try (var out = IOUtils.writerBOM(csvFileLocation, StandardCharsets.UTF_8.name())) {
+
+    try (var fos = new FileOutputStream(csvFileLocation);
+        OutputStream os = gzip ? new GZIPOutputStream(fos, GZIP_BUFFER_SIZE) : fos;
+        var out = IOUtils.writerBOM(os, StandardCharsets.UTF_8.name())) {
       return execute(out);
     }
   }
@@ -70,46 +85,103 @@ public class CsvExporter extends InitializingObject {
   public int execute(BufferedWriter csvOutput) throws Exception {
     initialize();
 
-    var counter = new AtomicInteger(0);
+    var counter = 0;
     try (var ctx = new RecordContext(connection)) {
+      if (fetchSize > 0) {
+        ctx.setFetchSize(fetchSize);
+      }
 
-      var writeHeader = new Out<Boolean>();
-      ctx.executeQuery(pQuery, pQueryParams, rs -> {
+      try (var iter = ctx.iterator(pQuery, pQueryParams, rs -> rs)) {
+        List<ColumnPlan> plans = null;
 
-        // CSV Header
-        if (writeHeader.value == null) {
+        while (iter.hasNext()) {
+          var rs = iter.next();
 
-          for (ResultSetColumn column : rs.getColumns()) {
-            if (column.getIndex() > 1) {
-              csvOutput.write(csvProcessor.getSeparator());
+          // CSV Header
+          if (plans == null) {
+            plans = toColumnPlans(rs.getColumns());
+
+            for (ColumnPlan plan : plans) {
+              if (plan.index > 1) {
+                csvOutput.write(csvProcessor.getSeparator());
+              }
+              csvProcessor.escape(plan.name, csvOutput);
             }
-            csvOutput.write(csvProcessor.escape(column.getName()));
+            csvOutput.newLine();
           }
 
+          // CSV Record
+          for (ColumnPlan plan : plans) {
+            if (plan.index > 1) {
+              csvOutput.write(csvProcessor.getSeparator());
+            }
+            writeValue(rs, plan, csvOutput);
+          }
           csvOutput.newLine();
-          writeHeader.value = true;
+          counter++;
         }
+      }
+      csvOutput.flush();
+    }
+    return counter;
+  }
 
-        // CSV Record
-        for (ResultSetColumn column : rs.getColumns()) {
-          var value = rs.getObject(column.getIndex());
+  protected List<ColumnPlan> toColumnPlans(List<ResultSetColumn> columns) {
+    List<ColumnPlan> plans = new ArrayList<>(columns.size());
+    for (ResultSetColumn column : columns) {
+      plans.add(new ColumnPlan(column, converters.get(column.getName())));
+    }
+    return plans;
+  }
 
-          var converter = converters.get(column.getName());
-          if (converter != null) {
-            value = converter.apply(value);
-          }
+  protected void writeValue(ResultSetImpl rs, ColumnPlan plan, Writer out) throws Exception {
+    if (plan.converter != null) {
+      csvProcessor.escape(plan.converter.apply(rs.getObject(plan.index)), out);
+      return;
+    }
+    if (plan.stringType) {
+      csvProcessor.escape(rs.getString(plan.index), out);
+      return;
+    }
 
-          if (column.getIndex() > 1) {
-            csvOutput.write(csvProcessor.getSeparator());
-          }
-          csvOutput.write(csvProcessor.escape(value));
+    var value = rs.getObject(plan.index);
+    if (value instanceof java.util.Date date) {
+      csvProcessor.doEscape(plan.getDateFormat(csvProcessor, date).format(date), out);
+    } else {
+      csvProcessor.escape(value, out);
+    }
+  }
 
-        }
-        csvOutput.newLine();
-      });
-      csvOutput.flush();
+  protected static class ColumnPlan {
+    final int index;
+    final String name;
+    final DbToCsvConverter converter;
+    final boolean stringType;
+
+    Class<?> dateType;
+    DateFormat dateFormat;
+
+    public ColumnPlan(ResultSetColumn column, DbToCsvConverter converter) {
+      this.index = column.getIndex();
+      this.name = column.getName();
+      this.converter = converter;
+      this.stringType = isStringType(column.getSqlType());
+    }
+
+    DateFormat getDateFormat(CsvProcessor csvProcessor, java.util.Date date) {
+      if (dateType != date.getClass()) {
+        dateFormat = csvProcessor.getDateFormat(csvProcessor.getDatePattern(date));
+        dateType = date.getClass();
+      }
+      return dateFormat;
+    }
+
+    static boolean isStringType(int sqlType) {
+      return switch (sqlType) {
+      case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> true;
+      default -> false;
+      };
     }
-    return counter.get();
   }
 
   public CsvExporter setConnection(ConnectionImpl connection) {
@@ -136,6 +208,19 @@ public class CsvExporter extends InitializingObject {
     return this;
   }
 
+  public CsvExporter setFetchSize(int fetchSize) {
+    assertNotInitialized();
+    Arguments.isTrue(fetchSize >= 0, "fetchSize must be non-negative.");
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  public CsvExporter setGzip(boolean gzip) {
+    assertNotInitialized();
+    this.gzip = gzip;
+    return this;
+  }
+
   public CsvExporter setDbToCsvConverter(String columnLabel, DbToCsvConverter converter) {
     assertNotInitialized();
     Arguments.notNull(converter);
@@ -34,12 +34,23 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
+import javax.sql.DataSource;
+
 import com.appslandia.common.base.DangerTaskConfirm;
 import com.appslandia.common.base.InitializingObject;
 import com.appslandia.common.base.TemporalPatterns;
@@ -48,7 +59,9 @@ import com.appslandia.common.data.DataRecord;
 import com.appslandia.common.data.RecordContext;
 import com.appslandia.common.data.Table;
 import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.DbContext;
 import com.appslandia.common.jdbc.JdbcParam;
+import com.appslandia.common.threading.ThreadFactoryBuilder;
 import com.appslandia.common.utils.Arguments;
 import com.appslandia.common.utils.Asserts;
 import com.appslandia.common.utils.IOUtils;
@@ -74,19 +87,53 @@ public class CsvImporter extends InitializingObject {
   private TemporalPatterns temporalPatterns;
   final Map<Integer, CsvToDbConverter> converters = new TreeMap<>();
 
+  private boolean bulkLoad;
+  private BulkLoadStrategy bulkLoadStrategy;
+
+  private int batchSize = DbContext.DEFAULT_BATCH_MAX_ROWS;
+  private int commitSize;
+
+  private DataSource dataSource;
+  private int converterThreads;
+  private int writerConnections;
+  private int queueCapacity;
+
   @Override
   protected void init() throws Exception {
     Arguments.notNull(tableName);
 
-    if (connection == null) {
+    // The pipeline opens its own connections
+    if (connection == null && dataSource == null) {
       connection = ConnectionImpl.getCurrent();
     }
     if (csvProcessor == null) {
       csvProcessor = CsvProcessor.INSTANCE;
     }
+    // Bulk loads parse values with the database's rules
+    Arguments.isTrue(!(bulkLoad || bulkLoadStrategy != null) || temporalPatterns == null,
+        "temporalPatterns can't be used with bulkLoad or bulkLoadStrategy.");
+
     if (temporalPatterns == null) {
       temporalPatterns = TemporalPatterns.DEFAULT.initialize();
     }
+
+    Arguments.isTrue(batchSize > 0, "batchSize must be positive.");
+    Arguments.isTrue(commitSize >= 0, "commitSize must be non-negative.");
+
+    if (dataSource != null) {
+      if (converterThreads == 0) {
+        converterThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+      }
+      if (writerConnections == 0) {
+        writerConnections = Math.min(4, Runtime.getRuntime().availableProcessors());
+      }
+      if (queueCapacity == 0) {
+        queueCapacity = 2 * Math.max(converterThreads, writerConnections);
+      }
+      Arguments.isTrue(converterThreads > 0, "converterThreads must be positive.");
+      Arguments.isTrue(writerConnections > 0, "writerConnections must be positive.");
+      Arguments.isTrue(queueCapacity > 0, "queueCapacity must be positive.");
+    }
   }
 
   protected boolean isTaskConfirmed() {
@@ -95,6 +142,19 @@ public class CsvImporter extends InitializingObject {
 
   public int execute(String csvFileLocation, boolean csvHeader) throws Exception {
     initialize();
+
+    // Native bulk-load
+    if (isBulkLoadable()) {
+      try (var ctx = (connection != null) ? new RecordContext(connection) : new RecordContext(dataSource)) {
+        var strategy = (bulkLoadStrategy != null) ? bulkLoadStrategy
+            : BulkLoadStrategy.forDialect(ctx.getConnection().getDbDialect());
+
+        if (strategy != null) {
+          return executeBulkLoad(ctx, strategy, csvFileLocation, csvHeader);
+        }
+      }
+    }
+
     try (var in = IOUtils.readerBOM(csvFileLocation, StandardCharsets.UTF_8.name())) {
       return execute(in, csvHeader);
     }
@@ -103,77 +163,475 @@ public class CsvImporter extends InitializingObject {
   public int execute(BufferedReader csvInput, boolean csvHeader) throws Exception {
     initialize();
 
+    // Pipeline
+    if (dataSource != null) {
+      return new Pipeline().execute(csvInput, csvHeader);
+    }
+
     try (var ctx = new RecordContext(connection)) {
       var table = ctx.getTable(tableName);
+      var columns = getColumns(table);
 
       try {
         // Transactional
         if (isTaskConfirmed()) {
           ctx.setTransactional(true);
+          ctx.setBatchMaxRows(0);
         }
 
-        final var counter = new AtomicInteger(0);
+        var parser = new CsvParser(csvProcessor, csvInput);
+        var recordIdx = 0;
+        var counter = 0;
+
+        var batchRows = 0;
+        var batchLine = 0L;
+        var uncommittedRows = 0;
 
-        csvProcessor.parse(csvInput, (idx, csvRecord) -> {
-          Asserts.isTrue(table.getColumns().size() == csvRecord.length(), "Column count mismatch.");
+        while (parser.next()) {
+          var line = parser.recordLine;
+          var csvRecord = new CsvRecord(parser.toValues());
 
-          if (csvHeader) {
-            if (idx == 0) {
-              return;
+          try {
+            Asserts.isTrue(columns.size() == csvRecord.length(), "Column count mismatch.");
+
+            if (csvHeader && recordIdx++ == 0) {
+              continue;
+            }
+
+            // Build record
+            var dataRecord = toDataRecord(csvRecord, columns, ctx.getConnection());
+
+            // csvDebugger
+            if (csvDebugger != null) {
+              csvDebugger.apply(counter, csvRecord, dataRecord);
             }
+
+            // Insert the record (batch)
+            if (isTaskConfirmed()) {
+              ctx.insert(table.getName(), dataRecord, true);
+            }
+
+          } catch (Exception ex) {
+            throw new CsvImportException(STR.fmt("Failed to import the CSV record at line {}.", line), line, ex);
           }
+          counter++;
 
-          // Build record
-          var dataRecord = new DataRecord();
-          for (var csvIdx = 0; csvIdx < csvRecord.length(); csvIdx++) {
+          if (isTaskConfirmed()) {
+            if (batchRows++ == 0) {
+              batchLine = line;
+            }
+            if (batchRows == batchSize) {
+              executeBatch(ctx, batchLine, line);
+              uncommittedRows += batchRows;
+              batchRows = 0;
+
+              if (commitSize > 0 && uncommittedRows >= commitSize) {
+                ctx.commit();
+                uncommittedRows = 0;
+              }
+            }
+          }
+        }
 
-            var col = getColumn(table, csvIdx);
-            dataRecord.set(col.getName(), toColumnValue(csvRecord, csvIdx, col, ctx.getConnection()));
+        // last executeBatch
+        if (isTaskConfirmed()) {
+          if (batchRows > 0) {
+            executeBatch(ctx, batchLine, parser.recordLine);
           }
+          ctx.commit();
+        }
+        return counter;
+
+      } catch (Exception ex) {
+
+        // Rollback
+        if (isTaskConfirmed()) {
+          rollback(ctx, ex);
+        }
+        throw ex;
+      }
+    }
+  }
+
+  /**
+   * Discards the pending batches and rolls back. A rollback failure is added to the given failure as suppressed.
+   *
+   */
+  static void rollback(RecordContext ctx, Exception failure) {
+    try {
+      ctx.clearBatch();
+      ctx.rollback();
+
+    } catch (Exception ex) {
+      failure.addSuppressed(ex);
+    }
+  }
+
+  static void executeBatch(RecordContext ctx, long firstLine, long lastLine) throws CsvImportException {
+    try {
+      ctx.executeBatch();
+    } catch (Exception ex) {
+      throw new CsvImportException(STR.fmt("Failed to import the CSV records at lines {}-{}.", firstLine, lastLine),
+          firstLine, ex);
+    }
+  }
+
+  protected List<Column> getColumns(Table table) {
+    List<Column> columns = new ArrayList<>(table.getColumns().size());
+    for (var csvIdx = 0; csvIdx < table.getColumns().size(); csvIdx++) {
+      columns.add(getColumn(table, csvIdx));
+    }
+    return columns;
+  }
+
+  protected DataRecord toDataRecord(CsvRecord csvRecord, List<Column> columns, ConnectionImpl conn) throws Exception {
+    var dataRecord = new DataRecord();
+    for (var csvIdx = 0; csvIdx < csvRecord.length(); csvIdx++) {
+
+      var col = columns.get(csvIdx);
+      dataRecord.set(col.getName(), toColumnValue(csvRecord, csvIdx, col, conn));
+    }
+    return dataRecord;
+  }
+
+  static class Chunk {
+    static final Chunk END = new Chunk(0);
+
+    final long firstIndex;
+    final List<CsvRecord> csvRecords;
+    final List<Long> lines;
+    List<DataRecord> dataRecords;
+
+    Chunk(long firstIndex) {
+      this.firstIndex = firstIndex;
+      this.csvRecords = new ArrayList<>();
+      this.lines = new ArrayList<>();
+    }
+  }
+
+  /**
+   * Parses on the calling thread, converts chunks of CSV records on the converter threads and inserts them over the
+   * writer connections. The stages are connected by bounded queues; the first failure stops all stages.
+   *
+   */
+  class Pipeline {
+
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    final AtomicLong imported = new AtomicLong(0);
+
+    BlockingQueue<Chunk> csvQueue;
+    BlockingQueue<Chunk> dataQueue;
+
+    int execute(BufferedReader csvInput, boolean csvHeader) throws Exception {
+      Table table;
+      try (var ctx = new RecordContext(dataSource)) {
+        table = ctx.getTable(tableName);
+      }
+      var columns = getColumns(table);
+
+      csvQueue = new ArrayBlockingQueue<>(queueCapacity);
+      dataQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+      var threadFactory = new ThreadFactoryBuilder().setNameFormat("csv-importer-" + tableName + "-%d")
+          .setDaemon(true).build();
+
+      // Values that need a connection are converted on the writer connections
+      var convertOnWriter = needsConnection(columns);
+      var converterCount = convertOnWriter ? 0 : converterThreads;
+
+      List<Thread> converterList = new ArrayList<>(converterCount);
+      List<Writer> writers = new ArrayList<>(writerConnections);
+      var remainingConverters = new AtomicInteger(converterCount);
+
+      try {
+        // Writers
+        for (var i = 0; i < writerConnections; i++) {
+          var writer = new Writer(table.getName(), columns);
+          writers.add(writer);
+
+          writer.thread = threadFactory.newThread(writer);
+          writer.thread.start();
+        }
+
+        // Converters
+        for (var i = 0; i < converterCount; i++) {
+          var thread = threadFactory.newThread(() -> convert(columns, remainingConverters));
+          converterList.add(thread);
+          thread.start();
+        }
+
+        parse(csvInput, csvHeader, columns.size(), convertOnWriter ? dataQueue : csvQueue);
+
+      } catch (Exception ex) {
+        addFailure(ex);
+
+      } finally {
+        try {
+          for (var i = 0; i < converterList.size(); i++) {
+            offer(csvQueue, Chunk.END);
+          }
+          if (converterList.isEmpty()) {
+            for (var i = 0; i < writers.size(); i++) {
+              offer(dataQueue, Chunk.END);
+            }
+          }
+          for (Thread thread : converterList) {
+            thread.join();
+          }
+          for (Writer writer : writers) {
+            writer.drained.await();
+          }
+        } catch (InterruptedException ex) {
+          // The writers see the failure, stop taking and roll back
+          addFailure(ex);
+        } finally {
+          complete(writers);
+        }
+      }
+      return Math.toIntExact(imported.get());
+    }
+
+    void parse(BufferedReader csvInput, boolean csvHeader, int columnCount, BlockingQueue<Chunk> queue)
+        throws Exception {
+      var parser = new CsvParser(csvProcessor, csvInput);
+      var parsedIdx = 0L;
+      var recordIdx = 0L;
+      var chunk = new Chunk(0);
+
+      while (failure.get() == null && parser.next()) {
+        var line = parser.recordLine;
+        var csvRecord = new CsvRecord(parser.toValues());
+
+        if (columnCount != csvRecord.length()) {
+          throw new CsvImportException(STR.fmt("Column count mismatch at line {}.", line), line, null);
+        }
+        if (csvHeader && parsedIdx++ == 0) {
+          continue;
+        }
+
+        chunk.csvRecords.add(csvRecord);
+        chunk.lines.add(line);
+        recordIdx++;
+
+        if (chunk.csvRecords.size() == batchSize) {
+          offer(queue, chunk);
+          chunk = new Chunk(recordIdx);
+        }
+      }
+      if (!chunk.csvRecords.isEmpty()) {
+        offer(queue, chunk);
+      }
+    }
+
+    boolean needsConnection(List<Column> columns) {
+      return !converters.isEmpty() || columns.stream().anyMatch(c -> c.getJavaType() == SQLXML.class);
+    }
+
+    void convert(List<Column> columns, AtomicInteger remainingConverters) {
+      try {
+        Chunk chunk;
+        while ((chunk = take(csvQueue)) != null) {
+          convertChunk(chunk, columns, null);
+          offer(dataQueue, chunk);
+        }
+      } catch (Exception ex) {
+        addFailure(ex);
+
+      } finally {
+        if (remainingConverters.decrementAndGet() == 0) {
+          try {
+            for (var i = 0; i < writerConnections; i++) {
+              offer(dataQueue, Chunk.END);
+            }
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            addFailure(ex);
+          }
+        }
+      }
+    }
+
+    void convertChunk(Chunk chunk, List<Column> columns, ConnectionImpl conn) throws CsvImportException {
+      chunk.dataRecords = new ArrayList<>(chunk.csvRecords.size());
+
+      for (var i = 0; i < chunk.csvRecords.size(); i++) {
+        var csvRecord = chunk.csvRecords.get(i);
+        var line = chunk.lines.get(i);
+
+        try {
+          var dataRecord = toDataRecord(csvRecord, columns, conn);
 
           // csvDebugger
           if (csvDebugger != null) {
-            csvDebugger.apply(counter.get(), csvRecord, dataRecord);
+            csvDebugger.apply(Math.toIntExact(chunk.firstIndex + i), csvRecord, dataRecord);
           }
+          chunk.dataRecords.add(dataRecord);
 
-          // Insert the record (batch)
-          if (isTaskConfirmed()) {
-            ctx.insert(table.getName(), dataRecord, true);
+        } catch (Exception ex) {
+          throw new CsvImportException(STR.fmt("Failed to import the CSV record at line {}.", line), line, ex);
+        }
+      }
+    }
+
+    class Writer implements Runnable {
+      final String tableName;
+      final List<Column> columns;
+
+      final CountDownLatch drained = new CountDownLatch(1);
+      final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+
+      int uncommittedRows;
+      Thread thread;
+
+      Writer(String tableName, List<Column> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+      }
+
+      @Override
+      public void run() {
+        // The context is current on this thread only, from creation to close
+        try (var ctx = new RecordContext(dataSource)) {
+          ctx.setTransactional(true);
+          ctx.setBatchMaxRows(0);
+
+          try {
+            write(ctx);
+          } catch (Exception ex) {
+            addFailure(ex);
+          } finally {
+            drained.countDown();
           }
 
-          var inserts = counter.incrementAndGet();
+          // Wait for the caller's decision
+          var commit = outcome.join();
+          Thread.interrupted();
 
-          // executeBatch markers
-          if (inserts > 0 && inserts % 100 == 0) {
+          if (commit) {
+            ctx.commit();
+          } else {
+            ctx.clearBatch();
+            ctx.rollback();
+          }
+        } catch (Exception ex) {
+          addFailure(ex);
+        } finally {
+          drained.countDown();
+        }
+      }
 
-            if (isTaskConfirmed()) {
-              ctx.executeBatch();
-            }
+      void write(RecordContext ctx) throws Exception {
+        Chunk chunk;
+        while ((chunk = take(dataQueue)) != null) {
+          var firstLine = chunk.lines.get(0);
+          var lastLine = chunk.lines.get(chunk.lines.size() - 1);
+
+          if (chunk.dataRecords == null) {
+            convertChunk(chunk, columns, ctx.getConnection());
           }
-        });
 
-        // last executeBatch
-        if (isTaskConfirmed()) {
-          ctx.executeBatch();
+          if (isTaskConfirmed()) {
+            try {
+              for (DataRecord dataRecord : chunk.dataRecords) {
+                ctx.insert(tableName, dataRecord, true);
+              }
+            } catch (Exception ex) {
+              throw new CsvImportException(
+                  STR.fmt("Failed to import the CSV records at lines {}-{}.", firstLine, lastLine), firstLine, ex);
+            }
+            executeBatch(ctx, firstLine, lastLine);
+
+            uncommittedRows += chunk.dataRecords.size();
+            if (commitSize > 0 && uncommittedRows >= commitSize) {
+              ctx.commit();
+              uncommittedRows = 0;
+            }
+          }
+          imported.addAndGet(chunk.dataRecords.size());
         }
+      }
+    }
 
-        // Commit
-        if (isTaskConfirmed()) {
-          ctx.commit();
+    /**
+     * Lets each writer commit or roll back and close its context on its own thread, one writer at a time, so a failed
+     * commit rolls back the writers after it. The writer connections never become current on the calling thread.
+     *
+     */
+    void complete(List<Writer> writers) throws Exception {
+      var interrupted = false;
+
+      for (Writer writer : writers) {
+        writer.outcome.complete(failure.get() == null && isTaskConfirmed());
+        while (true) {
+          try {
+            writer.thread.join();
+            break;
+
+          } catch (InterruptedException ex) {
+            interrupted = true;
+          }
         }
-        return counter.get();
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure.get() != null) {
+        throw failure.get();
+      }
+    }
 
-      } catch (Exception ex) {
+    /**
+     * Returns the next chunk or null at the end or after a failure.
+     *
+     */
+    Chunk take(BlockingQueue<Chunk> queue) throws InterruptedException {
+      while (failure.get() == null) {
+        var chunk = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (chunk != null) {
+          return (chunk != Chunk.END) ? chunk : null;
+        }
+      }
+      return null;
+    }
 
-        // Rollback
-        if (isTaskConfirmed()) {
-          ctx.rollback();
+    void offer(BlockingQueue<Chunk> queue, Chunk chunk) throws InterruptedException {
+      // After a failure the consumers stop taking; don't block on a full queue
+      while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+        if (failure.get() != null) {
+          return;
         }
-        throw ex;
+      }
+    }
+
+    void addFailure(Exception ex) {
+      if (!failure.compareAndSet(null, ex)) {
+        failure.get().addSuppressed(ex);
       }
     }
   }
 
+  protected boolean isBulkLoadable() {
+    return (bulkLoad || bulkLoadStrategy != null) && isTaskConfirmed() && converters.isEmpty() && csvDebugger == null;
+  }
+
+  protected int executeBulkLoad(RecordContext ctx, BulkLoadStrategy strategy, String csvFileLocation,
+      boolean csvHeader) throws Exception {
+    var table = ctx.getTable(tableName);
+    var columns = getColumns(table);
+
+    try {
+      ctx.setTransactional(true);
+
+      var count = strategy.load(ctx.getConnection(), table, columns, csvFileLocation, csvHeader, csvProcessor);
+      ctx.commit();
+      return (int) count;
+
+    } catch (Exception ex) {
+      rollback(ctx, ex);
+      throw ex;
+    }
+  }
+
   protected Column getColumn(Table table, int csvIndex) {
     var mappedCol = mappedColumns.get(csvIndex);
 
@@ -290,6 +748,11 @@ public class CsvImporter extends InitializingObject {
     return this;
   }
 
+  /**
+   * Sets a callback for each converted record. In the pipelined import it is called concurrently from several threads
+   * and not in record order; the index argument gives the record's position.
+   *
+   */
   public CsvImporter setCsvDebugger(CsvDebugger csvDebugger) {
     assertNotInitialized();
     this.csvDebugger = csvDebugger;
@@ -310,6 +773,76 @@ public class CsvImporter extends InitializingObject {
     return this;
   }
 
+  /**
+   * Loads the CSV file with the native bulk-load strategy of the connection's dialect if the dialect has one. Only
+   * applies to {@link #execute(String, boolean)} without converters and debugger. The database parses the values, so
+   * it can't be combined with {@link #setTemporalPatterns(TemporalPatterns)}.
+   *
+   */
+  public CsvImporter setBulkLoad(boolean bulkLoad) {
+    assertNotInitialized();
+    this.bulkLoad = bulkLoad;
+    return this;
+  }
+
+  public CsvImporter setBulkLoadStrategy(BulkLoadStrategy bulkLoadStrategy) {
+    assertNotInitialized();
+    this.bulkLoadStrategy = bulkLoadStrategy;
+    return this;
+  }
+
+  /**
+   * Sets the number of rows per executed batch. The default is {@link DbContext#DEFAULT_BATCH_MAX_ROWS}.
+   *
+   */
+  public CsvImporter setBatchSize(int batchSize) {
+    assertNotInitialized();
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * Sets the number of rows after which the imported rows are committed, per connection. Zero commits once at the
+   * end, so a failure rolls back the whole import.
+   *
+   */
+  public CsvImporter setCommitSize(int commitSize) {
+    assertNotInitialized();
+    this.commitSize = commitSize;
+    return this;
+  }
+
+  /**
+   * Enables the pipelined import: the calling thread parses the CSV input, {@code converterThreads} threads convert the
+   * CSV records and {@code writerConnections} connections of the given data source insert them. If a
+   * {@link CsvToDbConverter} is set or the table has SQLXML columns, the records are converted on the writer
+   * connections instead, since such values belong to the connection that inserts them.
+   *
+   */
+  public CsvImporter setDataSource(DataSource dataSource) {
+    assertNotInitialized();
+    this.dataSource = dataSource;
+    return this;
+  }
+
+  public CsvImporter setConverterThreads(int converterThreads) {
+    assertNotInitialized();
+    this.converterThreads = converterThreads;
+    return this;
+  }
+
+  public CsvImporter setWriterConnections(int writerConnections) {
+    assertNotInitialized();
+    this.writerConnections = writerConnections;
+    return this;
+  }
+
+  public CsvImporter setQueueCapacity(int queueCapacity) {
+    assertNotInitialized();
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
   public CsvImporter setTableColumns(String... columnLabels) {
     assertNotInitialized();
     IntStream.range(0, columnLabels.length).forEach(idx -> mappedColumns.put(idx, columnLabels[idx]));
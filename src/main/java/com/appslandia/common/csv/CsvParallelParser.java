@@ -0,0 +1,347 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.appslandia.common.threading.ThreadFactoryBuilder;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Parses a memory-mapped CSV file in byte-range chunks on several threads.
+ *
+ * <p>
+ * A first pass counts the quotes and line breaks of every chunk in parallel, which gives the quote state and the
+ * number of preceding records at each chunk start. Each chunk then resynchronizes to the first record starting in
+ * its range and is parsed by its own {@link CsvParser}. Records are delivered on the calling thread, either in file
+ * order or in chunk completion order, always with their file record index.
+ * </p>
+ *
+ * <p>
+ * Quotes, separators and line breaks are matched as bytes, so the charset must encode them as single ASCII bytes
+ * which never occur inside other characters, e.g. UTF-8 or ISO-8859-1.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+class CsvParallelParser {
+
+  static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+  final CsvProcessor processor;
+  final Charset charset;
+  final int parallelism;
+  final int chunkSize;
+
+  FileChannel channel;
+  long size;
+  int chunkCount;
+  long bomLength;
+
+  boolean[] startInQuotes;
+  long[] recordsBefore;
+
+  CsvParallelParser(CsvProcessor processor, Charset charset, int parallelism, int chunkSize) {
+    Arguments.isTrue(parallelism > 0, "parallelism must be positive.");
+    Arguments.isTrue(chunkSize > 0, "chunkSize must be positive.");
+    Arguments.isTrue(processor.getSeparator() < 0x80, "The separator must be an ASCII character.");
+    Arguments.isTrue(charset.equals(StandardCharsets.UTF_8) || charset.newEncoder().maxBytesPerChar() == 1,
+        "The charset must be UTF-8 or a single-byte charset.");
+
+    this.processor = processor;
+    this.charset = charset;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+  }
+
+  void parse(Path csvFile, boolean ordered, CsvConsumer consumer) throws Exception {
+    try (var ch = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+      channel = ch;
+      size = ch.size();
+      if (size == 0) {
+        return;
+      }
+      chunkCount = Math.toIntExact((size + chunkSize - 1) / chunkSize);
+      bomLength = getBomLength();
+
+      var threadFactory = new ThreadFactoryBuilder().setNameFormat("csv-parser-%d").setDaemon(true).build();
+      var executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+      try {
+        countChunks(executor);
+
+        if (ordered) {
+          deliverOrdered(executor, consumer);
+        } else {
+          deliverUnordered(executor, consumer);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  void countChunks(ExecutorService executor) throws Exception {
+    List<Future<long[]>> futures = new ArrayList<>(chunkCount);
+    for (var i = 0; i < chunkCount; i++) {
+      var chunkIdx = i;
+      futures.add(executor.submit(() -> countChunk(chunkIdx)));
+    }
+
+    startInQuotes = new boolean[chunkCount];
+    recordsBefore = new long[chunkCount];
+
+    for (var i = 0; i < chunkCount; i++) {
+      var counts = get(futures.get(i));
+
+      if (i + 1 < chunkCount) {
+        startInQuotes[i + 1] = startInQuotes[i] ^ ((counts[0] & 1) == 1);
+        recordsBefore[i + 1] = recordsBefore[i] + (startInQuotes[i] ? counts[2] : counts[1]);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of quotes, the line breaks outside quotes and the line breaks inside quotes, assuming the
+   * chunk starts outside quotes. CRLF counts as one line break.
+   *
+   */
+  long[] countChunk(int chunkIdx) throws IOException {
+    var start = (long) chunkIdx * chunkSize;
+    var end = Math.min(size, start + chunkSize);
+    var buf = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, end + 1) - start);
+
+    var len = (int) (end - start);
+    var limit = buf.limit();
+
+    long quotes = 0;
+    long[] lineBreaks = new long[2];
+    var inQuotes = 0;
+
+    for (var i = 0; i < len; i++) {
+      var b = buf.get(i);
+
+      if (b == '"') {
+        quotes++;
+        inQuotes ^= 1;
+
+      } else if (b == '\n') {
+        lineBreaks[inQuotes]++;
+
+      } else if (b == '\r') {
+        if (i + 1 >= limit || buf.get(i + 1) != '\n') {
+          lineBreaks[inQuotes]++;
+        }
+      }
+    }
+    return new long[] { quotes, lineBreaks[0], lineBreaks[1] };
+  }
+
+  /**
+   * Returns the position of the first record which starts at or after the given chunk start.
+   *
+   */
+  long getRecordStart(int chunkIdx) throws IOException {
+    if (chunkIdx == 0) {
+      return bomLength;
+    }
+    if (chunkIdx >= chunkCount) {
+      return size;
+    }
+
+    var start = (long) chunkIdx * chunkSize;
+    var buf = channel.map(FileChannel.MapMode.READ_ONLY, start - 1, Math.min(size - start + 1, Integer.MAX_VALUE));
+    var limit = buf.limit();
+    var inQuotes = startInQuotes[chunkIdx];
+
+    // Previous byte ends a record?
+    if (!inQuotes) {
+      var prev = buf.get(0);
+      if (prev == '\n' || (prev == '\r' && buf.get(1) != '\n')) {
+        return start;
+      }
+    }
+
+    for (var i = 1; i < limit; i++) {
+      var b = buf.get(i);
+
+      if (b == '"') {
+        inQuotes = !inQuotes;
+
+      } else if (!inQuotes) {
+        if (b == '\n') {
+          return start + i;
+        }
+        if (b == '\r' && (i + 1 >= limit || buf.get(i + 1) != '\n')) {
+          return start + i;
+        }
+      }
+    }
+    if (start - 1 + limit < size) {
+      throw new IllegalStateException("The record at " + start + " is too large.");
+    }
+    return size;
+  }
+
+  Chunk parseChunk(int chunkIdx) throws IOException {
+    var recordStart = getRecordStart(chunkIdx);
+    var recordEnd = getRecordStart(chunkIdx + 1);
+
+    var chunkStart = (long) chunkIdx * chunkSize;
+    var firstIndex = recordsBefore[chunkIdx] + ((chunkIdx > 0 && recordStart > chunkStart) ? 1 : 0);
+
+    List<CsvRecord> records = new ArrayList<>();
+    if (recordEnd > recordStart) {
+      Arguments.isTrue(recordEnd - recordStart <= Integer.MAX_VALUE, "The chunk at {} is too large.", chunkStart);
+
+      var buf = channel.map(FileChannel.MapMode.READ_ONLY, recordStart, recordEnd - recordStart);
+      var parser = new CsvParser(processor, new InputStreamReader(new ByteBufferInputStream(buf), charset));
+
+      while (parser.next()) {
+        records.add(new CsvRecord(parser.toValues()));
+      }
+    }
+    return new Chunk(firstIndex, records);
+  }
+
+  void deliverOrdered(ExecutorService executor, CsvConsumer consumer) throws Exception {
+    Deque<Future<Chunk>> pending = new ArrayDeque<>();
+    var next = 0;
+
+    while (next < chunkCount && pending.size() < parallelism * 2) {
+      pending.add(submitChunk(executor, next++));
+    }
+    while (!pending.isEmpty()) {
+      var chunk = get(pending.poll());
+
+      if (next < chunkCount) {
+        pending.add(submitChunk(executor, next++));
+      }
+      deliver(chunk, consumer);
+    }
+  }
+
+  void deliverUnordered(ExecutorService executor, CsvConsumer consumer) throws Exception {
+    CompletionService<Chunk> completion = new ExecutorCompletionService<>(executor);
+    var next = 0;
+    var inFlight = 0;
+
+    while (next < chunkCount && inFlight < parallelism * 2) {
+      completion.submit(toTask(next++));
+      inFlight++;
+    }
+    while (inFlight > 0) {
+      var chunk = get(completion.take());
+      inFlight--;
+
+      if (next < chunkCount) {
+        completion.submit(toTask(next++));
+        inFlight++;
+      }
+      deliver(chunk, consumer);
+    }
+  }
+
+  Future<Chunk> submitChunk(ExecutorService executor, int chunkIdx) {
+    return executor.submit(toTask(chunkIdx));
+  }
+
+  Callable<Chunk> toTask(int chunkIdx) {
+    return () -> parseChunk(chunkIdx);
+  }
+
+  static void deliver(Chunk chunk, CsvConsumer consumer) throws Exception {
+    for (var i = 0; i < chunk.records.size(); i++) {
+      consumer.apply(Math.toIntExact(chunk.firstIndex + i), chunk.records.get(i));
+    }
+  }
+
+  long getBomLength() throws IOException {
+    if (!charset.equals(StandardCharsets.UTF_8) || size < 3) {
+      return 0;
+    }
+    var buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+    return (buf.get(0) == (byte) 0xEF && buf.get(1) == (byte) 0xBB && buf.get(2) == (byte) 0xBF) ? 3 : 0;
+  }
+
+  static <T> T get(Future<T> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException ex) {
+      throw (ex.getCause() instanceof Exception e) ? e : ex;
+    }
+  }
+
+  static class Chunk {
+    final long firstIndex;
+    final List<CsvRecord> records;
+
+    Chunk(long firstIndex, List<CsvRecord> records) {
+      this.firstIndex = firstIndex;
+      this.records = records;
+    }
+  }
+
+  static class ByteBufferInputStream extends InputStream {
+    final ByteBuffer buf;
+
+    ByteBufferInputStream(ByteBuffer buf) {
+      this.buf = buf;
+    }
+
+    @Override
+    public int read() {
+      return buf.hasRemaining() ? (buf.get() & 0xFF) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buf.hasRemaining()) {
+        return -1;
+      }
+      len = Math.min(len, buf.remaining());
+      buf.get(b, off, len);
+      return len;
+    }
+  }
+}
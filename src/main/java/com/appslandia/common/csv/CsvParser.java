@@ -0,0 +1,198 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Single-pass CSV parser over a reusable char buffer. Quoted fields may contain separators, doubled quotes and line
+ * breaks; outside quotes a record ends at LF, CRLF or CR.
+ *
+ * @author Loc Ha
+ *
+ */
+class CsvParser {
+
+  static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  static final int STATE_UNQUOTED = 0;
+  static final int STATE_QUOTED = 1;
+  static final int STATE_QUOTE_END = 2;
+
+  final CsvProcessor processor;
+  final Reader reader;
+  final char separator;
+
+  char[] buf;
+  int pos;
+  int limit;
+  boolean eof;
+  boolean skipLf;
+
+  String[] fields = new String[16];
+  int fieldCount;
+
+  long lines;
+  long recordLine;
+
+  CsvParser(CsvProcessor processor, Reader reader) {
+    this(processor, reader, DEFAULT_BUFFER_SIZE);
+  }
+
+  CsvParser(CsvProcessor processor, Reader reader, int bufferSize) {
+    this.processor = processor;
+    this.reader = reader;
+    this.separator = processor.getSeparator();
+    this.buf = new char[bufferSize];
+  }
+
+  /**
+   * Parses the next record into {@link #fields}. Returns false at the end of the input. {@link #recordLine} is the
+   * 1-based line number where the record starts.
+   *
+   */
+  boolean next() throws IOException {
+    fieldCount = 0;
+
+    if (skipLf) {
+      if (pos >= limit && !refill()) {
+        return false;
+      }
+      if (buf[pos] == '\n') {
+        pos++;
+      }
+      skipLf = false;
+    }
+    if (pos >= limit && !refill()) {
+      return false;
+    }
+    recordLine = lines + 1;
+
+    var sep = separator;
+    var b = buf;
+    var p = pos;
+    var lim = limit;
+
+    var start = p;
+    var w = p;
+    var state = STATE_UNQUOTED;
+    var cr = false;
+
+    while (true) {
+      if (p >= lim) {
+        // Keep the current field [start, w) and read more
+        var len = w - start;
+        if (start > 0) {
+          System.arraycopy(b, start, b, 0, len);
+        } else if (len == b.length) {
+          b = buf = Arrays.copyOf(b, b.length * 2);
+        }
+        start = 0;
+        w = p = pos = limit = len;
+
+        if (!fill()) {
+          addField(b, start, w);
+          return true;
+        }
+        lim = limit;
+        continue;
+      }
+
+      var c = b[p++];
+
+      if (state == STATE_QUOTED) {
+        if (c == '"') {
+          state = STATE_QUOTE_END;
+        } else {
+          b[w++] = c;
+
+          // Line breaks inside quotes
+          if (c == '\r' || (c == '\n' && !cr)) {
+            lines++;
+          }
+        }
+        cr = c == '\r';
+        continue;
+      }
+      if (state == STATE_QUOTE_END) {
+        if (c == '"') {
+          b[w++] = c;
+          state = STATE_QUOTED;
+          continue;
+        }
+        state = STATE_UNQUOTED;
+      }
+
+      // STATE_UNQUOTED
+      if (c == sep) {
+        addField(b, start, w);
+        start = w = p;
+
+      } else if (c == '\n' || c == '\r') {
+        addField(b, start, w);
+        skipLf = c == '\r';
+        lines++;
+        pos = p;
+        return true;
+
+      } else if (c == '"') {
+        state = STATE_QUOTED;
+      } else {
+        b[w++] = c;
+      }
+    }
+  }
+
+  String[] toValues() {
+    return Arrays.copyOf(fields, fieldCount);
+  }
+
+  void addField(char[] b, int start, int end) {
+    if (fieldCount == fields.length) {
+      fields = Arrays.copyOf(fields, fieldCount * 2);
+    }
+    fields[fieldCount++] = processor.toValue(b, start, end - start);
+  }
+
+  boolean refill() throws IOException {
+    pos = limit = 0;
+    return fill();
+  }
+
+  boolean fill() throws IOException {
+    if (eof) {
+      return false;
+    }
+    while (true) {
+      var n = reader.read(buf, limit, buf.length - limit);
+      if (n < 0) {
+        eof = true;
+        return false;
+      }
+      if (n > 0) {
+        limit += n;
+        return true;
+      }
+    }
+  }
+}
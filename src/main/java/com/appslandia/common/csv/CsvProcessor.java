@@ -21,7 +21,13 @@
 package com.appslandia.common.csv;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -31,12 +37,18 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.appslandia.common.base.InitializingException;
 import com.appslandia.common.base.InitializingObject;
 import com.appslandia.common.base.Language;
 import com.appslandia.common.base.Out;
 import com.appslandia.common.base.TemporalPatterns;
+import com.appslandia.common.utils.Arguments;
 import com.appslandia.common.utils.DateUtils;
 import com.appslandia.common.utils.StringUtils;
 
@@ -121,6 +133,84 @@ public class CsvProcessor extends InitializingObject {
     };
   }
 
+  /**
+   * Writes the escaped value to the given writer, same as {@link #escape(Object)} but without intermediate strings for
+   * plain values.
+   *
+   */
+  public void escape(Object value, Writer out) throws IOException {
+    initialize();
+
+    switch (value) {
+    case null -> out.write(writeNull ? StringUtils.NULL_STRING : StringUtils.EMPTY_STRING);
+
+    case String str -> doEscape(str, out);
+    case CharSequence cs -> doEscape(cs.toString(), out);
+    case BigDecimal bd -> out.write(bd.toPlainString());
+
+    case Number n -> out.write(n.toString());
+    case Boolean b -> out.write(b.toString());
+    case Enum<?> e -> out.write(e.toString());
+
+    case LocalDate ld -> doEscape(DateUtils.format(ld, datePattern), out);
+    case LocalTime lt -> doEscape(DateUtils.format(lt, timePattern), out);
+    case LocalDateTime ldt -> doEscape(DateUtils.format(ldt, dateTimePattern), out);
+    case OffsetTime ot -> doEscape(DateUtils.format(ot, offsetTimePattern), out);
+    case OffsetDateTime odt -> doEscape(DateUtils.format(odt, offsetDateTimePattern), out);
+
+    case java.util.Date date -> doEscape(getDateFormat(getDatePattern(date)).format(date), out);
+
+    default -> doEscape(value.toString(), out);
+    }
+  }
+
+  protected String getDatePattern(java.util.Date date) {
+    return switch (date) {
+    case java.sql.Date sqlDate -> datePattern;
+    case java.sql.Time sqlTime -> timePattern;
+    default -> dateTimePattern;
+    };
+  }
+
+  protected void doEscape(String value, Writer out) throws IOException {
+    var length = value.length();
+
+    var useWrap = false;
+    for (var i = 0; i < length; i++) {
+      var c = value.charAt(i);
+
+      if (c == '"' || c == '\r' || c == '\n' || c == separator) {
+        useWrap = true;
+        break;
+      }
+    }
+    if (!useWrap) {
+      out.write(value);
+      return;
+    }
+
+    out.write('"');
+    var start = 0;
+
+    for (var i = 0; i < length; i++) {
+      var c = value.charAt(i);
+
+      if (c == '"') {
+        out.write(value, start, i - start);
+        out.write("\"\"");
+        start = i + 1;
+
+      } else if (escCrLf && (c == '\r' || c == '\n')) {
+        out.write(value, start, i - start);
+        out.write('\\');
+        out.write(c == '\r' ? 'r' : 'n');
+        start = i + 1;
+      }
+    }
+    out.write(value, start, length - start);
+    out.write('"');
+  }
+
   protected String doEscape(String value) {
     if (value.isEmpty()) {
       return StringUtils.EMPTY_STRING;
@@ -200,73 +290,127 @@ public class CsvProcessor extends InitializingObject {
   public void parse(BufferedReader reader, CsvConsumer consumer) throws Exception {
     initialize();
 
-    String line;
-    var currentRecord = new StringBuilder();
-    Integer recordLen = null;
+    var parser = new CsvParser(this, reader);
     var recordIdx = 0;
 
-    while ((line = reader.readLine()) != null) {
+    while (parser.next()) {
+      consumer.apply(recordIdx++, new CsvRecord(parser.toValues()));
+    }
+  }
 
-      currentRecord.append(line);
-      currentRecord.append('\n');
+  public Stream<CsvRecord> stream(Reader reader) {
+    return stream(reader, false);
+  }
 
-      var numQuotes = (int) currentRecord.chars().filter(ch -> ch == '"').count();
+  /**
+   * Returns a lazily parsed stream of the records. Closing the stream closes the reader.
+   *
+   * <p>
+   * With {@code flyweight} the stream reuses a single {@link CsvRecord} instance which is overwritten by the next
+   * record, so consumers must copy what they need. A flyweight stream is not split for parallel processing.
+   * </p>
+   *
+   */
+  public Stream<CsvRecord> stream(Reader reader, boolean flyweight) {
+    initialize();
+    Arguments.notNull(reader);
+
+    var parser = new CsvParser(this, reader);
+    return StreamSupport.stream(new RecordSpliterator(parser, flyweight), false).onClose(() -> {
+      try {
+        reader.close();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+  }
 
-      // Found record?
-      if (numQuotes % 2 == 0) {
+  static class RecordSpliterator extends Spliterators.AbstractSpliterator<CsvRecord> {
+    final CsvParser parser;
+    final CsvRecord flyweight;
 
-        // Delete the last add \n
-        currentRecord.deleteCharAt(currentRecord.length() - 1);
+    RecordSpliterator(CsvParser parser, boolean flyweight) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+      this.parser = parser;
+      this.flyweight = flyweight ? new CsvRecord(new String[0]) : null;
+    }
 
-        var values = splitRecord(currentRecord.toString(), recordLen);
-        if (recordLen == null) {
-          recordLen = (values.length > 0) ? values.length : 1;
+    @Override
+    public boolean tryAdvance(Consumer<? super CsvRecord> action) {
+      try {
+        if (!parser.next()) {
+          return false;
         }
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
 
-        consumer.apply(recordIdx++, new CsvRecord(values));
-        currentRecord.setLength(0);
+      if (flyweight != null) {
+        flyweight.reset(parser.fields, parser.fieldCount);
+        action.accept(flyweight);
+      } else {
+        action.accept(new CsvRecord(parser.toValues()));
       }
+      return true;
     }
-  }
 
-  private String[] splitRecord(String record, Integer recordLen) {
-    if (record.isEmpty()) {
-      return new String[] { null };
+    @Override
+    public Spliterator<CsvRecord> trySplit() {
+      // Splits copy records into batches
+      return (flyweight != null) ? null : super.trySplit();
     }
-    var values = (recordLen == null) ? new ArrayList<>() : new ArrayList<>(recordLen);
-    var currentField = new StringBuilder();
-    var inQuotes = false;
-
-    for (var i = 0; i < record.length(); i++) {
-      var c = record.charAt(i);
-
-      if (c == '"') {
-        // Handle quotes within CSV values
+  }
 
-        if (i < record.length() - 1 && record.charAt(i + 1) == '"') {
+  /**
+   * Parses the given file in chunks on {@code parallelism} threads. With {@code ordered} the records are delivered in
+   * file order, otherwise in chunk completion order; the consumer is always called on the calling thread with the
+   * record index of the file.
+   *
+   */
+  public void parseParallel(Path csvFile, Charset charset, int parallelism, boolean ordered, CsvConsumer consumer)
+      throws Exception {
+    parseParallel(csvFile, charset, parallelism, CsvParallelParser.DEFAULT_CHUNK_SIZE, ordered, consumer);
+  }
 
-          // Add the first quote to the current field
-          currentField.append(c);
+  public void parseParallel(Path csvFile, Charset charset, int parallelism, int chunkSize, boolean ordered,
+      CsvConsumer consumer) throws Exception {
+    initialize();
+    Arguments.notNull(csvFile);
+    Arguments.notNull(charset);
+    Arguments.notNull(consumer);
 
-          // Skip the second quote
-          i++;
+    new CsvParallelParser(this, charset, parallelism, chunkSize).parse(csvFile, ordered, consumer);
+  }
 
-        } else {
-          inQuotes = !inQuotes;
+  String toValue(char[] buf, int start, int length) {
+    // \\r \\n
+    if (escCrLf) {
+      for (var i = start; i < start + length; i++) {
+        if (buf[i] == '\\') {
+          return unescape(new StringBuilder(length).append(buf, start, length));
         }
+      }
+    }
 
-      } else if (c == separator && !inQuotes) {
-        // Handle commas within CSV values
+    // ,,
+    if (length == 0) {
+      return null;
+    }
 
-        values.add(unescape(currentField));
-        currentField.setLength(0);
-      } else {
-        currentField.append(c);
-      }
+    // ,null,
+    if (length == 4 && buf[start] == 'n' && buf[start + 1] == 'u' && buf[start + 2] == 'l' && buf[start + 3] == 'l') {
+      return writeNull ? null : "null";
     }
 
-    values.add(unescape(currentField));
-    return values.toArray(new String[values.size()]);
+    // ,value,
+    var end = start + length;
+    while (start < end && Character.isWhitespace(buf[start])) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(buf[end - 1])) {
+      end--;
+    }
+    return (start < end) ? new String(buf, start, end - start) : null;
   }
 
   protected String unescape(StringBuilder value) {
@@ -49,10 +49,17 @@ import com.appslandia.common.utils.StringUtils;
  */
 public class CsvRecord {
 
-  final String[] values;
+  String[] values;
+  int length;
 
   public CsvRecord(String[] fieldValues) {
     values = Arguments.notNull(fieldValues);
+    length = fieldValues.length;
+  }
+
+  void reset(String[] fieldValues, int length) {
+    this.values = fieldValues;
+    this.length = length;
   }
 
   public void applyProcessor(Function<String, String> processor, int... indexes) {
@@ -60,14 +67,14 @@ public class CsvRecord {
     Arguments.hasElements(indexes);
 
     for (int i : indexes) {
-      Objects.checkIndex(i, values.length);
+      Objects.checkIndex(i, length);
 
       values[i] = processor.apply(values[i]);
     }
   }
 
   public int length() {
-    return values.length;
+    return length;
   }
 
   // Zero Padding
@@ -88,7 +95,7 @@ public class CsvRecord {
   }
 
   public String getString(int index) {
-    Objects.checkIndex(index, values.length);
+    Objects.checkIndex(index, length);
     return values[index];
   }
 
@@ -439,7 +446,7 @@ public class CsvRecord {
   // Setters
 
   public CsvRecord set(int index, String value) {
-    Objects.checkIndex(index, values.length);
+    Objects.checkIndex(index, length);
     values[index] = value;
     return this;
   }
@@ -527,6 +534,6 @@ public class CsvRecord {
 
   @Override
   public String toString() {
-    return Arrays.stream(values).map(v -> CsvProcessor.INSTANCE.escape(v)).collect(Collectors.joining(","));
+    return Arrays.stream(values, 0, length).map(v -> CsvProcessor.INSTANCE.escape(v)).collect(Collectors.joining(","));
   }
 }
@@ -0,0 +1,345 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import com.appslandia.common.base.InitializingObject;
+import com.appslandia.common.threading.ThreadFactoryBuilder;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Loads {@link DataRecord}s into a table over several connections. Records are grouped into chunks and distributed
+ * to one writer thread per connection through bounded queues; each writer inserts its chunks in batches.
+ *
+ * <p>
+ * With {@code allOrNothing} each writer commits only after every writer has succeeded. This is not a distributed
+ * transaction: a failure during the final commits can still leave some connections committed.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+public class BulkLoader extends InitializingObject {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+  public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+  private DataSource dataSource;
+  private String tableName;
+
+  private int connections;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+  private boolean allOrNothing;
+  private ProgressListener progressListener;
+
+  @Override
+  protected void init() throws Exception {
+    Arguments.notNull(dataSource);
+    Arguments.notNull(tableName);
+
+    if (connections == 0) {
+      connections = Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+    Arguments.isTrue(connections > 0, "connections must be positive.");
+    Arguments.isTrue(chunkSize > 0, "chunkSize must be positive.");
+    Arguments.isTrue(queueCapacity > 0, "queueCapacity must be positive.");
+  }
+
+  public long execute(Stream<DataRecord> records) throws Exception {
+    try (records) {
+      return execute(records.iterator());
+    }
+  }
+
+  public long execute(Iterator<DataRecord> records) throws Exception {
+    initialize();
+    Arguments.notNull(records);
+
+    var startNanos = System.nanoTime();
+    var loaded = new AtomicLong(0);
+    var failure = new AtomicReference<Exception>();
+    var interrupted = false;
+
+    List<Writer> writers = new ArrayList<>(connections);
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("bulk-loader-" + tableName + "-%d").setDaemon(true)
+        .build();
+
+    try {
+      // Writers
+      for (var i = 0; i < connections; i++) {
+        var writer = new Writer(new ArrayBlockingQueue<>(queueCapacity), loaded, failure, startNanos);
+        writers.add(writer);
+
+        writer.thread = threadFactory.newThread(writer);
+        writer.thread.start();
+      }
+
+      // Produce chunks
+      var next = 0;
+      List<DataRecord> chunk = new ArrayList<>(chunkSize);
+
+      while (failure.get() == null && records.hasNext()) {
+        chunk.add(Arguments.notNull(records.next()));
+
+        if (chunk.size() == chunkSize) {
+          writers.get(next).offer(chunk);
+          next = (next + 1) % writers.size();
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+      if (!chunk.isEmpty()) {
+        writers.get(next).offer(chunk);
+      }
+
+    } catch (Exception ex) {
+      failure.compareAndSet(null, ex);
+      interrupted = ex instanceof InterruptedException;
+
+    } finally {
+      interrupted = stop(writers, failure, interrupted);
+      try {
+        complete(writers, failure);
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+    return loaded.get();
+  }
+
+  /**
+   * Signals the end of input to every writer and waits for all of them. Once interrupted, the remaining writers are
+   * interrupted instead of drained. Returns whether this thread was interrupted.
+   */
+  protected boolean stop(List<Writer> writers, AtomicReference<Exception> failure, boolean interrupted) {
+    for (Writer writer : writers) {
+      if (!interrupted) {
+        try {
+          writer.offer(Writer.END);
+          continue;
+
+        } catch (InterruptedException ex) {
+          addFailure(failure, ex);
+          interrupted = true;
+        }
+      }
+      writer.thread.interrupt();
+    }
+    for (Writer writer : writers) {
+      while (true) {
+        try {
+          writer.drained.await();
+          break;
+
+        } catch (InterruptedException ex) {
+          addFailure(failure, ex);
+          interrupted = true;
+          writer.thread.interrupt();
+        }
+      }
+    }
+    return interrupted;
+  }
+
+  /**
+   * Lets each writer commit or roll back and close its context on its own thread, one writer at a time, so a failed
+   * commit rolls back the writers after it. The writer connections never become current on this thread.
+   */
+  protected void complete(List<Writer> writers, AtomicReference<Exception> failure) throws Exception {
+    var interrupted = false;
+
+    for (Writer writer : writers) {
+      writer.outcome.complete(failure.get() == null);
+      while (true) {
+        try {
+          writer.thread.join();
+          break;
+
+        } catch (InterruptedException ex) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  static void addFailure(AtomicReference<Exception> failure, Exception ex) {
+    if (!failure.compareAndSet(null, ex)) {
+      failure.get().addSuppressed(ex);
+    }
+  }
+
+  class Writer implements Runnable {
+    static final List<DataRecord> END = List.of();
+
+    final BlockingQueue<List<DataRecord>> queue;
+    final AtomicLong loaded;
+    final AtomicReference<Exception> failure;
+    final long startNanos;
+
+    final CountDownLatch drained = new CountDownLatch(1);
+    final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+    Thread thread;
+
+    Writer(BlockingQueue<List<DataRecord>> queue, AtomicLong loaded, AtomicReference<Exception> failure,
+        long startNanos) {
+      this.queue = queue;
+      this.loaded = loaded;
+      this.failure = failure;
+      this.startNanos = startNanos;
+    }
+
+    void offer(List<DataRecord> chunk) throws InterruptedException {
+      // A failed writer stops taking chunks; don't block on its full queue
+      while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+        if (failure.get() != null && drained.getCount() == 0) {
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      // The context is current on this thread only, from creation to close
+      try (var ctx = new RecordContext(dataSource)) {
+        ctx.setTransactional(true);
+        ctx.setBatchMaxRows(chunkSize);
+
+        try {
+          load(ctx);
+        } catch (Exception ex) {
+          failure.compareAndSet(null, ex);
+        } finally {
+          drained.countDown();
+        }
+
+        // Wait for the caller's decision
+        var commit = outcome.join();
+        Thread.interrupted();
+
+        if (commit) {
+          ctx.commit();
+        } else {
+          ctx.clearBatch();
+          ctx.rollback();
+        }
+      } catch (Exception ex) {
+        addFailure(failure, ex);
+      } finally {
+        drained.countDown();
+      }
+    }
+
+    void load(RecordContext ctx) throws Exception {
+      List<DataRecord> chunk;
+      while ((chunk = queue.take()) != END) {
+        if (failure.get() != null) {
+          continue;
+        }
+        for (DataRecord dataRecord : chunk) {
+          ctx.insert(tableName, dataRecord, true);
+        }
+        ctx.executeBatch();
+
+        if (!allOrNothing) {
+          ctx.commit();
+        }
+        var rows = loaded.addAndGet(chunk.size());
+
+        if (progressListener != null) {
+          progressListener.onProgress(rows, System.nanoTime() - startNanos);
+        }
+      }
+    }
+  }
+
+  public BulkLoader setDataSource(DataSource dataSource) {
+    assertNotInitialized();
+    this.dataSource = dataSource;
+    return this;
+  }
+
+  public BulkLoader setTableName(String tableName) {
+    assertNotInitialized();
+    this.tableName = tableName;
+    return this;
+  }
+
+  public BulkLoader setConnections(int connections) {
+    assertNotInitialized();
+    this.connections = connections;
+    return this;
+  }
+
+  public BulkLoader setChunkSize(int chunkSize) {
+    assertNotInitialized();
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public BulkLoader setQueueCapacity(int queueCapacity) {
+    assertNotInitialized();
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
+  public BulkLoader setAllOrNothing(boolean allOrNothing) {
+    assertNotInitialized();
+    this.allOrNothing = allOrNothing;
+    return this;
+  }
+
+  public BulkLoader setProgressListener(ProgressListener progressListener) {
+    assertNotInitialized();
+    this.progressListener = progressListener;
+    return this;
+  }
+
+  /**
+   * Receives the total number of loaded rows after each executed chunk. It is called from the writer threads, so
+   * calls may be concurrent and implementations must be thread-safe.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+
+    void onProgress(long loadedRows, long elapsedNanos);
+  }
+}
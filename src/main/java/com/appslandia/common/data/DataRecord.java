@@ -27,9 +27,10 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 
+import com.appslandia.common.base.CaseInsensitiveHashMap;
 import com.appslandia.common.base.CaseInsensitiveMap;
 import com.appslandia.common.utils.STR;
 import com.appslandia.common.utils.StringUtils;
@@ -43,16 +44,20 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   private static final long serialVersionUID = 1L;
 
   public DataRecord() {
-    super(new LinkedHashMap<>());
+    super(new CaseInsensitiveHashMap<>());
+  }
+
+  protected DataRecord(Map<String, Object> backingMap) {
+    super(backingMap);
   }
 
   public DataRecord set(String columnLabel, Object value) {
-    super.put(columnLabel, value);
+    put(columnLabel, value);
     return this;
   }
 
   public Object getReq(String columnLabel) {
-    var value = super.get(columnLabel);
+    var value = get(columnLabel);
     if (value == null) {
       throw new IllegalStateException(STR.fmt("No value found for the given label '{}'.", columnLabel));
     }
@@ -66,7 +71,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public String getString(String columnLabel) {
-    return (String) super.get(columnLabel);
+    return (String) get(columnLabel);
   }
 
   public String getStringUpperReq(String columnLabel) {
@@ -126,7 +131,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   // Primitives & Wrappers
 
   public Boolean getBoolOpt(String columnLabel) {
-    return (Boolean) super.get(columnLabel);
+    return (Boolean) get(columnLabel);
   }
 
   public boolean getBool(String columnLabel) {
@@ -140,7 +145,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Byte getByteOpt(String columnLabel) {
-    return (Byte) super.get(columnLabel);
+    return (Byte) get(columnLabel);
   }
 
   public byte getByte(String columnLabel) {
@@ -154,7 +159,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Short getShortOpt(String columnLabel) {
-    return (Short) super.get(columnLabel);
+    return (Short) get(columnLabel);
   }
 
   public short getShort(String columnLabel) {
@@ -168,7 +173,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Integer getIntOpt(String columnLabel) {
-    return (Integer) super.get(columnLabel);
+    return (Integer) get(columnLabel);
   }
 
   public int getInt(String columnLabel) {
@@ -182,7 +187,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Long getLongOpt(String columnLabel) {
-    return (Long) super.get(columnLabel);
+    return (Long) get(columnLabel);
   }
 
   public long getLong(String columnLabel) {
@@ -196,7 +201,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Float getFloatOpt(String columnLabel) {
-    return (Float) super.get(columnLabel);
+    return (Float) get(columnLabel);
   }
 
   public float getFloat(String columnLabel) {
@@ -210,7 +215,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Double getDoubleOpt(String columnLabel) {
-    return (Double) super.get(columnLabel);
+    return (Double) get(columnLabel);
   }
 
   public double getDouble(String columnLabel) {
@@ -226,7 +231,7 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   // Decimal
 
   public BigDecimal getDecimal(String columnLabel) {
-    return (BigDecimal) super.get(columnLabel);
+    return (BigDecimal) get(columnLabel);
   }
 
   public BigDecimal getDecimalReq(String columnLabel) {
@@ -296,6 +301,6 @@ public class DataRecord extends CaseInsensitiveMap<Object> {
   }
 
   public Object[] toValues(String[] columnLabels) {
-    return Arrays.stream(columnLabels).map(l -> super.get(l)).toArray();
+    return Arrays.stream(columnLabels).map(l -> get(l)).toArray();
   }
 }
@@ -0,0 +1,521 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import javax.sql.DataSource;
+
+import com.appslandia.common.base.InitializingObject;
+import com.appslandia.common.jdbc.ResultSetImpl;
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.STR;
+
+/**
+ * Compares the data of tables in two data sources. Each table is split into chunks of ranges of its leading primary
+ * key column; both sides of a chunk are read concurrently into row hashes by key, so that each row is read once. Tables
+ * are compared in parallel and differences are written to the report as they are found.
+ *
+ * <p>
+ * A chunk holds about chunkSize rows: rows with the same leading key value are never split, so with a composite key a
+ * chunk grows by the rows that share its last leading value. Tables without a primary key are compared as one chunk
+ * and must fit in memory as row hashes.
+ * </p>
+ *
+ * <p>
+ * Rows are hashed on the client so that different database types can be compared.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbDataComparer extends InitializingObject {
+
+  public static final int DEFAULT_CHUNK_SIZE = 10_000;
+  public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_MAX_REPORT_ROWS = 1000;
+
+  private DataSource sourceDataSource;
+  private DataSource targetDataSource;
+  private Set<String> tableNames;
+
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private int parallelism = DEFAULT_PARALLELISM;
+  private int maxReportRows = DEFAULT_MAX_REPORT_ROWS;
+
+  @Override
+  protected void init() throws Exception {
+    Arguments.notNull(sourceDataSource);
+    Arguments.notNull(targetDataSource);
+
+    Arguments.isTrue(chunkSize > 0, "chunkSize must be positive.");
+    Arguments.isTrue(parallelism > 0, "parallelism must be positive.");
+    Arguments.isTrue(maxReportRows >= 0, "maxReportRows must be non-negative.");
+  }
+
+  /**
+   * Compares the tables and returns the number of differences. A difference is a missing table, a missing, extra or
+   * different row.
+   *
+   */
+  public long compare(Writer report) throws Exception {
+    initialize();
+    Arguments.notNull(report);
+
+    var names = tableNames;
+    if (names == null) {
+      try (var rc1 = new RecordContext(sourceDataSource, true); var rc2 = new RecordContext(targetDataSource, true)) {
+        names = DbComparer.getTableNames(rc1.getConnection(), rc2.getConnection());
+      }
+    }
+
+    var permits = new Semaphore(parallelism);
+    List<Future<Long>> futures = new ArrayList<>(names.size());
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (String tableName : names) {
+        futures.add(executor.submit(() -> {
+          permits.acquire();
+          try {
+            return compareTable(tableName, report, executor);
+          } finally {
+            permits.release();
+          }
+        }));
+      }
+
+      var differences = 0L;
+      Exception failure = null;
+
+      for (Future<Long> future : futures) {
+        try {
+          differences += future.get();
+        } catch (ExecutionException ex) {
+          var cause = (ex.getCause() instanceof Exception e) ? e : ex;
+          if (failure == null) {
+            failure = cause;
+          } else {
+            failure.addSuppressed(cause);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      return differences;
+    }
+  }
+
+  protected long compareTable(String tableName, Writer report, ExecutorService executor) throws Exception {
+    try (var rc1 = new RecordContext(sourceDataSource, true); var rc2 = new RecordContext(targetDataSource, true)) {
+      var table1 = findTable(rc1, tableName);
+      var table2 = findTable(rc2, tableName);
+
+      if (table1 == null || table2 == null) {
+        var side = (table1 == null) ? "source" : "target";
+        writeLine(report, STR.fmt("[{}] Table is missing in the {}.", tableName, side));
+        return 1;
+      }
+
+      // Common columns
+      List<Column> columns1 = new ArrayList<>();
+      List<Column> columns2 = new ArrayList<>();
+
+      for (Column col1 : table1.getColumns()) {
+        table2.getColumns().stream().filter(c -> c.getName().equalsIgnoreCase(col1.getName())).findFirst()
+            .ifPresent(col2 -> {
+              columns1.add(col1);
+              columns2.add(col2);
+            });
+      }
+      if (columns1.isEmpty()) {
+        writeLine(report, STR.fmt("[{}] No common columns.", tableName));
+        return 1;
+      }
+
+      // Key indexes in the common columns
+      var keyIndexes = new ArrayList<Integer>();
+      for (var i = 0; i < columns1.size(); i++) {
+        if (columns1.get(i).isKey()) {
+          keyIndexes.add(i);
+        }
+      }
+      var keyIdx = keyIndexes.stream().mapToInt(i -> i).toArray();
+
+      // Composite keys are chunked by their leading column
+      var rangeKey = (keyIdx.length > 0) ? keyIdx[0] : -1;
+
+      // Chunks
+      List<Object> boundaries = (rangeKey >= 0) ? loadBoundaries(rc1, table1, columns1.get(rangeKey))
+          : List.of();
+      var ctx = new TableCompare(tableName, report, keyIdx);
+
+      for (var i = 0; i <= boundaries.size(); i++) {
+        var low = (i > 0) ? boundaries.get(i - 1) : null;
+        var high = (i < boundaries.size()) ? boundaries.get(i) : null;
+
+        var query1 = toChunkQuery(table1, columns1, (rangeKey >= 0) ? columns1.get(rangeKey) : null, i > 0,
+            i < boundaries.size());
+        var query2 = toChunkQuery(table2, columns2, (rangeKey >= 0) ? columns2.get(rangeKey) : null, i > 0,
+            i < boundaries.size());
+
+        Map<String, Object> params = new HashMap<>();
+        params.put(PARAM_LOW, low);
+        params.put(PARAM_HIGH, high);
+
+        // Read both sides concurrently, each row once
+        var rows2 = executor.submit(() -> loadChunk(rc2, query2, params, keyIdx));
+        Map<Object, long[]> rows1;
+        try {
+          rows1 = loadChunk(rc1, query1, params, keyIdx);
+        } catch (Exception ex) {
+          // rc2 is closed on return, so its query must finish first
+          cancelAndJoin(rows2, rc2, ex);
+          throw ex;
+        }
+
+        ctx.rows += rows1.values().stream().mapToLong(row -> row[1]).sum();
+        ctx.diff(rows1, getResult(rows2));
+      }
+
+      writeLine(report, STR.fmt("[{}] {} rows compared in {} chunks, {} differences.", tableName, ctx.rows,
+          boundaries.size() + 1, ctx.differences));
+      return ctx.differences;
+    }
+  }
+
+  static final String PARAM_LOW = "low__";
+  static final String PARAM_HIGH = "high__";
+
+  static Table findTable(RecordContext rc, String tableName) {
+    try {
+      return rc.getTable(tableName);
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  protected List<Object> loadBoundaries(RecordContext rc, Table table, Column key) throws SQLException {
+    var query = STR.fmt("SELECT {} FROM {} ORDER BY {}", key.getQName(), table.getQTableName(), key.getQName());
+    List<Object> boundaries = new ArrayList<>();
+
+    try (var iterator = rc.iterator(query, (Map<String, Object>) null, rs -> rs.getObject(1))) {
+      Object last = null;
+      var rows = 0L;
+
+      while (iterator.hasNext()) {
+        var value = iterator.next();
+
+        // A boundary closes the chunk (previous, last]; rows with the same value stay in one chunk
+        if (rows >= chunkSize && !Objects.equals(value, last)) {
+          boundaries.add(last);
+          rows = 0;
+        }
+        last = value;
+        rows++;
+      }
+    }
+    return boundaries;
+  }
+
+  static String toChunkQuery(Table table, List<Column> columns, Column key, boolean hasLow, boolean hasHigh) {
+    var sb = new StringBuilder("SELECT ");
+    for (var i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(columns.get(i).getQName());
+    }
+    sb.append(" FROM ").append(table.getQTableName());
+
+    if (hasLow) {
+      sb.append(" WHERE ").append(key.getQName()).append(" > :").append(PARAM_LOW);
+    }
+    if (hasHigh) {
+      sb.append(hasLow ? " AND " : " WHERE ").append(key.getQName()).append(" <= :").append(PARAM_HIGH);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the row hash and row count by key, or by row hash for tables without keys.
+   *
+   */
+  static Map<Object, long[]> loadChunk(RecordContext rc, String query, Map<String, Object> params, int[] keyIdx)
+      throws Exception {
+    Map<Object, long[]> rows = new HashMap<>();
+    // The handler is called for each row
+    rc.executeQuery(query, params, rs -> {
+      var rowHash = hashRow(rs, rs.getColumns().size());
+
+      // Rows are identified by key, or by hash without keys
+      var identity = (keyIdx.length > 0) ? toIdentity(rs, keyIdx) : (Object) rowHash;
+      var entry = rows.computeIfAbsent(identity, k -> new long[2]);
+
+      entry[0] = rowHash;
+      entry[1]++;
+    });
+    return rows;
+  }
+
+  static Object toIdentity(ResultSetImpl rs, int[] keyIdx) throws SQLException {
+    if (keyIdx.length == 1) {
+      return RecordContext.toLookupValue(rs.getObject(keyIdx[0] + 1));
+    }
+    var values = new Object[keyIdx.length];
+    for (var i = 0; i < keyIdx.length; i++) {
+      values[i] = RecordContext.toLookupValue(rs.getObject(keyIdx[i] + 1));
+    }
+    return Arrays.asList(values);
+  }
+
+  static long hashRow(ResultSetImpl rs, int columnCount) throws SQLException {
+    var hash = 0x9E3779B97F4A7C15L;
+    for (var i = 1; i <= columnCount; i++) {
+      hash = mix(hash * 31 + hashValue(rs.getObject(i)));
+    }
+    return hash;
+  }
+
+  static long hashValue(Object value) throws SQLException {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof byte[] bytes) {
+      return fnv(bytes);
+    }
+    if (value instanceof Blob blob) {
+      return fnv(blob.getBytes(1, (int) blob.length()));
+    }
+    if (value instanceof Clob clob) {
+      return fnv(clob.getSubString(1, (int) clob.length()));
+    }
+    if (value instanceof java.sql.Timestamp ts) {
+      return fnv(ts.toLocalDateTime().toString());
+    }
+    if (value instanceof java.sql.Date d) {
+      return fnv(d.toLocalDate().toString());
+    }
+    if (value instanceof java.sql.Time t) {
+      return fnv(t.toLocalTime().toString());
+    }
+    if (value instanceof Boolean b) {
+      return b ? 1 : 2;
+    }
+    return fnv(Objects.toString(RecordContext.toLookupValue(value)));
+  }
+
+  static long fnv(String value) {
+    var hash = 0xCBF29CE484222325L;
+    for (var i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  static long fnv(byte[] value) {
+    var hash = 0xCBF29CE484222325L;
+    for (byte b : value) {
+      hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  static long mix(long hash) {
+    hash ^= (hash >>> 33);
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= (hash >>> 33);
+    return hash;
+  }
+
+  static <T> T getResult(Future<T> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException ex) {
+      throw (ex.getCause() instanceof Exception e) ? e : ex;
+    }
+  }
+
+  static void cancelAndJoin(Future<?> future, RecordContext rc, Exception failure) {
+    try {
+      rc.cancel();
+    } catch (SQLException ex) {
+      failure.addSuppressed(ex);
+    }
+    try {
+      future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      failure.addSuppressed(ex);
+    } catch (ExecutionException ex) {
+      // The cancelled query fails
+    }
+  }
+
+  static void writeLine(Writer report, String line) throws IOException {
+    synchronized (report) {
+      report.write(line);
+      report.write(System.lineSeparator());
+      report.flush();
+    }
+  }
+
+  class TableCompare {
+    final String tableName;
+    final Writer report;
+    final boolean hasKeys;
+
+    long rows;
+    long differences;
+    int reportedRows;
+
+    TableCompare(String tableName, Writer report, int[] keyIdx) {
+      this.tableName = tableName;
+      this.report = report;
+      this.hasKeys = keyIdx.length > 0;
+    }
+
+    void diff(Map<Object, long[]> rows1, Map<Object, long[]> rows2) throws IOException {
+      Set<Object> identities = new LinkedHashSet<>(rows1.keySet());
+      identities.addAll(rows2.keySet());
+
+      for (Object identity : identities) {
+        var row1 = rows1.get(identity);
+        var row2 = rows2.get(identity);
+
+        var count1 = (row1 != null) ? row1[1] : 0;
+        var count2 = (row2 != null) ? row2[1] : 0;
+
+        if (count1 == count2 && (row1 == null || row1[0] == row2[0])) {
+          continue;
+        }
+
+        // Rows without keys are identified by hash, so only counts can differ
+        var diffs = (!hasKeys || row1 == null || row2 == null) ? Math.abs(count1 - count2) : 1;
+        differences += diffs;
+
+        if (reportedRows < maxReportRows) {
+          reportedRows++;
+          writeLine(report, toDiffLine(identity, count1, count2));
+        }
+      }
+    }
+
+    String toDiffLine(Object identity, long count1, long count2) {
+      if (!hasKeys) {
+        return STR.fmt("[{}] Row hash {}: {} row(s) in the source, {} row(s) in the target.", tableName, identity,
+            count1, count2);
+      }
+      var key = (identity instanceof Collection<?> c) ? c.toString() : String.valueOf(identity);
+      if (count2 == 0) {
+        return STR.fmt("[{}] MISSING {}", tableName, key);
+      }
+      if (count1 == 0) {
+        return STR.fmt("[{}] EXTRA {}", tableName, key);
+      }
+      return STR.fmt("[{}] DIFFERENT {}", tableName, key);
+    }
+  }
+
+  public DataSource getSourceDataSource() {
+    initialize();
+    return sourceDataSource;
+  }
+
+  public DbDataComparer setSourceDataSource(DataSource sourceDataSource) {
+    assertNotInitialized();
+    this.sourceDataSource = sourceDataSource;
+    return this;
+  }
+
+  public DataSource getTargetDataSource() {
+    initialize();
+    return targetDataSource;
+  }
+
+  public DbDataComparer setTargetDataSource(DataSource targetDataSource) {
+    assertNotInitialized();
+    this.targetDataSource = targetDataSource;
+    return this;
+  }
+
+  public Set<String> getTableNames() {
+    initialize();
+    return tableNames;
+  }
+
+  public DbDataComparer setTableNames(String... tableNames) {
+    assertNotInitialized();
+    this.tableNames = new LinkedHashSet<>(Arrays.asList(tableNames));
+    return this;
+  }
+
+  public int getChunkSize() {
+    initialize();
+    return chunkSize;
+  }
+
+  public DbDataComparer setChunkSize(int chunkSize) {
+    assertNotInitialized();
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public int getParallelism() {
+    initialize();
+    return parallelism;
+  }
+
+  public DbDataComparer setParallelism(int parallelism) {
+    assertNotInitialized();
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public int getMaxReportRows() {
+    initialize();
+    return maxReportRows;
+  }
+
+  public DbDataComparer setMaxReportRows(int maxReportRows) {
+    assertNotInitialized();
+    this.maxReportRows = maxReportRows;
+    return this;
+  }
+}
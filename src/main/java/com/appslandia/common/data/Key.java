@@ -20,8 +20,8 @@
 
 package com.appslandia.common.data;
 
-import java.util.LinkedHashMap;
 
+import com.appslandia.common.base.CaseInsensitiveHashMap;
 import com.appslandia.common.base.CaseInsensitiveMap;
 import com.appslandia.common.utils.ObjectUtils;
 
@@ -34,11 +34,11 @@ public class Key extends CaseInsensitiveMap<Object> {
   private static final long serialVersionUID = 1L;
 
   public Key() {
-    super(new LinkedHashMap<>());
+    super(new CaseInsensitiveHashMap<>());
   }
 
   public Key(String keyColumn, Object value) {
-    super(new LinkedHashMap<>());
+    super(new CaseInsensitiveHashMap<>());
 
     super.put(keyColumn, value);
   }
@@ -20,16 +20,28 @@
 
 package com.appslandia.common.data;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import javax.sql.DataSource;
 
+import com.appslandia.common.base.CaseInsensitiveMap;
 import com.appslandia.common.base.TextBuilder;
 import com.appslandia.common.jdbc.ConnectionImpl;
 import com.appslandia.common.jdbc.DbContext;
@@ -48,6 +60,8 @@ import com.appslandia.common.utils.STR;
  */
 public class RecordContext extends DbContext {
 
+  protected boolean compactRows;
+
   /**
    * Constructs a RecordContext using the current SQL connection provided by
    * {@link com.appslandia.common.jdbc.ConnectionImpl#getCurrent()} as the underlying connection.
@@ -61,10 +75,40 @@ public class RecordContext extends DbContext {
     super(dataSource);
   }
 
+  public RecordContext(DataSource dataSource, boolean readOnly) throws java.sql.SQLException {
+    super(dataSource, readOnly);
+  }
+
   public RecordContext(ConnectionImpl conn) throws java.sql.SQLException {
     super(conn);
   }
 
+  public boolean isCompactRows() {
+    return compactRows;
+  }
+
+  /**
+   * Makes executeList, executeMap, executeSingle and getRecord return {@link Row}s, which share one
+   * {@link RowSchema} per result instead of allocating a map per record.
+   *
+   */
+  public void setCompactRows(boolean compactRows) {
+    this.compactRows = compactRows;
+  }
+
+  protected ResultSetMapper<DataRecord> toRecordMapper() {
+    if (!compactRows) {
+      return rs -> RecordUtils.toRecord(rs);
+    }
+    var schema = new RowSchema[1];
+    return rs -> {
+      if (schema[0] == null) {
+        schema[0] = RowSchema.of(rs.getColumns());
+      }
+      return RecordUtils.toRow(rs, schema[0]);
+    };
+  }
+
   public Object insert(String tableName, DataRecord dataRecord) throws java.sql.SQLException {
     return this.insert(tableName, dataRecord, false);
   }
@@ -78,14 +122,8 @@ public class RecordContext extends DbContext {
     var autoGeneratedKey = !insertPk && (table.getIncrKey() != null);
     var pQuery = insertQuery.getPQuery();
 
-    // PreparedStatementImpl
-    var stat = stats.get(pQuery);
-    if (stat == null) {
-      stat = conn.prepareStatement(insertQuery, autoGeneratedKey);
-      stats.put(pQuery, stat);
-    }
-
     // Parameters
+    Map<String, Object> params = new CaseInsensitiveMap<>();
     for (Column column : table.getColumns()) {
       if (column.isInsertable(insertPk)) {
         var val = dataRecord.get(column.getName());
@@ -93,33 +131,49 @@ public class RecordContext extends DbContext {
         if (!column.isNullable()) {
           Asserts.notNull(val, "Column '{}' must not be null.", column.getName());
         }
-        stat.setObject(column.getName(), new JdbcParam(val, column.getSqlType(), column.getScaleOrLength()));
+        params.put(column.getName(), new JdbcParam(val, column.getSqlType(), column.getScaleOrLength()));
       }
     }
 
-    // Execute
-    if (!addBatch) {
-      var rowAffected = stat.executeUpdate();
+    onTableWrite(table.getName());
 
-      // Generated Key
+    // Batch: the generated key is set into dataRecord after executeBatch()
+    if (addBatch) {
       if (autoGeneratedKey) {
-        try (var rs = stat.getGeneratedKeys()) {
+        var incrKeyName = table.getIncrKey().getName();
+        addBatch(insertQuery, params, true, incrKeyName, generatedKey -> dataRecord.set(incrKeyName, generatedKey));
+      } else {
+        addBatch(insertQuery, params, false);
+      }
+      return -1;
+    }
 
-          if (rs.next()) {
-            var generatedKey = rs.getObject(1);
-            dataRecord.set(table.getIncrKey().getName(), generatedKey);
+    // PreparedStatementImpl
+    var stat = stats.get(pQuery);
+    if (stat == null) {
+      stat = prepareKeyStatement(insertQuery, autoGeneratedKey,
+          autoGeneratedKey ? table.getIncrKey().getName() : null);
+      stats.put(pQuery, stat);
+    }
+    JdbcUtils.setParameters(stat, insertQuery, params);
 
-            return generatedKey;
-          }
+    // Execute
+    var rowAffected = stat.executeUpdate();
+    onTableWritten(table.getName());
+
+    // Generated Key
+    if (autoGeneratedKey) {
+      try (var rs = stat.getGeneratedKeys()) {
+
+        if (rs.next()) {
+          var generatedKey = rs.getObject(1);
+          dataRecord.set(table.getIncrKey().getName(), generatedKey);
+
+          return generatedKey;
         }
       }
-      return rowAffected;
-
-    } else {
-      assertTransactional();
-      addBatch(stat, pQuery);
-      return -1;
     }
+    return rowAffected;
   }
 
   public Object insert(String tableName, Object entity) throws java.sql.SQLException {
@@ -161,9 +215,13 @@ public class RecordContext extends DbContext {
       }
     }
 
+    onTableWrite(table.getName());
+
     // Execute
     if (!addBatch) {
-      return stat.executeUpdate();
+      var rowAffected = stat.executeUpdate();
+      onTableWritten(table.getName());
+      return rowAffected;
 
     } else {
       assertTransactional();
@@ -182,6 +240,68 @@ public class RecordContext extends DbContext {
     return this.update(tableName, dataRecord, addBatch);
   }
 
+  public int upsert(String tableName, DataRecord dataRecord) throws java.sql.SQLException {
+    return this.upsert(tableName, dataRecord, false);
+  }
+
+  /**
+   * Inserts the given record or updates it if a row with the same key exists, in one statement. The key columns
+   * including an auto-increment key must be present in the record.
+   *
+   */
+  public int upsert(String tableName, DataRecord dataRecord, boolean addBatch) throws java.sql.SQLException {
+    // Table
+    var table = getTable(tableName);
+    Asserts.isTrue(table.hasKeys(), "upsert() is unsupported on the table '{}'. Reason: no keys.", tableName);
+
+    var upsertQuery = table.getUpsertQuery(conn.getDbDialect().getType());
+    var pQuery = upsertQuery.getPQuery();
+
+    // Parameters
+    Map<String, Object> params = new CaseInsensitiveMap<>();
+    for (Column column : table.getColumns()) {
+      if (column.isInsertable(true)) {
+        var val = dataRecord.get(column.getName());
+
+        if (!column.isNullable()) {
+          Asserts.notNull(val, "Column '{}' must not be null.", column.getName());
+        }
+        params.put(column.getName(), new JdbcParam(val, column.getSqlType(), column.getScaleOrLength()));
+      }
+    }
+
+    onTableWrite(table.getName());
+
+    // Batch
+    if (addBatch) {
+      addBatch(upsertQuery, params, false);
+      return -1;
+    }
+
+    // PreparedStatementImpl
+    var stat = stats.get(pQuery);
+    if (stat == null) {
+      stat = conn.prepareStatement(upsertQuery);
+      stats.put(pQuery, stat);
+    }
+    JdbcUtils.setParameters(stat, upsertQuery, params);
+
+    // Execute
+    var rowAffected = stat.executeUpdate();
+    onTableWritten(table.getName());
+    return rowAffected;
+  }
+
+  public int upsert(String tableName, Object entity) throws java.sql.SQLException {
+    return this.upsert(tableName, entity, false);
+  }
+
+  public int upsert(String tableName, Object entity, boolean addBatch) throws java.sql.SQLException {
+    var table = getTable(tableName);
+    var dataRecord = RecordUtils.toRecord(table, entity);
+    return this.upsert(tableName, dataRecord, addBatch);
+  }
+
   public int delete(String tableName, Key key) throws java.sql.SQLException {
     return this.delete(tableName, key, false);
   }
@@ -209,9 +329,13 @@ public class RecordContext extends DbContext {
       }
     }
 
+    onTableWrite(table.getName());
+
     // Execute
     if (!addBatch) {
-      return stat.executeUpdate();
+      var rowAffected = stat.executeUpdate();
+      onTableWritten(table.getName());
+      return rowAffected;
 
     } else {
       assertTransactional();
@@ -255,7 +379,7 @@ public class RecordContext extends DbContext {
 
     // Execute
     try (var rs = stat.executeQuery()) {
-      return JdbcUtils.executeSingle(rs, r -> RecordUtils.toRecord(r));
+      return JdbcUtils.executeSingle(rs, toRecordMapper());
     }
   }
 
@@ -265,6 +389,189 @@ public class RecordContext extends DbContext {
     return this.getRecord(tableName, key);
   }
 
+  static final int[] GET_IN_SIZES = { 1, 4, 16, 64, 256 };
+  static final int GET_IN_MAX_PARAMS = 2000;
+
+  /**
+   * Loads the records of the given primary keys with IN-list queries. The keys are either {@link Key} objects or
+   * single key values. The returned map contains the found records by the given keys.
+   * <p>
+   * Returned rows are matched to the given keys after normalizing numeric and temporal types. A key that matches no
+   * row exactly is matched to a row that only differs by case or trailing spaces, as returned by case-insensitive
+   * collations and CHAR columns.
+   *
+   */
+  public <K> Map<K, DataRecord> getRecords(String tableName, Collection<K> pks) throws java.sql.SQLException {
+    // Table
+    var table = getTable(tableName);
+    Asserts.isTrue(table.hasKeys(), "getRecords() is unsupported on the table '{}'. Reason: no keys.", tableName);
+
+    var keyColumns = table.getColumns().stream().filter(column -> column.isKey()).toList();
+    var rowValues = conn.getDbDialect().isRowValueIn();
+
+    // Distinct keys
+    Map<Object, K> lookup = new LinkedHashMap<>();
+    List<Key> keys = new ArrayList<>(pks.size());
+
+    for (K pk : pks) {
+      var key = (pk instanceof Key k) ? k : RecordUtils.toKey(table, pk);
+      var lookupKey = toLookupKey(keyColumns, col -> key.get(col.getName()), false);
+
+      if (lookup.putIfAbsent(lookupKey, pk) == null) {
+        keys.add(key);
+      }
+    }
+
+    Map<K, DataRecord> records = new HashMap<>(Math.max(16, (int) (keys.size() / 0.75f) + 1));
+    List<DataRecord> unmatched = new ArrayList<>();
+
+    var recordMapper = toRecordMapper();
+    var offset = 0;
+
+    while (offset < keys.size()) {
+      var remaining = keys.size() - offset;
+      var size = getInSize(remaining, keyColumns.size());
+      var count = Math.min(remaining, size);
+
+      var getInQuery = table.getGetInQuery(size, rowValues);
+      var pQuery = getInQuery.getPQuery();
+
+      // PreparedStatementImpl
+      var stat = stats.get(pQuery);
+      if (stat == null) {
+        stat = conn.prepareStatement(getInQuery);
+        stats.put(pQuery, stat);
+      }
+
+      // Parameters: pad with the last key to reuse the statement of this size
+      Map<String, Object> params = new CaseInsensitiveMap<>();
+      for (var i = 0; i < size; i++) {
+        var key = keys.get(offset + Math.min(i, count - 1));
+
+        for (Column column : keyColumns) {
+          var val = key.get(column.getName());
+          Asserts.notNull(val, "Column '{}' must not be null.", column.getName());
+
+          params.put(Table.toInParamName(column, i),
+              new JdbcParam(val, column.getSqlType(), column.getScaleOrLength()));
+        }
+      }
+      JdbcUtils.setParameters(stat, getInQuery, params);
+
+      // Execute
+      try (var rs = stat.executeQuery()) {
+        while (rs.next()) {
+          var dataRecord = recordMapper.map(rs);
+          var pk = lookup.get(toLookupKey(keyColumns, col -> dataRecord.get(col.getName()), false));
+
+          if (pk != null) {
+            records.put(pk, dataRecord);
+          } else {
+            unmatched.add(dataRecord);
+          }
+        }
+      }
+      offset += count;
+    }
+
+    // Rows of case-insensitive or padded keys
+    if (!unmatched.isEmpty() && records.size() < lookup.size()) {
+      Map<Object, List<K>> folded = new HashMap<>();
+      for (Map.Entry<Object, K> entry : lookup.entrySet()) {
+        if (!records.containsKey(entry.getValue())) {
+          folded.computeIfAbsent(foldLookupKey(entry.getKey()), k -> new ArrayList<>()).add(entry.getValue());
+        }
+      }
+      for (DataRecord dataRecord : unmatched) {
+        var foldedPks = folded.get(toLookupKey(keyColumns, col -> dataRecord.get(col.getName()), true));
+        if (foldedPks != null) {
+          for (K pk : foldedPks) {
+            records.putIfAbsent(pk, dataRecord);
+          }
+        }
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Returns the largest IN size not above remaining, or the next size if padding wastes less than half of it.
+   *
+   */
+  static int getInSize(int remaining, int keyColumns) {
+    var size = GET_IN_SIZES[0];
+    for (int inSize : GET_IN_SIZES) {
+      if (inSize * keyColumns > GET_IN_MAX_PARAMS) {
+        break;
+      }
+      if (inSize >= remaining) {
+        return (inSize <= 2 * remaining) ? inSize : size;
+      }
+      size = inSize;
+    }
+    return size;
+  }
+
+  static Object toLookupKey(List<Column> keyColumns, Function<Column, Object> valueGetter, boolean fold) {
+    if (keyColumns.size() == 1) {
+      return toLookupValue(valueGetter.apply(keyColumns.get(0)), fold);
+    }
+    var values = new Object[keyColumns.size()];
+    for (var i = 0; i < values.length; i++) {
+      values[i] = toLookupValue(valueGetter.apply(keyColumns.get(i)), fold);
+    }
+    return Arrays.asList(values);
+  }
+
+  static Object foldLookupKey(Object lookupKey) {
+    if (lookupKey instanceof List<?> values) {
+      return values.stream().map(value -> toLookupValue(value, true)).toList();
+    }
+    return toLookupValue(lookupKey, true);
+  }
+
+  static Object toLookupValue(Object value) {
+    return toLookupValue(value, false);
+  }
+
+  static Object toLookupValue(Object value, boolean fold) {
+    // Drivers may return another numeric type than the given key
+    if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+      return ((Number) value).longValue();
+    }
+    if (value instanceof BigInteger bi) {
+      return (bi.bitLength() < 64) ? (Object) bi.longValue() : bi;
+    }
+    if (value instanceof BigDecimal bd) {
+      var stripped = bd.stripTrailingZeros();
+      return (stripped.scale() <= 0 && stripped.precision() - stripped.scale() < 19) ? (Object) stripped.longValue()
+          : stripped;
+    }
+
+    // Drivers may return java.sql types for java.time keys and vice versa
+    if (value instanceof java.sql.Timestamp ts) {
+      return ts.toLocalDateTime();
+    }
+    if (value instanceof java.sql.Date dt) {
+      return dt.toLocalDate();
+    }
+    if (value instanceof java.sql.Time tm) {
+      return tm.toLocalTime();
+    }
+    if (value instanceof OffsetDateTime odt) {
+      return odt.toInstant();
+    }
+    if (value instanceof byte[] bytes) {
+      return ByteBuffer.wrap(bytes);
+    }
+
+    // CHAR columns are padded and collations may ignore case
+    if (fold && value instanceof String str) {
+      return str.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+    return value;
+  }
+
   public boolean exists(String tableName, Key key) throws java.sql.SQLException {
     // Table
     var table = getTable(tableName);
@@ -312,7 +619,7 @@ public class RecordContext extends DbContext {
       var query = STR.fmt("SELECT * FROM {}", table.getQTableName());
 
       try (var rs = new ResultSetImpl(stat.executeQuery(query))) {
-        JdbcUtils.executeMap(rs, keyMapper, r -> RecordUtils.toRecord(r), map);
+        JdbcUtils.executeMap(rs, keyMapper, toRecordMapper(), map);
       }
     }
     return map;
@@ -326,7 +633,7 @@ public class RecordContext extends DbContext {
     try (var stat = conn.createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
-        return JdbcUtils.executeList(rs, r -> RecordUtils.toRecord(r), list);
+        return JdbcUtils.executeList(rs, toRecordMapper(), list);
       }
     }
   }
@@ -350,15 +657,12 @@ public class RecordContext extends DbContext {
 
     try (var rs = stat.executeQuery()) {
 
-      return JdbcUtils.executeList(rs, r -> RecordUtils.toRecord(r), list);
+      return JdbcUtils.executeList(rs, toRecordMapper(), list);
     }
   }
 
   public DataRecord executeSingle(String sql) throws java.sql.SQLException {
-    return executeSingle(sql, rs -> {
-
-      return RecordUtils.toRecord(rs);
-    });
+    return executeSingle(sql, toRecordMapper());
   }
 
   public DataRecord executeSingle(String pQuery, Object... params) throws java.sql.SQLException {
@@ -366,16 +670,13 @@ public class RecordContext extends DbContext {
   }
 
   public DataRecord executeSingle(String pQuery, Map<String, Object> params) throws java.sql.SQLException {
-    return executeSingle(pQuery, params, rs -> {
-
-      return RecordUtils.toRecord(rs);
-    });
+    return executeSingle(pQuery, params, toRecordMapper());
   }
 
   public Table getTable(String tableName) throws UncheckedSQLException {
     var tables = TABLES.computeIfAbsent(conn.getDataSourceId(), db -> new ConcurrentHashMap<>());
 
-    return tables.computeIfAbsent(tableName, tn -> {
+    return tables.computeIfAbsent(toTableKey(tableName), tn -> {
       try {
         var table = RecordUtils.loadTable(conn, conn.getCatalog(), conn.getSchema(), tableName, null);
         if (table == null) {
@@ -389,6 +690,65 @@ public class RecordContext extends DbContext {
     });
   }
 
+  /**
+   * Loads all tables of the current schema with a few metadata queries and caches them for
+   * {@link #getTable(String)}.
+   *
+   */
+  public int prefetchTables() throws java.sql.SQLException {
+    var tables = RecordUtils.loadTables(conn, conn.getCatalog(), conn.getSchema(), null);
+    putTables(tables);
+    return tables.size();
+  }
+
+  /**
+   * Same as {@link #prefetchTables()} but reads the tables from the given snapshot file if it matches the current
+   * schema hash. Otherwise the tables are loaded from the database and the snapshot is rewritten.
+   *
+   */
+  public int prefetchTables(Path snapshotFile) throws java.sql.SQLException, IOException {
+    return prefetchTables(snapshotFile, null);
+  }
+
+  /**
+   * Same as {@link #prefetchTables(Path)} but the snapshot is validated by the given schema version, such as the
+   * latest migration version, instead of a hash of the schema metadata. This avoids reading the column metadata of
+   * the whole schema on each start. If schemaVersion is null, the schema hash is used.
+   *
+   */
+  public int prefetchTables(Path snapshotFile, String schemaVersion) throws java.sql.SQLException, IOException {
+    var catalog = conn.getCatalog();
+    var schema = conn.getSchema();
+    var schemaHash = (schemaVersion != null) ? "version:" + schemaVersion
+        : RecordUtils.computeSchemaHash(conn, catalog, schema);
+
+    var tables = TableSnapshot.read(snapshotFile, schemaHash);
+    if (tables == null) {
+      tables = RecordUtils.loadTables(conn, catalog, schema, null);
+      putTables(tables);
+
+      TableSnapshot.write(snapshotFile, schemaHash, tables);
+    } else {
+      putTables(tables);
+    }
+    return tables.size();
+  }
+
+  protected void putTables(List<Table> tables) {
+    var cached = TABLES.computeIfAbsent(conn.getDataSourceId(), db -> new ConcurrentHashMap<>());
+
+    // Table.initialize() builds the CRUD queries
+    tables.parallelStream().forEach(table -> {
+      table.initialize();
+      cached.put(toTableKey(table.getName()), table);
+    });
+  }
+
+  // Table names are matched case-insensitively as databases report them in their own case
+  protected static String toTableKey(String tableName) {
+    return tableName.toLowerCase(Locale.ENGLISH);
+  }
+
   public String getRecordSetters(String tableName) throws UncheckedSQLException {
     var table = getTable(tableName);
     var setters = new TextBuilder();
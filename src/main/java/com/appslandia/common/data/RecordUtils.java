@@ -22,6 +22,11 @@ package com.appslandia.common.data;
 
 import java.beans.PropertyDescriptor;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,21 +35,29 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.DbDialect;
 import com.appslandia.common.jdbc.ResultSetColumn;
 import com.appslandia.common.jdbc.ResultSetImpl;
 import com.appslandia.common.jdbc.SqlTypeMapper;
 import com.appslandia.common.utils.Arguments;
 import com.appslandia.common.utils.Asserts;
 import com.appslandia.common.utils.CollectionUtils;
+import com.appslandia.common.utils.HexUtils;
 import com.appslandia.common.utils.ModelUtils;
 import com.appslandia.common.utils.ReflectionException;
 import com.appslandia.common.utils.STR;
@@ -69,9 +82,7 @@ public final class RecordUtils {
 
     // DatabaseMetaData
     var metaData = conn.getMetaData();
-    var keywords = SplitUtils.splitByComma(metaData.getSQLKeywords(), SplittingBehavior.ORIGINAL);
-    Set<String> ucKeywords = Arrays.stream(keywords).map(k -> k.toUpperCase(Locale.ENGLISH))
-        .collect(Collectors.toSet());
+    var ucKeywords = getUcKeywords(metaData);
 
     // Table
     Table table = null;
@@ -80,27 +91,7 @@ public final class RecordUtils {
         if (table != null) {
           throw new IllegalArgumentException(STR.fmt("More than one table with name '{}' returned.", tableName));
         }
-        table = new Table();
-
-        // TABLE_CAT, TABLE_SCHEM, TABLE_NAME
-        var cat = rs.getString("TABLE_CAT");
-        var schem = rs.getString("TABLE_SCHEM");
-        var tname = rs.getString("TABLE_NAME");
-
-        table.setTableCat(cat);
-        table.setTableSchema(schem);
-        table.setTableName(tname);
-
-        if (cat != null) {
-          table.setQTableCat(
-              ucKeywords.contains(cat.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(cat) : cat);
-        }
-        if (schem != null) {
-          table.setQTableSchema(
-              ucKeywords.contains(schem.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(schem) : schem);
-        }
-        table.setQTableName(
-            ucKeywords.contains(tname.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(tname) : tname);
+        table = toTable(rs, dbDialect, ucKeywords);
       }
     }
 
@@ -121,67 +112,236 @@ public final class RecordUtils {
 
     try (var rs = metaData.getColumns(catalog, schema, tableName, null)) {
       while (rs.next()) {
+        var column = toColumn(rs, dbDialect, ucKeywords, keys);
 
-        var column = new Column();
-        var columnName = rs.getString("COLUMN_NAME");
+        if (columnInit != null) {
+          columnInit.accept(column);
+        }
+        columns.add(column);
+      }
+    }
+    return table.setColumns(columns);
+  }
 
-        column.setName(columnName);
-        column.setQName(
-            ucKeywords.contains(columnName.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(columnName)
-                : columnName);
+  /**
+   * Loads all tables of the given schema with one {@link DatabaseMetaData#getTables} and one
+   * {@link DatabaseMetaData#getColumns} call. Primary keys are read with one call on dialects that accept a null table
+   * name, and per table otherwise.
+   *
+   */
+  public static List<Table> loadTables(ConnectionImpl conn, String catalog, String schema,
+      Consumer<Column> columnInit) throws SQLException {
+    Arguments.notNull(conn);
 
-        column.setTypeName(rs.getString("TYPE_NAME"));
+    var dbDialect = conn.getDbDialect();
+    var metaData = conn.getMetaData();
+    var ucKeywords = getUcKeywords(metaData);
 
-        var sqlType = rs.getInt("DATA_TYPE");
-        column.setSqlType(sqlType);
-        column.setColumnSize(rs.getInt("COLUMN_SIZE"));
+    // Tables
+    Map<String, Table> tables = new LinkedHashMap<>();
+    try (var rs = metaData.getTables(catalog, schema, "%", new String[] { "TABLE" })) {
+      while (rs.next()) {
+        tables.put(rs.getString("TABLE_NAME"), toTable(rs, dbDialect, ucKeywords));
+      }
+    }
 
-        var fractionDigits = rs.getInt("DECIMAL_DIGITS");
-        column.setFractionDigits(!rs.wasNull() ? fractionDigits : null);
+    // Keys
+    var keys = loadPrimaryKeys(metaData, dbDialect, catalog, schema, tables.keySet());
 
-        column.setNullable("YES".equals(rs.getString("IS_NULLABLE")));
-        column.setPosition(rs.getInt("ORDINAL_POSITION"));
+    // Columns
+    Map<String, List<Column>> columns = new HashMap<>();
+    try (var rs = metaData.getColumns(catalog, schema, "%", null)) {
+      while (rs.next()) {
+        var tableName = rs.getString("TABLE_NAME");
+        if (!tables.containsKey(tableName)) {
+          continue;
+        }
+        var column = toColumn(rs, dbDialect, ucKeywords, keys.getOrDefault(tableName, Collections.emptySet()));
 
-        // TABLE_CAT, TABLE_SCHEM, TABLE_NAME
-        var cat = rs.getString("TABLE_CAT");
-        var schem = rs.getString("TABLE_SCHEM");
-        var tname = rs.getString("TABLE_NAME");
+        if (columnInit != null) {
+          columnInit.accept(column);
+        }
+        columns.computeIfAbsent(tableName, t -> new ArrayList<>()).add(column);
+      }
+    }
 
-        column.setTableCat(cat);
-        column.setTableSchema(schem);
-        column.setTableName(tname);
+    List<Table> result = new ArrayList<>(tables.size());
+    for (Map.Entry<String, Table> table : tables.entrySet()) {
+      var tableColumns = columns.get(table.getKey());
+      if (tableColumns != null) {
+        result.add(table.getValue().setColumns(tableColumns));
+      }
+    }
+    return result;
+  }
 
-        if (cat != null) {
-          column.setQTableCat(
-              ucKeywords.contains(cat.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(cat) : cat);
+  static Map<String, Set<String>> loadPrimaryKeys(DatabaseMetaData metaData, DbDialect dbDialect, String catalog,
+      String schema, Collection<String> tableNames) throws SQLException {
+    Map<String, Set<String>> keys = new HashMap<>();
+    if (isBulkPrimaryKeys(dbDialect)) {
+      try (var rs = metaData.getPrimaryKeys(catalog, schema, null)) {
+        while (rs.next()) {
+          keys.computeIfAbsent(rs.getString("TABLE_NAME"), t -> new HashSet<>())
+              .add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ENGLISH));
         }
-        if (schem != null) {
-          column.setQTableSchema(
-              ucKeywords.contains(schem.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(schem) : schem);
+      }
+    } else {
+      for (String tableName : tableNames) {
+        try (var rs = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+          while (rs.next()) {
+            keys.computeIfAbsent(tableName, t -> new HashSet<>())
+                .add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ENGLISH));
+          }
         }
-        column.setQTableName(
-            ucKeywords.contains(tname.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(tname) : tname);
+      }
+    }
+    return keys;
+  }
 
-        // Java Type
-        column.setJavaType(SqlTypeMapper.getJavaType(sqlType, dbDialect));
+  static boolean isBulkPrimaryKeys(DbDialect dbDialect) {
+    return switch (dbDialect.getType()) {
+    case POSTGRESQL -> true;
+    default -> false;
+    };
+  }
 
-        var isKey = keys.contains(columnName.toLowerCase(Locale.ENGLISH));
-        var autoIncr = "YES".equals(rs.getString("IS_AUTOINCREMENT"));
-        var genCol = "YES".equals(rs.getString("IS_GENERATEDCOLUMN"));
+  public static String computeSchemaHash(ConnectionImpl conn, String catalog, String schema) throws SQLException {
+    return computeSchemaHash(conn, catalog, schema, null);
+  }
 
-        if (isKey) {
-          column.setColumnType(autoIncr ? ColumnType.KEY_INCR : ColumnType.KEY);
-        } else {
-          column.setColumnType(genCol ? ColumnType.NON_KEY_GEN : ColumnType.NON_KEY);
-        }
+  /**
+   * Computes a SHA-256 hex hash over the tables, columns, types and nullability of the given schema, read with a single
+   * column metadata query. Primary keys are included only where the driver returns them for the whole schema in one
+   * call (PostgreSQL); elsewhere a key change that leaves the columns unchanged is only detected through the given
+   * schemaVersion, such as the latest migration version, which is hashed too if not null. See
+   * {@link RecordContext#prefetchTables(java.nio.file.Path, String)} for a check without any metadata query.
+   *
+   */
+  public static String computeSchemaHash(ConnectionImpl conn, String catalog, String schema, String schemaVersion)
+      throws SQLException {
+    Arguments.notNull(conn);
 
-        if (columnInit != null) {
-          columnInit.accept(column);
+    var metaData = conn.getMetaData();
+    Set<String> tableNames = new HashSet<>();
+    List<String> entries = new ArrayList<>();
+
+    if (schemaVersion != null) {
+      entries.add("version:" + schemaVersion);
+    }
+    try (var rs = metaData.getColumns(catalog, schema, "%", null)) {
+      while (rs.next()) {
+        tableNames.add(rs.getString("TABLE_NAME"));
+        entries.add(STR.fmt("{}.{}:{}:{}:{}:{}:{}:{}", rs.getString("TABLE_NAME"), rs.getString("COLUMN_NAME"),
+            rs.getInt("DATA_TYPE"), rs.getString("TYPE_NAME"), rs.getInt("COLUMN_SIZE"), rs.getInt("DECIMAL_DIGITS"),
+            rs.getString("IS_NULLABLE"), rs.getString("IS_AUTOINCREMENT")));
+      }
+    }
+    if (isBulkPrimaryKeys(conn.getDbDialect())) {
+      var keys = loadPrimaryKeys(metaData, conn.getDbDialect(), catalog, schema, tableNames);
+      for (Map.Entry<String, Set<String>> key : keys.entrySet()) {
+        if (tableNames.contains(key.getKey())) {
+          entries.add(STR.fmt("{}#pk:{}", key.getKey(), String.join(",", new TreeSet<>(key.getValue()))));
         }
-        columns.add(column);
       }
     }
-    return table.setColumns(columns);
+    Collections.sort(entries);
+
+    try {
+      var md = MessageDigest.getInstance("SHA-256");
+      for (String entry : entries) {
+        md.update(entry.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) '\n');
+      }
+      return HexUtils.encodeHexToString(md.digest());
+
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  static Set<String> getUcKeywords(DatabaseMetaData metaData) throws SQLException {
+    var keywords = SplitUtils.splitByComma(metaData.getSQLKeywords(), SplittingBehavior.ORIGINAL);
+    return Arrays.stream(keywords).map(k -> k.toUpperCase(Locale.ENGLISH)).collect(Collectors.toSet());
+  }
+
+  static Table toTable(ResultSet rs, DbDialect dbDialect, Set<String> ucKeywords) throws SQLException {
+    var table = new Table();
+
+    // TABLE_CAT, TABLE_SCHEM, TABLE_NAME
+    var cat = rs.getString("TABLE_CAT");
+    var schem = rs.getString("TABLE_SCHEM");
+    var tname = rs.getString("TABLE_NAME");
+
+    table.setTableCat(cat);
+    table.setTableSchema(schem);
+    table.setTableName(tname);
+
+    if (cat != null) {
+      table.setQTableCat(ucKeywords.contains(cat.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(cat) : cat);
+    }
+    if (schem != null) {
+      table.setQTableSchema(
+          ucKeywords.contains(schem.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(schem) : schem);
+    }
+    table.setQTableName(
+        ucKeywords.contains(tname.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(tname) : tname);
+    return table;
+  }
+
+  static Column toColumn(ResultSet rs, DbDialect dbDialect, Set<String> ucKeywords, Set<String> keys)
+      throws SQLException {
+    var column = new Column();
+    var columnName = rs.getString("COLUMN_NAME");
+
+    column.setName(columnName);
+    column.setQName(
+        ucKeywords.contains(columnName.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(columnName)
+            : columnName);
+
+    column.setTypeName(rs.getString("TYPE_NAME"));
+
+    var sqlType = rs.getInt("DATA_TYPE");
+    column.setSqlType(sqlType);
+    column.setColumnSize(rs.getInt("COLUMN_SIZE"));
+
+    var fractionDigits = rs.getInt("DECIMAL_DIGITS");
+    column.setFractionDigits(!rs.wasNull() ? fractionDigits : null);
+
+    column.setNullable("YES".equals(rs.getString("IS_NULLABLE")));
+    column.setPosition(rs.getInt("ORDINAL_POSITION"));
+
+    // TABLE_CAT, TABLE_SCHEM, TABLE_NAME
+    var cat = rs.getString("TABLE_CAT");
+    var schem = rs.getString("TABLE_SCHEM");
+    var tname = rs.getString("TABLE_NAME");
+
+    column.setTableCat(cat);
+    column.setTableSchema(schem);
+    column.setTableName(tname);
+
+    if (cat != null) {
+      column.setQTableCat(ucKeywords.contains(cat.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(cat) : cat);
+    }
+    if (schem != null) {
+      column.setQTableSchema(
+          ucKeywords.contains(schem.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(schem) : schem);
+    }
+    column.setQTableName(
+        ucKeywords.contains(tname.toUpperCase(Locale.ENGLISH)) ? dbDialect.quoteIdentifier(tname) : tname);
+
+    // Java Type
+    column.setJavaType(SqlTypeMapper.getJavaType(sqlType, dbDialect));
+
+    var isKey = keys.contains(columnName.toLowerCase(Locale.ENGLISH));
+    var autoIncr = "YES".equals(rs.getString("IS_AUTOINCREMENT"));
+    var genCol = "YES".equals(rs.getString("IS_GENERATEDCOLUMN"));
+
+    if (isKey) {
+      column.setColumnType(autoIncr ? ColumnType.KEY_INCR : ColumnType.KEY);
+    } else {
+      column.setColumnType(genCol ? ColumnType.NON_KEY_GEN : ColumnType.NON_KEY);
+    }
+    return column;
   }
 
   public static DataRecord toRecord(ResultSetImpl rs) throws SQLException {
@@ -193,6 +353,16 @@ public final class RecordUtils {
     return dataRecord;
   }
 
+  public static Row toRow(ResultSetImpl rs, RowSchema schema) throws SQLException {
+    var columns = rs.getColumns();
+    var values = new Object[schema.size()];
+
+    for (var i = 1; i <= columns.size(); i++) {
+      values[schema.getSlot(i)] = rs.getObject(i);
+    }
+    return new Row(schema, values);
+  }
+
   public static DataRecord toRecord(Table table, Object entity) throws ReflectionException {
     try {
       var dataRecord = new DataRecord();
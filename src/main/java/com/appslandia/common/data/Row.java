@@ -0,0 +1,225 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import com.appslandia.common.base.CaseInsensitiveMap;
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.ObjectUtils;
+
+/**
+ * A {@link DataRecord} that stores its values in an array indexed by a shared {@link RowSchema} instead of a map
+ * per record. Labels outside the schema are kept in an extra map created on first use. Schema columns can't be
+ * removed.
+ *
+ * @author Loc Ha
+ *
+ */
+public class Row extends DataRecord {
+  private static final long serialVersionUID = 1L;
+
+  final RowSchema schema;
+  final Object[] values;
+  private CaseInsensitiveMap<Object> extra;
+
+  public Row(RowSchema schema) {
+    this(schema, new Object[schema.size()]);
+  }
+
+  public Row(RowSchema schema, Object[] values) {
+    super(null);
+    this.schema = Arguments.notNull(schema);
+    this.values = Arguments.notNull(values);
+    Arguments.isTrue(values.length == schema.size(), "values length must match the schema size.");
+  }
+
+  public RowSchema getSchema() {
+    return schema;
+  }
+
+  public Object get(int index) {
+    return values[index];
+  }
+
+  public Row set(int index, Object value) {
+    values[index] = value;
+    return this;
+  }
+
+  @Override
+  public int size() {
+    return values.length + ((extra != null) ? extra.size() : 0);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (!(key instanceof String s)) {
+      return false;
+    }
+    return (schema.indexOf(s) >= 0) || (extra != null && extra.containsKey(s));
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (Object v : values) {
+      if (Objects.equals(v, value)) {
+        return true;
+      }
+    }
+    return (extra != null) && extra.containsValue(value);
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (!(key instanceof String s)) {
+      return null;
+    }
+    var index = schema.indexOf(s);
+    if (index >= 0) {
+      return values[index];
+    }
+    return (extra != null) ? extra.get(s) : null;
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    var index = schema.indexOf(key);
+    if (index >= 0) {
+      var old = values[index];
+      values[index] = value;
+      return old;
+    }
+    if (extra == null) {
+      extra = new CaseInsensitiveMap<>();
+    }
+    return extra.put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if ((key instanceof String s) && schema.indexOf(s) >= 0) {
+      throw new UnsupportedOperationException("Schema columns can't be removed.");
+    }
+    return (extra != null) ? extra.remove(key) : null;
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Schema columns can't be removed.");
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return view().keySet();
+  }
+
+  @Override
+  public Collection<Object> values() {
+    return view().values();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return view().entrySet();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return view().equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return view().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return ObjectUtils.toStringWrapper(this, view());
+  }
+
+  Map<String, Object> view() {
+    return new AbstractMap<>() {
+
+      @Override
+      public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+
+          @Override
+          public int size() {
+            return Row.this.size();
+          }
+
+          @Override
+          public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+          }
+        };
+      }
+    };
+  }
+
+  class EntryIterator implements Iterator<Entry<String, Object>> {
+    int index;
+    final Iterator<Entry<String, Object>> extraIterator = (extra != null) ? extra.entrySet().iterator() : null;
+
+    @Override
+    public boolean hasNext() {
+      return (index < values.length) || (extraIterator != null && extraIterator.hasNext());
+    }
+
+    @Override
+    public Entry<String, Object> next() {
+      if (index < values.length) {
+        var i = index++;
+        return new AbstractMap.SimpleEntry<>(schema.getKey(i), values[i]) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          public Object setValue(Object value) {
+            values[i] = value;
+            return super.setValue(value);
+          }
+        };
+      }
+      if (extraIterator == null) {
+        throw new NoSuchElementException();
+      }
+      return extraIterator.next();
+    }
+  }
+}
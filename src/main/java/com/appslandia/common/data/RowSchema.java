@@ -0,0 +1,100 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.appslandia.common.base.CaseInsensitiveHashMap;
+import com.appslandia.common.jdbc.ResultSetColumn;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Immutable, case-insensitive column labels shared by the {@link Row}s of one result.
+ *
+ * @author Loc Ha
+ *
+ */
+public final class RowSchema implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  final String[] keys;
+  final int[] slots;
+  final Map<String, Integer> indexes;
+
+  public RowSchema(String... labels) {
+    Arguments.notNull(labels);
+
+    Map<String, Integer> indexes = new CaseInsensitiveHashMap<>(labels.length);
+    var keys = new String[labels.length];
+    var slots = new int[labels.length];
+    var count = 0;
+
+    for (var i = 0; i < labels.length; i++) {
+      var slot = indexes.get(labels[i]);
+
+      // Duplicate labels share the slot of the first one
+      if (slot == null) {
+        slot = count;
+        keys[count++] = CaseInsensitiveHashMap.toLowerCase(labels[i]);
+        indexes.put(labels[i], slot);
+      }
+      slots[i] = slot;
+    }
+    this.keys = (count == labels.length) ? keys : Arrays.copyOf(keys, count);
+    this.slots = slots;
+    this.indexes = indexes;
+  }
+
+  public static RowSchema of(List<ResultSetColumn> columns) {
+    return new RowSchema(columns.stream().map(c -> c.getName()).toArray(String[]::new));
+  }
+
+  public int size() {
+    return keys.length;
+  }
+
+  public String getKey(int index) {
+    return keys[index];
+  }
+
+  /**
+   * Returns the index of the given label ignoring case, or -1. The lookup doesn't allocate.
+   *
+   */
+  public int indexOf(String label) {
+    if (label == null) {
+      return -1;
+    }
+    var index = indexes.get(label);
+    return (index != null) ? index : -1;
+  }
+
+  /**
+   * Returns the value index of the given result set column, starting at 1.
+   *
+   */
+  public int getSlot(int columnIndex) {
+    return slots[columnIndex - 1];
+  }
+}
@@ -23,10 +23,13 @@ package com.appslandia.common.data;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.appslandia.common.base.InitializingObject;
 import com.appslandia.common.base.TextBuilder;
 import com.appslandia.common.base.ToStringBuilder.TSIdHash;
+import com.appslandia.common.jdbc.DbType;
 import com.appslandia.common.jdbc.SqlQuery;
 import com.appslandia.common.utils.Arguments;
 
@@ -62,6 +65,9 @@ public class Table extends InitializingObject implements Serializable {
   private transient SqlQuery getQuery;
   private transient SqlQuery existsQuery;
 
+  private transient Map<DbType, SqlQuery> upsertQueries;
+  private transient Map<Integer, SqlQuery> getInQueries;
+
   @Override
   protected void init() throws Exception {
     Arguments.notNull(tableName, "tableName is required.");
@@ -89,6 +95,8 @@ public class Table extends InitializingObject implements Serializable {
 
     getQuery = new SqlQuery(buildGetQuery());
     existsQuery = new SqlQuery(buildExistsQuery());
+    upsertQueries = new ConcurrentHashMap<>();
+    getInQueries = new ConcurrentHashMap<>();
 
     columns = Collections.unmodifiableList(columns);
   }
@@ -194,6 +202,243 @@ public class Table extends InitializingObject implements Serializable {
     return sb.toString();
   }
 
+  protected String buildUpsertQuery(DbType dbType) {
+    return switch (dbType) {
+    case POSTGRESQL, SQLITE -> buildOnConflictQuery();
+    case MYSQL, MARIADB -> buildOnDuplicateKeyQuery(dbType);
+    case H2 -> buildMergeKeyQuery();
+    case SAP_HANA -> buildInsertQuery(true).replaceFirst("^INSERT INTO ", "UPSERT ") + " WITH PRIMARY KEY";
+    case MSSQL, ORACLE, DB2 -> buildMergeQuery(dbType);
+    };
+  }
+
+  protected String buildOnConflictQuery() {
+    var sb = new TextBuilder().append(buildInsertQuery(true));
+    sb.append(" ON CONFLICT (");
+    appendColumns(sb, columns.stream().filter(column -> column.isKey()).toList(), null);
+    sb.append(')');
+
+    var updatables = columns.stream().filter(column -> column.isUpdatable()).toList();
+    if (updatables.isEmpty()) {
+      sb.append(" DO NOTHING");
+      return sb.toString();
+    }
+
+    sb.append(" DO UPDATE SET ");
+    appendAssignments(sb, updatables, null, "EXCLUDED.");
+    return sb.toString();
+  }
+
+  protected String buildOnDuplicateKeyQuery(DbType dbType) {
+    var sb = new TextBuilder().append(buildInsertQuery(true));
+
+    // MySQL 8.0.20+ deprecates VALUES(col) in favor of a row alias; MariaDB has no row alias
+    var rowAlias = (dbType == DbType.MYSQL);
+    if (rowAlias) {
+      sb.append(" AS n__");
+    }
+    sb.append(" ON DUPLICATE KEY UPDATE ");
+
+    var updatables = columns.stream().filter(column -> column.isUpdatable()).toList();
+    if (updatables.isEmpty()) {
+      var key = columns.stream().filter(column -> column.isKey()).findFirst().get();
+      sb.append(key.getQName()).append('=').append(key.getQName());
+      return sb.toString();
+    }
+
+    var isFirst = true;
+    for (Column column : updatables) {
+      if (!isFirst) {
+        sb.append(", ");
+      }
+      if (rowAlias) {
+        sb.append(column.getQName()).append("=n__.").append(column.getQName());
+      } else {
+        sb.append(column.getQName()).append("=VALUES(").append(column.getQName()).append(')');
+      }
+      isFirst = false;
+    }
+    return sb.toString();
+  }
+
+  protected String buildMergeKeyQuery() {
+    var insertables = columns.stream().filter(column -> column.isInsertable(true)).toList();
+    var sb = new TextBuilder().append("MERGE INTO ").append(qTableName);
+
+    sb.append(" (");
+    appendColumns(sb, insertables, null);
+    sb.append(") KEY (");
+    appendColumns(sb, columns.stream().filter(column -> column.isKey()).toList(), null);
+    sb.append(") VALUES (");
+    appendParams(sb, insertables);
+    sb.append(')');
+    return sb.toString();
+  }
+
+  protected String buildMergeQuery(DbType dbType) {
+    var insertables = columns.stream().filter(column -> column.isInsertable(true)).toList();
+    var updatables = columns.stream().filter(column -> column.isUpdatable()).toList();
+    var sb = new TextBuilder().append("MERGE INTO ").append(qTableName);
+
+    // Source
+    if (dbType == DbType.ORACLE) {
+      sb.append(" t__ USING (SELECT ");
+
+      var isFirst = true;
+      for (Column column : insertables) {
+        if (!isFirst) {
+          sb.append(", ");
+        }
+        sb.append(column.getParamName()).append(' ').append(column.getQName());
+        isFirst = false;
+      }
+      sb.append(" FROM DUAL) s__");
+
+    } else {
+      // MSSQL: HOLDLOCK keeps concurrent upserts of the same key from both inserting
+      if (dbType == DbType.MSSQL) {
+        sb.append(" WITH (HOLDLOCK)");
+      }
+      sb.append(" AS t__ USING (VALUES (");
+      appendParams(sb, insertables);
+      sb.append(")) AS s__ (");
+      appendColumns(sb, insertables, null);
+      sb.append(')');
+    }
+
+    // ON
+    sb.append(" ON (");
+    var isFirst = true;
+    for (Column column : columns) {
+      if (column.isKey()) {
+        if (!isFirst) {
+          sb.append(" AND ");
+        }
+        sb.append("t__.").append(column.getQName()).append("=s__.").append(column.getQName());
+        isFirst = false;
+      }
+    }
+    sb.append(')');
+
+    // WHEN MATCHED
+    if (!updatables.isEmpty()) {
+      sb.append(" WHEN MATCHED THEN UPDATE SET ");
+      appendAssignments(sb, updatables, "t__.", "s__.");
+    }
+
+    // WHEN NOT MATCHED
+    sb.append(" WHEN NOT MATCHED THEN INSERT (");
+    appendColumns(sb, insertables, null);
+    sb.append(") VALUES (");
+    appendColumns(sb, insertables, "s__.");
+    sb.append(')');
+
+    // MSSQL requires MERGE to be terminated
+    if (dbType == DbType.MSSQL) {
+      sb.append(';');
+    }
+    return sb.toString();
+  }
+
+  protected static void appendColumns(TextBuilder sb, List<Column> columns, String prefix) {
+    var isFirst = true;
+    for (Column column : columns) {
+      if (!isFirst) {
+        sb.append(", ");
+      }
+      if (prefix != null) {
+        sb.append(prefix);
+      }
+      sb.append(column.getQName());
+      isFirst = false;
+    }
+  }
+
+  protected static void appendParams(TextBuilder sb, List<Column> columns) {
+    var isFirst = true;
+    for (Column column : columns) {
+      if (!isFirst) {
+        sb.append(", ");
+      }
+      sb.append(column.getParamName());
+      isFirst = false;
+    }
+  }
+
+  protected static void appendAssignments(TextBuilder sb, List<Column> columns, String targetPrefix,
+      String sourcePrefix) {
+    var isFirst = true;
+    for (Column column : columns) {
+      if (!isFirst) {
+        sb.append(", ");
+      }
+      if (targetPrefix != null) {
+        sb.append(targetPrefix);
+      }
+      sb.append(column.getQName()).append('=').append(sourcePrefix).append(column.getQName());
+      isFirst = false;
+    }
+  }
+
+  public static String toInParamName(Column column, int index) {
+    return column.getFieldName() + "__" + index;
+  }
+
+  protected String buildGetInQuery(int keys, boolean rowValues) {
+    var keyColumns = columns.stream().filter(column -> column.isKey()).toList();
+    var sb = new TextBuilder().append("SELECT * FROM ").append(qTableName);
+    sb.append(" WHERE ");
+
+    // Single key or row values
+    if (keyColumns.size() == 1 || rowValues) {
+      if (keyColumns.size() == 1) {
+        sb.append(keyColumns.get(0).getQName());
+      } else {
+        sb.append('(');
+        appendColumns(sb, keyColumns, null);
+        sb.append(')');
+      }
+      sb.append(" IN (");
+
+      for (var i = 0; i < keys; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        if (keyColumns.size() > 1) {
+          sb.append('(');
+        }
+        for (var j = 0; j < keyColumns.size(); j++) {
+          if (j > 0) {
+            sb.append(", ");
+          }
+          sb.append(':').append(toInParamName(keyColumns.get(j), i));
+        }
+        if (keyColumns.size() > 1) {
+          sb.append(')');
+        }
+      }
+      sb.append(')');
+      return sb.toString();
+    }
+
+    // OR of key conditions
+    for (var i = 0; i < keys; i++) {
+      if (i > 0) {
+        sb.append(" OR ");
+      }
+      sb.append('(');
+      for (var j = 0; j < keyColumns.size(); j++) {
+        if (j > 0) {
+          sb.append(" AND ");
+        }
+        var column = keyColumns.get(j);
+        sb.append(column.getQName()).append("=:").append(toInParamName(column, i));
+      }
+      sb.append(')');
+    }
+    return sb.toString();
+  }
+
   protected void appendWhereKeyConditions(TextBuilder sqlBuilder) {
     var isFirst = true;
     for (Column column : columns) {
@@ -333,4 +578,26 @@ public class Table extends InitializingObject implements Serializable {
     initialize();
     return existsQuery;
   }
+
+  /**
+   * Returns the query that selects the rows of the given number of keys. The parameters are named by
+   * {@link #toInParamName(Column, int)}.
+   *
+   */
+  public SqlQuery getGetInQuery(int keys, boolean rowValues) {
+    initialize();
+    Arguments.isTrue(keys > 0, "keys must be positive.");
+    Arguments.isTrue(keysCount > 0, "getGetInQuery() is unsupported on the table '{}'. Reason: no keys.", tableName);
+
+    var cacheKey = (keysCount == 1 || !rowValues) ? keys : -keys;
+    return getInQueries.computeIfAbsent(cacheKey, k -> new SqlQuery(buildGetInQuery(keys, rowValues)));
+  }
+
+  public SqlQuery getUpsertQuery(DbType dbType) {
+    initialize();
+    Arguments.notNull(dbType);
+    Arguments.isTrue(keysCount > 0, "upsert is unsupported on the table '{}'. Reason: no keys.", tableName);
+
+    return upsertQueries.computeIfAbsent(dbType, type -> new SqlQuery(buildUpsertQuery(type)));
+  }
 }
@@ -0,0 +1,393 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import com.appslandia.common.base.InitializingObject;
+import com.appslandia.common.base.UncheckedException;
+import com.appslandia.common.jdbc.DbContext;
+import com.appslandia.common.jdbc.ResultSetImpl;
+import com.appslandia.common.jdbc.ResultSetMapper;
+import com.appslandia.common.threading.ThreadFactoryBuilder;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Copies a table from one data source to another. A reader thread streams the source rows with a fetch size into a
+ * bounded queue; the calling thread applies the optional {@link Transformer} and feeds a {@link BulkLoader} whose
+ * writer threads batch-insert the rows into the target table.
+ *
+ * <p>
+ * Only the columns of the target table that also exist in the source table are copied. Values are read as the Java
+ * types that {@link com.appslandia.common.jdbc.SqlTypeMapper} assigns to the target columns.
+ * </p>
+ *
+ * <p>
+ * Identity values are copied as-is. On SQL Server, inserting into an identity column requires
+ * {@code SET IDENTITY_INSERT <table> ON}, which applies to one table per session; enable it on the target connections,
+ * for example with a connection init SQL, or skip the identity column in a {@link Transformer}.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+public class TableCopier extends InitializingObject {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+  public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+  private DataSource sourceDataSource;
+  private DataSource targetDataSource;
+  private String tableName;
+  private String targetTableName;
+
+  private int fetchSize = DbContext.DEFAULT_FETCH_SIZE;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+  private int connections = 1;
+  private boolean allOrNothing;
+
+  private Transformer transformer;
+  private BulkLoader.ProgressListener progressListener;
+
+  @Override
+  protected void init() throws Exception {
+    Arguments.notNull(sourceDataSource);
+    Arguments.notNull(targetDataSource);
+    Arguments.notNull(tableName);
+
+    if (targetTableName == null) {
+      targetTableName = tableName;
+    }
+    Arguments.isTrue(fetchSize > 0, "fetchSize must be positive.");
+    Arguments.isTrue(chunkSize > 0, "chunkSize must be positive.");
+    Arguments.isTrue(queueCapacity > 0, "queueCapacity must be positive.");
+    Arguments.isTrue(connections > 0, "connections must be positive.");
+  }
+
+  /**
+   * Copies the rows and returns the number of inserted rows.
+   *
+   */
+  public long execute() throws Exception {
+    initialize();
+
+    // Target columns
+    Table targetTable;
+    try (var rc = new RecordContext(targetDataSource)) {
+      targetTable = rc.getTable(targetTableName);
+    }
+
+    try (var source = new RecordContext(sourceDataSource, true)) {
+      source.setFetchSize(fetchSize);
+
+      var sourceTable = source.getTable(tableName);
+      List<Column> columns = new ArrayList<>();
+      List<Column> sourceColumns = new ArrayList<>();
+
+      for (Column column : targetTable.getColumns()) {
+        sourceTable.getColumns().stream().filter(c -> c.getName().equalsIgnoreCase(column.getName())).findFirst()
+            .ifPresent(c -> {
+              columns.add(column);
+              sourceColumns.add(c);
+            });
+      }
+      Arguments.isTrue(!columns.isEmpty(), "No common columns between '{}' and '{}'.", tableName, targetTableName);
+
+      var query = toSelectQuery(sourceTable, sourceColumns);
+      var reader = new Reader(source, query, new RowMapper(columns));
+
+      var threadFactory = new ThreadFactoryBuilder().setNameFormat("table-copier-" + tableName + "-%d")
+          .setDaemon(true).build();
+      var readerThread = threadFactory.newThread(reader);
+      readerThread.start();
+
+      try {
+        var loader = new BulkLoader().setDataSource(targetDataSource).setTableName(targetTableName)
+            .setConnections(connections).setChunkSize(chunkSize).setQueueCapacity(queueCapacity)
+            .setAllOrNothing(allOrNothing);
+        if (progressListener != null) {
+          loader.setProgressListener(progressListener);
+        }
+        return loader.execute(new TransformIterator(reader));
+
+      } catch (UncheckedException ex) {
+        throw (Exception) ex.getCause();
+
+      } finally {
+        reader.stopped = true;
+        readerThread.join();
+      }
+    }
+  }
+
+  static String toSelectQuery(Table table, List<Column> columns) {
+    var sb = new StringBuilder("SELECT ");
+    for (var i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(columns.get(i).getQName());
+    }
+    return sb.append(" FROM ").append(table.getQTableName()).toString();
+  }
+
+  static class RowMapper implements ResultSetMapper<DataRecord> {
+    final List<Column> columns;
+    final boolean[] typed;
+
+    RowMapper(List<Column> columns) {
+      this.columns = columns;
+      this.typed = new boolean[columns.size()];
+
+      for (var i = 0; i < typed.length; i++) {
+        typed[i] = columns.get(i).getJavaType() != Object.class;
+      }
+    }
+
+    @Override
+    public DataRecord map(ResultSetImpl rs) throws SQLException {
+      var dataRecord = new DataRecord();
+
+      for (var i = 0; i < typed.length; i++) {
+        var column = columns.get(i);
+        dataRecord.put(column.getName(), getValue(rs, i));
+      }
+      return dataRecord;
+    }
+
+    Object getValue(ResultSetImpl rs, int i) throws SQLException {
+      if (typed[i]) {
+        try {
+          return rs.getObject(i + 1, columns.get(i).getJavaType());
+
+        } catch (SQLException ex) {
+          // The driver can't convert to the target type; pass the value as-is
+          typed[i] = false;
+        }
+      }
+      return rs.getObject(i + 1);
+    }
+  }
+
+  class Reader implements Runnable {
+    static final List<DataRecord> END = List.of();
+
+    final RecordContext source;
+    final String query;
+    final RowMapper mapper;
+
+    final BlockingQueue<List<DataRecord>> queue = new ArrayBlockingQueue<>(queueCapacity);
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    volatile boolean stopped;
+
+    Reader(RecordContext source, String query, RowMapper mapper) {
+      this.source = source;
+      this.query = query;
+      this.mapper = mapper;
+    }
+
+    @Override
+    public void run() {
+      try (var iterator = source.iterator(query, (Map<String, Object>) null, mapper)) {
+        List<DataRecord> chunk = new ArrayList<>(chunkSize);
+
+        while (!stopped && iterator.hasNext()) {
+          chunk.add(iterator.next());
+
+          if (chunk.size() == chunkSize) {
+            put(chunk);
+            chunk = new ArrayList<>(chunkSize);
+          }
+        }
+        if (!chunk.isEmpty()) {
+          put(chunk);
+        }
+      } catch (Exception ex) {
+        failure.compareAndSet(null, ex);
+
+      } finally {
+        try {
+          put(END);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    void put(List<DataRecord> chunk) throws InterruptedException {
+      // Stop blocking once the consumer is gone
+      while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+        if (stopped) {
+          return;
+        }
+      }
+    }
+  }
+
+  class TransformIterator implements Iterator<DataRecord> {
+    final Reader reader;
+    Iterator<DataRecord> chunk = List.<DataRecord>of().iterator();
+    DataRecord next;
+    boolean ended;
+
+    TransformIterator(Reader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && !ended) {
+        if (chunk.hasNext()) {
+          next = transform(chunk.next());
+          continue;
+        }
+        List<DataRecord> records;
+        try {
+          records = reader.queue.take();
+        } catch (InterruptedException ex) {
+          throw new UncheckedException(ex);
+        }
+        if (records == Reader.END) {
+          ended = true;
+
+          if (reader.failure.get() != null) {
+            throw new UncheckedException(reader.failure.get());
+          }
+        } else {
+          chunk = records.iterator();
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public DataRecord next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var result = next;
+      next = null;
+      return result;
+    }
+
+    DataRecord transform(DataRecord dataRecord) {
+      if (transformer == null) {
+        return dataRecord;
+      }
+      try {
+        return transformer.transform(dataRecord);
+
+      } catch (RuntimeException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        throw new UncheckedException(ex);
+      }
+    }
+  }
+
+  public TableCopier setSourceDataSource(DataSource sourceDataSource) {
+    assertNotInitialized();
+    this.sourceDataSource = sourceDataSource;
+    return this;
+  }
+
+  public TableCopier setTargetDataSource(DataSource targetDataSource) {
+    assertNotInitialized();
+    this.targetDataSource = targetDataSource;
+    return this;
+  }
+
+  public TableCopier setTableName(String tableName) {
+    assertNotInitialized();
+    this.tableName = tableName;
+    return this;
+  }
+
+  public TableCopier setTargetTableName(String targetTableName) {
+    assertNotInitialized();
+    this.targetTableName = targetTableName;
+    return this;
+  }
+
+  public TableCopier setFetchSize(int fetchSize) {
+    assertNotInitialized();
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  public TableCopier setChunkSize(int chunkSize) {
+    assertNotInitialized();
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public TableCopier setQueueCapacity(int queueCapacity) {
+    assertNotInitialized();
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
+  public TableCopier setConnections(int connections) {
+    assertNotInitialized();
+    this.connections = connections;
+    return this;
+  }
+
+  public TableCopier setAllOrNothing(boolean allOrNothing) {
+    assertNotInitialized();
+    this.allOrNothing = allOrNothing;
+    return this;
+  }
+
+  public TableCopier setTransformer(Transformer transformer) {
+    assertNotInitialized();
+    this.transformer = transformer;
+    return this;
+  }
+
+  public TableCopier setProgressListener(BulkLoader.ProgressListener progressListener) {
+    assertNotInitialized();
+    this.progressListener = progressListener;
+    return this;
+  }
+
+  @FunctionalInterface
+  public interface Transformer {
+
+    /**
+     * Returns the record to insert, or {@code null} to skip it.
+     *
+     */
+    DataRecord transform(DataRecord dataRecord) throws Exception;
+  }
+}
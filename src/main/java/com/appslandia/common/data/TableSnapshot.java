@@ -0,0 +1,116 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Reads and writes {@link Table} definitions to a versioned file. A snapshot is only returned if its format version
+ * and schema hash match, see {@link RecordUtils#computeSchemaHash}.
+ *
+ * @author Loc Ha
+ *
+ */
+public class TableSnapshot {
+
+  public static final int FORMAT_VERSION = 1;
+
+  static final int MAGIC = 0x54424C53;
+  static final String CLASS_FILTER = "com.appslandia.common.data.*;java.**;!*";
+
+  public static void write(Path file, String schemaHash, Collection<Table> tables) throws IOException {
+    Arguments.notNull(file);
+    Arguments.notNull(schemaHash);
+    Arguments.notNull(tables);
+
+    var parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    // Write to a temporary file then move it to avoid readers seeing a partial snapshot
+    var tmpFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      try (var out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(schemaHash);
+        out.writeInt(tables.size());
+
+        for (Table table : tables) {
+          out.writeObject(table);
+        }
+      }
+      Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * Returns the tables of the given snapshot file, or {@code null} if the file does not exist or was written with
+   * another format version, another schema hash or incompatible classes.
+   *
+   */
+  public static List<Table> read(Path file, String schemaHash) throws IOException {
+    Arguments.notNull(file);
+    Arguments.notNull(schemaHash);
+
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try (var in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      in.setObjectInputFilter(ObjectInputFilter.Config.createFilter(CLASS_FILTER));
+
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !schemaHash.equals(in.readUTF())) {
+        return null;
+      }
+      var count = in.readInt();
+      List<Table> tables = new ArrayList<>(count);
+
+      for (var i = 0; i < count; i++) {
+        tables.add((Table) in.readObject());
+      }
+      return tables;
+
+    } catch (InvalidClassException | StreamCorruptedException | EOFException | ClassNotFoundException
+        | ClassCastException ex) {
+      return null;
+    }
+  }
+}
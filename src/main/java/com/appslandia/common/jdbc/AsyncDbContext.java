@@ -0,0 +1,197 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import javax.sql.DataSource;
+
+import com.appslandia.common.base.FunctionBlock;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Asynchronous facade over {@link DbContext}. Each unit of work runs on its own virtual thread with a connection
+ * borrowed from the data source, so the thread-local current connection never crosses threads. The number of units
+ * of work holding a connection at the same time is bounded. Cancelling a returned future cancels the executing
+ * statements and interrupts the worker thread.
+ *
+ * @author Loc Ha
+ *
+ */
+public class AsyncDbContext {
+
+  public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+  final DataSource dataSource;
+  final Semaphore permits;
+  final ThreadFactory threadFactory;
+
+  public AsyncDbContext(DataSource dataSource) {
+    this(dataSource, DEFAULT_MAX_CONCURRENCY);
+  }
+
+  public AsyncDbContext(DataSource dataSource, int maxConcurrency) {
+    Arguments.notNull(dataSource);
+    Arguments.isTrue(maxConcurrency > 0, "maxConcurrency must be positive.");
+
+    this.dataSource = dataSource;
+    this.permits = new Semaphore(maxConcurrency, true);
+    this.threadFactory = Thread.ofVirtual().name("db-async-", 0).factory();
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public <T> CompletableFuture<List<T>> executeListAsync(String pQuery, Object[] params, ResultSetMapper<T> mapper) {
+    return executeAsync(ctx -> ctx.executeList(pQuery, params, mapper, new ArrayList<>()));
+  }
+
+  public <T> CompletableFuture<List<T>> executeListAsync(String pQuery, Map<String, Object> params,
+      ResultSetMapper<T> mapper) {
+    return executeAsync(ctx -> ctx.executeList(pQuery, params, mapper, new ArrayList<>()));
+  }
+
+  public <T> CompletableFuture<T> executeSingleAsync(String pQuery, Map<String, Object> params,
+      ResultSetMapper<T> mapper) {
+    return executeAsync(ctx -> ctx.executeSingle(pQuery, params, mapper));
+  }
+
+  public CompletableFuture<Integer> executeUpdateAsync(String pQuery, Object... params) {
+    return executeAsync(ctx -> ctx.executeUpdate(pQuery, params));
+  }
+
+  public CompletableFuture<Integer> executeUpdateAsync(String pQuery, Map<String, Object> params) {
+    return executeAsync(ctx -> ctx.executeUpdate(pQuery, params));
+  }
+
+  /**
+   * Runs the given function in a transaction. Pending batches are executed and the transaction is committed when the
+   * function completes normally, otherwise it is rolled back.
+   */
+  public <T> CompletableFuture<T> inTransactionAsync(FunctionBlock<DbContext, T> fn) {
+    Arguments.notNull(fn);
+
+    return executeAsync(ctx -> {
+      ctx.setTransactional(true);
+      try {
+        var result = fn.run(ctx);
+
+        ctx.executeBatch();
+        ctx.commit();
+        return result;
+
+      } catch (Exception ex) {
+        try {
+          ctx.clearBatch();
+          ctx.rollback();
+        } catch (SQLException e) {
+          ex.addSuppressed(e);
+        }
+        throw ex;
+      }
+    });
+  }
+
+  public <T> CompletableFuture<T> executeAsync(FunctionBlock<DbContext, T> fn) {
+    Arguments.notNull(fn);
+
+    var future = new WorkFuture<T>();
+    var thread = threadFactory.newThread(() -> runWork(future, fn));
+
+    future.thread = thread;
+    thread.start();
+    return future;
+  }
+
+  protected <T> void runWork(WorkFuture<T> future, FunctionBlock<DbContext, T> fn) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException ex) {
+      future.completeExceptionally(ex);
+      return;
+    }
+
+    try {
+      if (future.isDone()) {
+        return;
+      }
+      try (var ctx = newDbContext()) {
+        future.ctx = ctx;
+
+        // cancel() may have run before ctx was published
+        if (future.isCancelled()) {
+          return;
+        }
+        future.complete(fn.run(ctx));
+
+      } finally {
+        future.ctx = null;
+      }
+    } catch (Throwable ex) {
+      future.completeExceptionally(ex);
+
+    } finally {
+      permits.release();
+    }
+  }
+
+  protected DbContext newDbContext() throws java.sql.SQLException {
+    return new DbContext(dataSource);
+  }
+
+  static class WorkFuture<T> extends CompletableFuture<T> {
+    volatile Thread thread;
+    volatile DbContext ctx;
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      var cancelled = super.cancel(mayInterruptIfRunning);
+      if (!cancelled) {
+        return false;
+      }
+
+      var ctx = this.ctx;
+      if (ctx != null) {
+        try {
+          ctx.cancel();
+        } catch (SQLException ex) {
+          // Statements may complete or close concurrently
+        }
+      }
+      var thread = this.thread;
+      if (thread != null) {
+        thread.interrupt();
+      }
+      return true;
+    }
+  }
+}
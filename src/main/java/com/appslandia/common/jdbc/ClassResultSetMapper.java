@@ -0,0 +1,321 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.appslandia.common.base.CaseInsensitiveMap;
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.ModelUtils;
+import com.appslandia.common.utils.ObjectUtils;
+import com.appslandia.common.utils.ReflectionException;
+import com.appslandia.common.utils.TypeUtils;
+
+/**
+ * A {@link ResultSetMapper} that maps each row to a record (via its canonical constructor) or a bean (via its
+ * setters). Targets are resolved once per class, column indexes once per {@link ResultSetImpl}.
+ *
+ * @author Loc Ha
+ *
+ */
+public class ClassResultSetMapper<T> implements ResultSetMapper<T> {
+
+  final Class<T> type;
+  final TargetPlan plan;
+
+  protected ClassResultSetMapper(Class<T> type) {
+    this.type = Arguments.notNull(type);
+    plan = PLANS.computeIfAbsent(type, t -> createPlan(t));
+  }
+
+  public static <T> ClassResultSetMapper<T> of(Class<T> type) {
+    return new ClassResultSetMapper<>(type);
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  @Override
+  public T map(ResultSetImpl rs) throws java.sql.SQLException {
+    var binding = (ColumnBinding) rs.getMapperBinding(plan);
+    if (binding == null) {
+      binding = bind(plan, rs.getColumns());
+      rs.putMapperBinding(plan, binding);
+    }
+    return ObjectUtils.cast(binding.map(rs));
+  }
+
+  // Plans
+
+  static class Target {
+    final String name;
+    final Class<?> type;
+    final MethodHandle setter;
+
+    Target(String name, Class<?> type, MethodHandle setter) {
+      this.name = name;
+      this.type = type;
+      this.setter = setter;
+    }
+  }
+
+  static class TargetPlan {
+    final boolean isRecord;
+    final MethodHandle ctor;
+    final Target[] targets;
+
+    TargetPlan(boolean isRecord, MethodHandle ctor, Target[] targets) {
+      this.isRecord = isRecord;
+      this.ctor = ctor;
+      this.targets = targets;
+    }
+  }
+
+  static TargetPlan createPlan(Class<?> type) {
+    Arguments.isTrue(!type.isInterface() && !Modifier.isAbstract(type.getModifiers()),
+        "The type '{}' must be a concrete class.", type.getName());
+    try {
+      if (type.isRecord()) {
+        var components = type.getRecordComponents();
+        var paramTypes = Arrays.stream(components).map(c -> c.getType()).toArray(Class<?>[]::new);
+
+        var ctor = unreflect(type.getDeclaredConstructor(paramTypes));
+        ctor = ctor.asType(ctor.type().generic()).asSpreader(Object[].class, components.length);
+
+        var targets = Arrays.stream(components).map(c -> new Target(c.getName(), c.getType(), null))
+            .toArray(Target[]::new);
+        return new TargetPlan(true, ctor, targets);
+      }
+
+      var ctor = unreflect(type.getDeclaredConstructor());
+      ctor = ctor.asType(MethodType.methodType(Object.class));
+
+      List<Target> targets = new ArrayList<>();
+      for (PropertyDescriptor pd : ModelUtils.getBeanInfo(type).getPropertyDescriptors()) {
+        var writeMethod = pd.getWriteMethod();
+        if (writeMethod == null) {
+          continue;
+        }
+        var setter = unreflect(writeMethod).asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        targets.add(new Target(pd.getName(), pd.getPropertyType(), setter));
+      }
+      return new TargetPlan(false, ctor, targets.toArray(Target[]::new));
+
+    } catch (ReflectiveOperationException ex) {
+      throw new ReflectionException(ex);
+    }
+  }
+
+  static MethodHandle unreflect(java.lang.reflect.Constructor<?> ctor) throws IllegalAccessException {
+    try {
+      return MethodHandles.lookup().unreflectConstructor(ctor);
+
+    } catch (IllegalAccessException ex) {
+      ((AccessibleObject) ctor).setAccessible(true);
+      return MethodHandles.lookup().unreflectConstructor(ctor);
+    }
+  }
+
+  static MethodHandle unreflect(java.lang.reflect.Method method) throws IllegalAccessException {
+    try {
+      return MethodHandles.lookup().unreflect(method);
+
+    } catch (IllegalAccessException ex) {
+      method.setAccessible(true);
+      return MethodHandles.lookup().unreflect(method);
+    }
+  }
+
+  // Bindings
+
+  static ColumnBinding bind(TargetPlan plan, List<ResultSetColumn> columns) {
+    Map<String, ResultSetColumn> columnsMap = new CaseInsensitiveMap<>();
+    for (ResultSetColumn column : columns) {
+      columnsMap.putIfAbsent(column.getName(), column);
+      columnsMap.putIfAbsent(column.getName().replace("_", ""), column);
+    }
+
+    var indexes = new int[plan.targets.length];
+    var readers = new ColumnReader[plan.targets.length];
+
+    for (var i = 0; i < plan.targets.length; i++) {
+      var target = plan.targets[i];
+      var column = columnsMap.get(target.name);
+
+      if (column != null) {
+        indexes[i] = column.getIndex();
+        readers[i] = toReader(target.type, column.getSqlType());
+      }
+    }
+    return new ColumnBinding(plan, indexes, readers);
+  }
+
+  static class ColumnBinding {
+    final TargetPlan plan;
+    final int[] indexes;
+    final ColumnReader[] readers;
+
+    ColumnBinding(TargetPlan plan, int[] indexes, ColumnReader[] readers) {
+      this.plan = plan;
+      this.indexes = indexes;
+      this.readers = readers;
+    }
+
+    Object map(ResultSetImpl rs) throws SQLException {
+      var targets = plan.targets;
+      try {
+        if (plan.isRecord) {
+          var args = new Object[targets.length];
+
+          for (var i = 0; i < targets.length; i++) {
+            if (indexes[i] == 0) {
+              args[i] = TypeUtils.defaultValue(targets[i].type);
+              continue;
+            }
+            var value = readers[i].read(rs, indexes[i]);
+            if (value == null && targets[i].type.isPrimitive()) {
+              throw rs.assertNotNull(targets[i].name);
+            }
+            args[i] = value;
+          }
+          return (Object) plan.ctor.invokeExact(args);
+        }
+
+        var bean = (Object) plan.ctor.invokeExact();
+        for (var i = 0; i < targets.length; i++) {
+          if (indexes[i] == 0) {
+            continue;
+          }
+          var value = readers[i].read(rs, indexes[i]);
+          if (value == null && targets[i].type.isPrimitive()) {
+            continue;
+          }
+          targets[i].setter.invokeExact(bean, value);
+        }
+        return bean;
+
+      } catch (SQLException | RuntimeException | Error ex) {
+        throw ex;
+
+      } catch (Throwable ex) {
+        throw new ReflectionException(new InvocationTargetException(ex));
+      }
+    }
+  }
+
+  // Readers
+
+  @FunctionalInterface
+  interface ColumnReader {
+
+    Object read(ResultSetImpl rs, int columnIndex) throws SQLException;
+  }
+
+  static ColumnReader toReader(Class<?> targetType, int sqlType) {
+    var type = TypeUtils.wrap(targetType);
+
+    if (type == Object.class) {
+      var javaType = SqlTypeMapper.getJavaType(sqlType);
+      return (javaType != Object.class) ? toReader(javaType, sqlType) : (rs, idx) -> rs.getObject(idx);
+    }
+    if (type == String.class) {
+      return (rs, idx) -> rs.getString(idx);
+    }
+    if (type == Boolean.class) {
+      return (rs, idx) -> {
+        var value = rs.getBoolean(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == Byte.class) {
+      return (rs, idx) -> {
+        var value = rs.getByte(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == Short.class) {
+      return (rs, idx) -> {
+        var value = rs.getShort(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == Integer.class) {
+      return (rs, idx) -> {
+        var value = rs.getInt(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == Long.class) {
+      return (rs, idx) -> {
+        var value = rs.getLong(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == Float.class) {
+      return (rs, idx) -> {
+        var value = rs.getFloat(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == Double.class) {
+      return (rs, idx) -> {
+        var value = rs.getDouble(idx);
+        return !rs.wasNull() ? value : null;
+      };
+    }
+    if (type == BigDecimal.class) {
+      return (rs, idx) -> rs.getBigDecimal(idx);
+    }
+    if (type == byte[].class) {
+      return (rs, idx) -> rs.getBytes(idx);
+    }
+    if (type.isEnum()) {
+      return (rs, idx) -> {
+        var value = rs.getString(idx);
+        return (value != null) ? toEnum(type, value) : null;
+      };
+    }
+    return (rs, idx) -> rs.getObject(idx, type);
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static Object toEnum(Class<?> enumType, String value) {
+    return Enum.valueOf((Class<? extends Enum>) enumType, value);
+  }
+
+  private static final ConcurrentMap<Class<?>, TargetPlan> PLANS = new ConcurrentHashMap<>();
+}
@@ -0,0 +1,92 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.List;
+
+/**
+ * Case-insensitive column label to index table, built once per result set. Labels are stored in an open-addressing
+ * table sized to keep probes short; the first column wins on duplicate labels, as with
+ * {@link java.sql.ResultSet#findColumn(String)}.
+ *
+ * @author Loc Ha
+ *
+ */
+public class ColumnLabelIndex {
+
+  final String[] labels;
+  final int[] indexes;
+  final int mask;
+
+  public ColumnLabelIndex(List<ResultSetColumn> columns) {
+    var capacity = Integer.highestOneBit(Math.max(columns.size(), 1) * 4 - 1) << 1;
+
+    labels = new String[capacity];
+    indexes = new int[capacity];
+    mask = capacity - 1;
+
+    for (ResultSetColumn column : columns) {
+      var slot = hash(column.getName()) & mask;
+
+      while (labels[slot] != null) {
+        if (labels[slot].equalsIgnoreCase(column.getName())) {
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (labels[slot] == null) {
+        labels[slot] = column.getName();
+        indexes[slot] = column.getIndex();
+      }
+    }
+  }
+
+  // 0: Not found
+  public int indexOf(String label) {
+    var slot = hash(label) & mask;
+    String lbl;
+
+    while ((lbl = labels[slot]) != null) {
+      if (lbl.equalsIgnoreCase(label)) {
+        return indexes[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return 0;
+  }
+
+  static int hash(String label) {
+    var h = 0;
+    for (var i = 0; i < label.length(); i++) {
+      var c = label.charAt(i);
+
+      if (c < 128) {
+        if (c >= 'A' && c <= 'Z') {
+          c += 32;
+        }
+      } else {
+        c = Character.toLowerCase(Character.toUpperCase(c));
+      }
+      h = 31 * h + c;
+    }
+    return h ^ (h >>> 16);
+  }
+}
@@ -52,6 +52,10 @@ public class ConnectionImpl implements Connection {
   protected final String dataSourceId;
 
   protected ConnectionImpl outer;
+  protected QueryMetrics metrics;
+
+  // Open statements that may be cancelled from another thread; removed as they are closed
+  protected final Set<Statement> statements = ConcurrentHashMap.newKeySet();
 
   public ConnectionImpl(DataSource dataSource) throws java.sql.SQLException {
     this(dataSource, null);
@@ -64,7 +68,14 @@ public class ConnectionImpl implements Connection {
     }
 
     conn = dataSource.getConnection();
-    this.dataSourceId = dataSourceId;
+
+    // A DataSourceWrapper passed as DataSource still provides its name and metrics
+    if (dataSource instanceof DataSourceWrapper wrapper) {
+      this.dataSourceId = (dataSourceId != null) ? dataSourceId : wrapper.getName();
+      metrics = wrapper.getMetrics();
+    } else {
+      this.dataSourceId = dataSourceId;
+    }
 
     CONNECTION_HOLDER.set(this);
   }
@@ -73,46 +84,101 @@ public class ConnectionImpl implements Connection {
     this(dataSource, dataSource.getName());
   }
 
+  public QueryMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(QueryMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  protected PreparedStatementImpl instrument(PreparedStatementImpl stat, String sql) {
+    if (metrics != null) {
+      stat.metric = metrics.getMetric(sql);
+    }
+    stat.owner = this;
+    return register(stat);
+  }
+
+  protected <S extends Statement> S register(S stat) {
+    statements.add(stat);
+    return stat;
+  }
+
+  // Called when a statement created by this connection is closed
+  void unregister(Statement stat) {
+    statements.remove(stat);
+  }
+
+  /**
+   * Cancels the statements created by this connection that are still open. Unlike other methods, this one may be
+   * called from another thread.
+   */
+  public void cancel() throws java.sql.SQLException {
+    SQLException err = null;
+    for (Statement stat : statements) {
+      try {
+        if (!stat.isClosed()) {
+          stat.cancel();
+        }
+      } catch (SQLException e) {
+        if (err == null) {
+          err = e;
+        } else {
+          err.addSuppressed(e);
+        }
+      }
+    }
+    if (err != null) {
+      throw err;
+    }
+  }
+
   // PrepareStatement utilities
 
   public PreparedStatementImpl prepareStatement(SqlQuery pQuery) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(pQuery.getTranslatedQuery()), pQuery, getDbDialect());
+    var sql = pQuery.getTranslatedQuery();
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql), pQuery, getDbDialect()), sql);
   }
 
   public PreparedStatementImpl prepareStatement(SqlQuery pQuery, boolean autoGeneratedKeys)
       throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(pQuery.getTranslatedQuery(),
-        autoGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS), pQuery, getDbDialect());
+    var sql = pQuery.getTranslatedQuery();
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql,
+        autoGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS), pQuery, getDbDialect()),
+        sql);
   }
 
   public PreparedStatementImpl prepareStatement(SqlQuery pQuery, int[] columnIndexes) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(pQuery.getTranslatedQuery(), columnIndexes), pQuery,
-        getDbDialect());
+    var sql = pQuery.getTranslatedQuery();
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, columnIndexes), pQuery, getDbDialect()),
+        sql);
   }
 
   public PreparedStatementImpl prepareStatement(SqlQuery pQuery, String[] columnNames) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(pQuery.getTranslatedQuery(), columnNames), pQuery,
-        getDbDialect());
+    var sql = pQuery.getTranslatedQuery();
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, columnNames), pQuery, getDbDialect()), sql);
   }
 
   public PreparedStatementImpl prepareStatement(SqlQuery pQuery, int resultSetType, int resultSetConcurrency)
       throws java.sql.SQLException {
-    return new PreparedStatementImpl(
-        conn.prepareStatement(pQuery.getTranslatedQuery(), resultSetType, resultSetConcurrency), pQuery,
-        getDbDialect());
+    var sql = pQuery.getTranslatedQuery();
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, resultSetType, resultSetConcurrency), pQuery,
+        getDbDialect()), sql);
   }
 
   public PreparedStatementImpl prepareStatement(SqlQuery pQuery, int resultSetType, int resultSetConcurrency,
       int resultSetHoldability) throws java.sql.SQLException {
-    return new PreparedStatementImpl(
-        conn.prepareStatement(pQuery.getTranslatedQuery(), resultSetType, resultSetConcurrency, resultSetHoldability),
-        pQuery, getDbDialect());
+    var sql = pQuery.getTranslatedQuery();
+    return instrument(new PreparedStatementImpl(
+        conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), pQuery, getDbDialect()),
+        sql);
   }
 
   // Update Utilities
 
   public int executeUpdate(String sql) throws java.sql.SQLException {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       return stat.executeUpdate(sql);
     }
   }
@@ -140,7 +206,7 @@ public class ConnectionImpl implements Connection {
 
   public <K, V> Map<K, V> executeMap(String sql, ResultSetMapper<K> keyMapper, ResultSetMapper<V> valueMapper,
       Map<K, V> map) throws java.sql.SQLException {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         return JdbcUtils.executeMap(rs, keyMapper, valueMapper, map);
@@ -181,7 +247,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public <V> Set<V> executeSet(String sql, ResultSetMapper<V> valueMapper, Set<V> set) throws java.sql.SQLException {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         return JdbcUtils.executeSet(rs, valueMapper, set);
@@ -222,7 +288,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public <T> List<T> executeList(String sql, ResultSetMapper<T> mapper, List<T> list) throws java.sql.SQLException {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         return JdbcUtils.executeList(rs, mapper, list);
@@ -259,7 +325,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public <T> T executeSingle(String sql, ResultSetMapper<T> mapper) throws java.sql.SQLException {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         return JdbcUtils.executeSingle(rs, mapper);
@@ -297,7 +363,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public <T> T executeScalar(String sql, Class<T> type) throws java.sql.SQLException {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = stat.executeQuery(sql)) {
 
         return JdbcUtils.executeScalar(rs, type);
@@ -322,7 +388,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public void executeQuery(String sql, ResultSetHandler handler) throws Exception {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         while (rs.next()) {
@@ -352,7 +418,7 @@ public class ConnectionImpl implements Connection {
 
   public void executeStream(String sql, String streamLabel, OutputStream out, ResultSetHandler handler)
       throws Exception {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         JdbcUtils.executeStream(rs, streamLabel, out, handler);
@@ -379,7 +445,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public void executeStream(String sql, String streamLabel, Writer out, ResultSetHandler handler) throws Exception {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         JdbcUtils.executeStream(rs, streamLabel, out, handler);
@@ -406,7 +472,7 @@ public class ConnectionImpl implements Connection {
   }
 
   public void executeNStream(String sql, String streamLabel, Writer out, ResultSetHandler handler) throws Exception {
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = new ResultSetImpl(stat.executeQuery(sql))) {
 
         JdbcUtils.executeNStream(rs, streamLabel, out, handler);
@@ -494,7 +560,7 @@ public class ConnectionImpl implements Connection {
     var sql = STR.fmt("SELECT DISTINCT {} FROM {}", dbDialect.quoteIdentifier(columnLabel),
         dbDialect.quoteIdentifier(tableName));
 
-    try (var stat = conn.createStatement()) {
+    try (var stat = createStatement()) {
       try (var rs = stat.executeQuery(sql)) {
         return JdbcUtils.getDistinctValues(rs, columnLabel);
       }
@@ -522,35 +588,36 @@ public class ConnectionImpl implements Connection {
 
   @Override
   public PreparedStatementImpl prepareStatement(String sql) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(sql));
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql)), sql);
   }
 
   @Override
   public PreparedStatementImpl prepareStatement(String sql, int autoGeneratedKeys) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(sql, autoGeneratedKeys));
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, autoGeneratedKeys)), sql);
   }
 
   @Override
   public PreparedStatementImpl prepareStatement(String sql, int[] columnIndexes) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(sql, columnIndexes));
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, columnIndexes)), sql);
   }
 
   @Override
   public PreparedStatementImpl prepareStatement(String sql, String[] columnNames) throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(sql, columnNames));
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, columnNames)), sql);
   }
 
   @Override
   public PreparedStatementImpl prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
       throws java.sql.SQLException {
-    return new PreparedStatementImpl(conn.prepareStatement(sql, resultSetType, resultSetConcurrency));
+    return instrument(new PreparedStatementImpl(conn.prepareStatement(sql, resultSetType, resultSetConcurrency)),
+        sql);
   }
 
   @Override
   public PreparedStatementImpl prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
       int resultSetHoldability) throws java.sql.SQLException {
-    return new PreparedStatementImpl(
-        conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    return instrument(new PreparedStatementImpl(
+        conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability)), sql);
   }
 
   @Override
@@ -580,18 +647,19 @@ public class ConnectionImpl implements Connection {
 
   @Override
   public java.sql.Statement createStatement() throws java.sql.SQLException {
-    return conn.createStatement();
+    return register(new StatementImpl(conn.createStatement(), this));
   }
 
   @Override
   public java.sql.Statement createStatement(int resultSetType, int resultSetConcurrency) throws java.sql.SQLException {
-    return conn.createStatement(resultSetType, resultSetConcurrency);
+    return register(new StatementImpl(conn.createStatement(resultSetType, resultSetConcurrency), this));
   }
 
   @Override
   public java.sql.Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
       throws java.sql.SQLException {
-    return conn.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    return register(
+        new StatementImpl(conn.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability), this));
   }
 
   @Override
@@ -785,6 +853,7 @@ public class ConnectionImpl implements Connection {
     if (!closed) {
       var outer = this.outer;
       conn.close();
+      statements.clear();
 
       this.outer = null;
       CONNECTION_HOLDER.set(outer);
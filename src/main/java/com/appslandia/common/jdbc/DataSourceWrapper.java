@@ -36,6 +36,7 @@ public class DataSourceWrapper implements DataSource {
 
   private DataSource ds;
   private String name;
+  private QueryMetrics metrics;
 
   public DataSourceWrapper(DataSource ds) {
     this(ds, null);
@@ -50,6 +51,15 @@ public class DataSourceWrapper implements DataSource {
     return name;
   }
 
+  public QueryMetrics getMetrics() {
+    return metrics;
+  }
+
+  public DataSourceWrapper setMetrics(QueryMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
   // javax.sql.DataSource
 
   @Override
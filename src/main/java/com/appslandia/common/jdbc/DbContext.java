@@ -20,14 +20,21 @@
 
 package com.appslandia.common.jdbc;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -35,11 +42,20 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
+import com.appslandia.common.base.CaseInsensitiveMap;
 import com.appslandia.common.base.DangerTaskConfirm;
+import com.appslandia.common.utils.Arguments;
 import com.appslandia.common.utils.Asserts;
+import com.appslandia.common.utils.ObjectUtils;
+import com.appslandia.common.utils.STR;
 
 /**
  *
@@ -48,13 +64,37 @@ import com.appslandia.common.utils.Asserts;
  */
 public class DbContext implements AutoCloseable {
 
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+  // A typical value for setBatchMaxRows; batches are not flushed automatically by default
+  public static final int DEFAULT_BATCH_MAX_ROWS = 1000;
+
+  public static final int DEFAULT_STREAM_WRITERS = 4;
+
   protected final ConnectionImpl conn;
   protected final boolean bakAutoCommit;
   protected final boolean internalConn;
+  protected boolean readOnly;
 
   protected final Map<String, PreparedStatementImpl> stats = new LinkedHashMap<>();
   protected final Set<String> bQueries = new LinkedHashSet<>();
 
+  protected final Map<String, MultiRowInsert> mrInserts = new HashMap<>();
+  protected final Map<String, List<Object[]>> bRows = new HashMap<>();
+  protected final Map<String, List<GeneratedKeyHandler>> bKeys = new HashMap<>();
+  protected final Map<String, String> keyColumns = new HashMap<>();
+
+  protected int fetchSize = DEFAULT_FETCH_SIZE;
+  protected int batchMaxRows;
+  protected long batchMaxBytes;
+  protected boolean multiRowInsert = true;
+  protected BatchListener batchListener;
+
+  protected QueryCache queryCache;
+  protected final Set<String> writtenTables = new HashSet<>();
+
+  protected int batchRows;
+  protected long batchBytes;
+
   /**
    * Constructs a DbContext using the current SQL connection provided by
    * {@link com.appslandia.common.jdbc.ConnectionImpl#getCurrent()} as the underlying connection.
@@ -68,6 +108,48 @@ public class DbContext implements AutoCloseable {
     this(new ConnectionImpl(dataSource), true);
   }
 
+  /**
+   * Constructs a DbContext for read-only work. The connection is set read-only until this context is closed. With a
+   * {@link RoutingDataSource}, also wrapped in a {@link DataSourceWrapper}, the connection is taken from a replica.
+   *
+   */
+  public DbContext(DataSource dataSource, boolean readOnly) throws java.sql.SQLException {
+    this(new ConnectionImpl(toDataSource(dataSource, readOnly)), true);
+
+    if (readOnly) {
+      try {
+        conn.setReadOnly(true);
+      } catch (SQLException ex) {
+        try {
+          conn.close();
+        } catch (SQLException e) {
+          ex.addSuppressed(e);
+        }
+        throw ex;
+      }
+      this.readOnly = true;
+    }
+  }
+
+  static DataSource toDataSource(DataSource dataSource, boolean readOnly) throws java.sql.SQLException {
+    if (!readOnly) {
+      return dataSource;
+    }
+    if (dataSource instanceof RoutingDataSource routing) {
+      return routing.getReadDataSource();
+    }
+    if (dataSource.isWrapperFor(RoutingDataSource.class)) {
+      var routing = dataSource.unwrap(RoutingDataSource.class);
+
+      // Keep the name and metrics of the wrapper
+      if (dataSource instanceof DataSourceWrapper wrapper) {
+        return new DataSourceWrapper(routing.getReadDataSource(), wrapper.getName()).setMetrics(wrapper.getMetrics());
+      }
+      return routing.getReadDataSource();
+    }
+    return dataSource;
+  }
+
   public DbContext(ConnectionImpl conn) throws java.sql.SQLException {
     this(conn, false);
   }
@@ -82,6 +164,68 @@ public class DbContext implements AutoCloseable {
     return conn;
   }
 
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    Arguments.isTrue(fetchSize >= 0, "fetchSize must be non-negative.");
+    this.fetchSize = fetchSize;
+  }
+
+  public int getBatchMaxRows() {
+    return batchMaxRows;
+  }
+
+  /**
+   * Sets the number of batched rows that triggers {@link #executeBatch()} automatically. Zero, the default, disables
+   * it.
+   */
+  public void setBatchMaxRows(int batchMaxRows) {
+    Arguments.isTrue(batchMaxRows >= 0, "batchMaxRows must be non-negative.");
+    this.batchMaxRows = batchMaxRows;
+  }
+
+  public long getBatchMaxBytes() {
+    return batchMaxBytes;
+  }
+
+  /**
+   * Sets the estimated size of batched parameters that triggers {@link #executeBatch()} automatically. Zero disables
+   * it.
+   */
+  public void setBatchMaxBytes(long batchMaxBytes) {
+    Arguments.isTrue(batchMaxBytes >= 0, "batchMaxBytes must be non-negative.");
+    this.batchMaxBytes = batchMaxBytes;
+  }
+
+  public boolean isMultiRowInsert() {
+    return multiRowInsert;
+  }
+
+  /**
+   * Enables rewriting batched single-row INSERTs into multi-row INSERTs on dialects that benefit from it.
+   */
+  public void setMultiRowInsert(boolean multiRowInsert) {
+    this.multiRowInsert = multiRowInsert;
+  }
+
+  public QueryCache getQueryCache() {
+    return queryCache;
+  }
+
+  public void setQueryCache(QueryCache queryCache) {
+    this.queryCache = queryCache;
+  }
+
+  public BatchListener getBatchListener() {
+    return batchListener;
+  }
+
+  public void setBatchListener(BatchListener batchListener) {
+    this.batchListener = batchListener;
+  }
+
   // Update Utilities
 
   public int executeUpdate(String sql) throws java.sql.SQLException {
@@ -101,13 +245,12 @@ public class DbContext implements AutoCloseable {
   }
 
   public int executeUpdate(String pQuery, Map<String, Object> params, boolean addBatch) throws java.sql.SQLException {
-    var stat = prepareStatement(pQuery, params);
-
     if (!addBatch) {
+      var stat = prepareStatement(pQuery, params);
       return stat.executeUpdate();
 
     } else {
-      addBatch(stat, pQuery);
+      addBatch(new SqlQuery(pQuery), params, false);
       return -1;
     }
   }
@@ -212,6 +355,149 @@ public class DbContext implements AutoCloseable {
     }
   }
 
+  public <T> List<T> executeList(String pQuery, Object[] params, long offset, int limit, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    return executeList(pQuery, JdbcUtils.toParameters(params), offset, limit, mapper);
+  }
+
+  public <T> List<T> executeList(String pQuery, Map<String, Object> params, long offset, int limit,
+      ResultSetMapper<T> mapper) throws java.sql.SQLException {
+    Arguments.isTrue(offset >= 0, "offset must be non-negative.");
+    Arguments.isTrue(limit > 0, "limit must be positive.");
+
+    // SqlQuery lower-cases parameter names
+    Map<String, Object> pageParams = new CaseInsensitiveMap<>();
+    if (params != null) {
+      pageParams.putAll(params);
+    }
+    pageParams.put(DbDialect.PARAM_PAGE_LIMIT, limit);
+
+    if (offset > 0) {
+      pageParams.put(DbDialect.PARAM_PAGE_OFFSET, offset);
+    }
+    var pageQuery = conn.getDbDialect().toPageQuery(pQuery, offset > 0);
+    return executeList(pageQuery, pageParams, mapper, new ArrayList<>(limit));
+  }
+
+  public <T> KeysetPage<T> executePage(KeysetQuery query, Object[] params, KeysetToken token, int limit,
+      ResultSetMapper<T> mapper) throws java.sql.SQLException {
+    return executePage(query, JdbcUtils.toParameters(params), token, limit, mapper);
+  }
+
+  public <T> KeysetPage<T> executePage(KeysetQuery query, Map<String, Object> params, KeysetToken token, int limit,
+      ResultSetMapper<T> mapper) throws java.sql.SQLException {
+    Arguments.isTrue(limit > 0, "limit must be positive.");
+    var keys = query.getKeys();
+
+    Map<String, Object> pageParams = new CaseInsensitiveMap<>();
+    if (params != null) {
+      pageParams.putAll(params);
+    }
+    if (token != null) {
+      Arguments.isTrue(token.keyValues.length == keys.size(), "The token doesn't match the keys of the query.");
+
+      for (var i = 0; i < keys.size(); i++) {
+        pageParams.put(KeysetQuery.toKeyParam(i), token.keyValues[i]);
+      }
+    }
+
+    // Fetch one more row to know whether there is a next page
+    pageParams.put(DbDialect.PARAM_PAGE_LIMIT, limit + 1);
+
+    var pageQuery = conn.getDbDialect().toPageQuery(query.getQuery(token != null), false);
+    var stat = prepareStatement(pageQuery, pageParams);
+
+    List<T> items = new ArrayList<>(limit);
+    Object[] lastKeys = null;
+
+    try (var rs = stat.executeQuery()) {
+      while (rs.next()) {
+        if (items.size() == limit) {
+          return new KeysetPage<>(items, new KeysetToken(lastKeys));
+        }
+        items.add(mapper.map(rs));
+
+        if (items.size() == limit) {
+          lastKeys = new Object[keys.size()];
+          for (var i = 0; i < keys.size(); i++) {
+            lastKeys[i] = rs.getObject(keys.get(i));
+          }
+        }
+      }
+    }
+    return new KeysetPage<>(items, null);
+  }
+
+  /**
+   * Executes the query through the query cache if one is set. The returned list is unmodifiable and shared by
+   * callers.
+   */
+  public <T> List<T> executeListCached(String pQuery, Map<String, Object> params, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    if (!isCacheable(pQuery)) {
+      return Collections.unmodifiableList(executeList(pQuery, params, mapper));
+    }
+    List<T> list = ObjectUtils.cast(queryCache.get(pQuery, params));
+    if (list != null) {
+      return list;
+    }
+    var versions = queryCache.getVersions(pQuery);
+    list = Collections.unmodifiableList(executeList(pQuery, params, mapper));
+
+    queryCache.put(pQuery, params, list, versions);
+    return list;
+  }
+
+  /**
+   * Executes the query through the query cache if one is set. The returned value is shared by callers.
+   */
+  public <T> T executeSingleCached(String pQuery, Map<String, Object> params, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    var list = executeListCached(pQuery, params, mapper);
+
+    if (list.size() > 1) {
+      throw new JdbcNonUniqueResultException();
+    }
+    return list.isEmpty() ? null : list.get(0);
+  }
+
+  protected boolean isCacheable(String pQuery) {
+    if (queryCache == null || !queryCache.isCacheable(pQuery)) {
+      return false;
+    }
+    // Reads of tables written in the current transaction bypass the cache
+    if (!writtenTables.isEmpty()) {
+      for (String table : queryCache.getTables(pQuery)) {
+        if (writtenTables.contains(table)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Called before the given table is written. In a transaction, the table is invalidated by {@link #commit()};
+   * otherwise it's invalidated now and again by {@link #onTableWritten(String)} once the write has executed, so that a
+   * read racing with the write can't cache the old rows.
+   */
+  protected void onTableWrite(String tableName) throws java.sql.SQLException {
+    if (queryCache == null) {
+      return;
+    }
+    if (!conn.getAutoCommit()) {
+      writtenTables.add(QueryCache.toTableKey(tableName));
+    } else {
+      queryCache.invalidateLocal(tableName);
+    }
+  }
+
+  protected void onTableWritten(String tableName) throws java.sql.SQLException {
+    if (queryCache != null && conn.getAutoCommit()) {
+      queryCache.invalidate(tableName);
+    }
+  }
+
   public <T> T executeSingle(String sql, ResultSetMapper<T> mapper) throws java.sql.SQLException {
     return conn.executeSingle(sql, mapper);
   }
@@ -275,6 +561,67 @@ public class DbContext implements AutoCloseable {
     }
   }
 
+  public <T> Stream<T> stream(String pQuery, Object[] params, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    return stream(pQuery, JdbcUtils.toParameters(params), mapper);
+  }
+
+  /**
+   * Executes the given query and returns a lazily populated stream backed by an open result set. The stream must be
+   * closed to release the underlying statement and result set.
+   *
+   */
+  public <T> Stream<T> stream(String pQuery, Map<String, Object> params, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    return iterator(pQuery, params, mapper).stream();
+  }
+
+  public <T> ResultSetIterator<T> iterator(String pQuery, Object[] params, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    return iterator(pQuery, JdbcUtils.toParameters(params), mapper);
+  }
+
+  public <T> ResultSetIterator<T> iterator(String pQuery, Map<String, Object> params, ResultSetMapper<T> mapper)
+      throws java.sql.SQLException {
+    Arguments.notNull(mapper);
+
+    var query = new SqlQuery(pQuery);
+    var dbDialect = conn.getDbDialect();
+
+    var autoCommitOff = dbDialect.isStreamAutoCommitOff() && conn.getAutoCommit();
+    if (autoCommitOff) {
+      conn.setAutoCommit(false);
+    }
+
+    PreparedStatementImpl stat = null;
+    try {
+      stat = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      stat.setFetchSize(dbDialect.toStreamFetchSize(fetchSize));
+
+      if (params != null) {
+        JdbcUtils.setParameters(stat, query, params);
+      }
+      return new ResultSetIterator<>(stat, stat.executeQuery(), mapper, autoCommitOff ? conn : null);
+
+    } catch (SQLException ex) {
+      if (stat != null) {
+        try {
+          stat.close();
+        } catch (SQLException e) {
+          ex.addSuppressed(e);
+        }
+      }
+      if (autoCommitOff) {
+        try {
+          conn.setAutoCommit(true);
+        } catch (SQLException e) {
+          ex.addSuppressed(e);
+        }
+      }
+      throw ex;
+    }
+  }
+
   public void executeStream(String sql, String streamLabel, OutputStream out, ResultSetHandler handler)
       throws Exception {
     conn.executeStream(sql, streamLabel, out, handler);
@@ -294,6 +641,108 @@ public class DbContext implements AutoCloseable {
     }
   }
 
+  public long executeStream(String pQuery, Object[] params, String streamLabel, WritableByteChannel out,
+      ResultSetHandler handler) throws Exception {
+    return executeStream(pQuery, JdbcUtils.toParameters(params), streamLabel, out, handler);
+  }
+
+  public long executeStream(String pQuery, Map<String, Object> params, String streamLabel, WritableByteChannel out,
+      ResultSetHandler handler) throws Exception {
+    var stat = prepareStatement(pQuery, params);
+
+    try (var rs = stat.executeQuery()) {
+      return JdbcUtils.executeStream(rs, streamLabel, out, handler);
+    }
+  }
+
+  public long executeStream(String pQuery, Map<String, Object> params, String streamLabel, Path file,
+      ResultSetHandler handler) throws Exception {
+    try (var ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      return executeStream(pQuery, params, streamLabel, ch, handler);
+    }
+  }
+
+  public long executeStreams(String pQuery, Map<String, Object> params, String streamLabel,
+      ResultSetMapper<Path> fileMapper) throws Exception {
+    return executeStreams(pQuery, params, streamLabel, fileMapper, DEFAULT_STREAM_WRITERS);
+  }
+
+  /**
+   * Streams the binary column of each row to the file returned by the given mapper. Rows are read through
+   * {@link #iterator(String, Map, ResultSetMapper)}, so the result set isn't buffered by the driver. The column is read
+   * on this thread and the files are written concurrently by at most {@code maxWriters} virtual threads, so at most
+   * {@code maxWriters + 1} column values are held in memory. A row is skipped if it is mapped to {@code null} or the
+   * column is null; missing parent directories are created.
+   *
+   * @return the number of files written.
+   */
+  public long executeStreams(String pQuery, Map<String, Object> params, String streamLabel,
+      ResultSetMapper<Path> fileMapper, int maxWriters) throws Exception {
+    Arguments.notNull(fileMapper);
+    Arguments.isTrue(maxWriters > 0, "maxWriters must be positive.");
+
+    ResultSetMapper<StreamFile> reader = rs -> {
+      var file = fileMapper.map(rs);
+      if (file == null) {
+        return null;
+      }
+      var content = rs.getBytes(streamLabel);
+      return (content != null) ? new StreamFile(file, content) : null;
+    };
+
+    var permits = new Semaphore(maxWriters);
+    var written = new AtomicLong();
+    var failure = new AtomicReference<Exception>();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+        var iterator = iterator(pQuery, params, reader)) {
+
+      while (failure.get() == null && iterator.hasNext()) {
+        var streamFile = iterator.next();
+        if (streamFile == null) {
+          continue;
+        }
+        permits.acquire();
+        executor.execute(() -> {
+          try {
+            streamFile.write();
+            written.incrementAndGet();
+
+          } catch (Exception ex) {
+            if (!failure.compareAndSet(null, ex)) {
+              failure.get().addSuppressed(ex);
+            }
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    return written.get();
+  }
+
+  static class StreamFile {
+    final Path file;
+    final byte[] content;
+
+    StreamFile(Path file, byte[] content) {
+      this.file = file;
+      this.content = content;
+    }
+
+    void write() throws IOException {
+      var dir = file.toAbsolutePath().getParent();
+      if (dir != null) {
+        Files.createDirectories(dir);
+      }
+      Files.write(file, content);
+    }
+  }
+
   public void executeStream(String sql, String streamLabel, Writer out, ResultSetHandler handler) throws Exception {
     conn.executeStream(sql, streamLabel, out, handler);
   }
@@ -371,19 +820,37 @@ public class DbContext implements AutoCloseable {
 
     try {
       for (String pQuery : bQueries) {
-        var stat = Asserts.notNull(stats.get(pQuery));
+        var start = System.nanoTime();
+        var rows = 0;
 
         try {
-          var updateCounts = stat.executeBatch();
+          var pendingRows = bRows.get(pQuery);
+          if (pendingRows != null) {
+            rows = executeMultiRowInsert(mrInserts.get(pQuery), pendingRows, bKeys.get(pQuery));
 
-          if (Arrays.stream(updateCounts).anyMatch(code -> code == Statement.EXECUTE_FAILED)) {
-            throw new SQLException("Statement.EXECUTE_FAILED found for batch: " + pQuery);
+          } else {
+            var stat = Asserts.notNull(stats.get(pQuery));
+            var updateCounts = stat.executeBatch();
+
+            if (Arrays.stream(updateCounts).anyMatch(code -> code == Statement.EXECUTE_FAILED)) {
+              throw new SQLException("Statement.EXECUTE_FAILED found for batch: " + pQuery);
+            }
+            rows = updateCounts.length;
+
+            var keyHandlers = bKeys.get(pQuery);
+            if (keyHandlers != null) {
+              applyGeneratedKeys(stat, keyHandlers, 0, rows);
+            }
           }
 
         } catch (BatchUpdateException be) {
           be.addSuppressed(new SQLException("Failed executing batch for: " + pQuery));
           throw be;
         }
+
+        if (batchListener != null) {
+          batchListener.onBatch(pQuery, rows, System.nanoTime() - start);
+        }
       }
     } catch (SQLException ex) {
       try {
@@ -394,7 +861,7 @@ public class DbContext implements AutoCloseable {
       throw ex;
 
     } finally {
-      bQueries.clear();
+      resetBatch();
     }
   }
 
@@ -402,18 +869,227 @@ public class DbContext implements AutoCloseable {
     assertTransactional();
     try {
       for (String pQuery : bQueries) {
-        var stat = Asserts.notNull(stats.get(pQuery));
-        stat.clearBatch();
+        if (!bRows.containsKey(pQuery)) {
+          var stat = Asserts.notNull(stats.get(pQuery));
+          stat.clearBatch();
+        }
       }
     } finally {
-      bQueries.clear();
+      resetBatch();
     }
   }
 
+  protected void resetBatch() {
+    bQueries.clear();
+    bRows.clear();
+    bKeys.clear();
+    batchRows = 0;
+    batchBytes = 0;
+  }
+
   protected void addBatch(PreparedStatementImpl stat, String pQuery) throws java.sql.SQLException {
     assertTransactional();
     bQueries.add(pQuery);
     stat.addBatch();
+
+    onBatchAdded(0);
+  }
+
+  protected void addBatch(SqlQuery query, Map<String, Object> params, boolean autoGeneratedKeys)
+      throws java.sql.SQLException {
+    addBatch(query, params, autoGeneratedKeys, null);
+  }
+
+  /**
+   * Adds the given parameters to the batch of the given query. If keyHandler is not null and the dialect supports
+   * batch generated keys, keyHandler receives the generated key of this row after {@link #executeBatch()}.
+   *
+   */
+  protected void addBatch(SqlQuery query, Map<String, Object> params, boolean autoGeneratedKeys,
+      GeneratedKeyHandler keyHandler) throws java.sql.SQLException {
+    addBatch(query, params, autoGeneratedKeys, null, keyHandler);
+  }
+
+  /**
+   * Same as {@link #addBatch(SqlQuery, Map, boolean, GeneratedKeyHandler)} but the statement only returns the given key
+   * column. Drivers such as PostgreSQL return all columns for RETURN_GENERATED_KEYS, so the first one may not be the
+   * key.
+   *
+   */
+  protected void addBatch(SqlQuery query, Map<String, Object> params, boolean autoGeneratedKeys, String keyColumn,
+      GeneratedKeyHandler keyHandler) throws java.sql.SQLException {
+    assertTransactional();
+    var pQuery = query.getPQuery();
+
+    if (autoGeneratedKeys && keyColumn != null) {
+      keyColumns.put(pQuery, keyColumn);
+    }
+    if (autoGeneratedKeys && conn.getDbDialect().isBatchGeneratedKeys()) {
+      bKeys.computeIfAbsent(pQuery, p -> new ArrayList<>()).add(keyHandler);
+    }
+
+    var mrInsert = getMultiRowInsert(query);
+    if (mrInsert == null) {
+      var stat = stats.get(pQuery);
+      if (stat == null) {
+        stat = prepareKeyStatement(query, autoGeneratedKeys, keyColumn);
+        stats.put(pQuery, stat);
+      } else {
+        stat.clearParameters();
+      }
+      if (params != null) {
+        JdbcUtils.setParameters(stat, query, params);
+      }
+
+      bQueries.add(pQuery);
+      stat.addBatch();
+
+      onBatchAdded((params != null) ? estimateBytes(params.values().toArray()) : 0);
+      return;
+    }
+
+    var row = mrInsert.toRow(params);
+    bQueries.add(pQuery);
+    bRows.computeIfAbsent(pQuery, p -> new ArrayList<>()).add(row);
+
+    onBatchAdded(estimateBytes(row));
+  }
+
+  protected void onBatchAdded(long bytes) throws java.sql.SQLException {
+    batchRows++;
+    batchBytes += bytes;
+
+    if ((batchMaxRows > 0 && batchRows >= batchMaxRows) || (batchMaxBytes > 0 && batchBytes >= batchMaxBytes)) {
+      executeBatch();
+    }
+  }
+
+  protected MultiRowInsert getMultiRowInsert(SqlQuery query) throws java.sql.SQLException {
+    if (!multiRowInsert || !conn.getDbDialect().isMultiRowInsert()) {
+      return null;
+    }
+    var pQuery = query.getPQuery();
+    if (mrInserts.containsKey(pQuery)) {
+      return mrInserts.get(pQuery);
+    }
+    var mrInsert = MultiRowInsert.parse(query);
+    mrInserts.put(pQuery, mrInsert);
+    return mrInsert;
+  }
+
+  protected int executeMultiRowInsert(MultiRowInsert mrInsert, List<Object[]> pendingRows,
+      List<GeneratedKeyHandler> keyHandlers) throws java.sql.SQLException {
+    var rows = pendingRows.toArray(new Object[pendingRows.size()][]);
+    var maxRows = mrInsert.getMaxRows();
+    var chunks = rows.length / maxRows;
+    var keyColumn = (keyHandlers != null) ? keyColumns.get(mrInsert.getQuery().getPQuery()) : null;
+
+    if (chunks > 0) {
+      var stat = getMultiRowStatement(mrInsert, maxRows, keyHandlers != null, keyColumn);
+
+      for (var i = 0; i < chunks; i++) {
+        mrInsert.setParameters(stat, rows, i * maxRows, maxRows);
+        stat.addBatch();
+      }
+      var updateCounts = stat.executeBatch();
+
+      if (Arrays.stream(updateCounts).anyMatch(code -> code == Statement.EXECUTE_FAILED)) {
+        throw new SQLException("Statement.EXECUTE_FAILED found for batch: " + mrInsert.getQuery().getPQuery());
+      }
+      if (keyHandlers != null) {
+        applyGeneratedKeys(stat, keyHandlers, 0, chunks * maxRows);
+      }
+    }
+
+    // Split the remainder into power-of-two chunks so only a few statements are prepared and cached
+    var offset = chunks * maxRows;
+    while (offset < rows.length) {
+      var count = Integer.highestOneBit(rows.length - offset);
+      var stat = getMultiRowStatement(mrInsert, count, keyHandlers != null, keyColumn);
+
+      mrInsert.setParameters(stat, rows, offset, count);
+      stat.executeUpdate();
+
+      if (keyHandlers != null) {
+        applyGeneratedKeys(stat, keyHandlers, offset, count);
+      }
+      offset += count;
+    }
+    return rows.length;
+  }
+
+  protected PreparedStatementImpl getMultiRowStatement(MultiRowInsert mrInsert, int rows, boolean autoGeneratedKeys,
+      String keyColumn) throws java.sql.SQLException {
+    var sql = mrInsert.toSql(rows);
+    var stat = stats.get(sql);
+
+    if (stat == null) {
+      stat = prepareKeyStatement(sql, autoGeneratedKeys, keyColumn);
+      stats.put(sql, stat);
+    } else {
+      stat.clearParameters();
+    }
+    return stat;
+  }
+
+  protected PreparedStatementImpl prepareKeyStatement(SqlQuery query, boolean autoGeneratedKeys, String keyColumn)
+      throws java.sql.SQLException {
+    if (autoGeneratedKeys && keyColumn != null) {
+      return conn.prepareStatement(query, new String[] { keyColumn });
+    }
+    return conn.prepareStatement(query, autoGeneratedKeys);
+  }
+
+  protected PreparedStatementImpl prepareKeyStatement(String sql, boolean autoGeneratedKeys, String keyColumn)
+      throws java.sql.SQLException {
+    if (autoGeneratedKeys && keyColumn != null) {
+      return conn.prepareStatement(sql, new String[] { keyColumn });
+    }
+    var keysFlag = autoGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+    return conn.prepareStatement(sql, keysFlag);
+  }
+
+  protected static void applyGeneratedKeys(PreparedStatementImpl stat, List<GeneratedKeyHandler> keyHandlers,
+      int offset, int count) throws java.sql.SQLException {
+    var index = offset;
+    try (var rs = stat.getGeneratedKeys()) {
+      while (index < offset + count && rs.next()) {
+        var keyHandler = keyHandlers.get(index++);
+        if (keyHandler != null) {
+          keyHandler.onKey(rs.getObject(1));
+        }
+      }
+    }
+    if (index != offset + count) {
+      throw new SQLException(STR.fmt("Expected {} generated keys but the driver returned {}.", count, index - offset));
+    }
+  }
+
+  protected static long estimateBytes(Object[] values) {
+    long bytes = 0;
+    for (Object value : values) {
+      if (value instanceof JdbcParam par) {
+        value = par.getValue();
+      }
+      if (value instanceof CharSequence str) {
+        bytes += 2L * str.length();
+
+      } else if (value instanceof byte[] arr) {
+        bytes += arr.length;
+
+      } else {
+        bytes += 8;
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Cancels the statements of this context's connection that are currently executing, including prepared, batch and
+   * streaming statements. Unlike other methods, this one may be called from another thread.
+   */
+  public void cancel() throws java.sql.SQLException {
+    conn.cancel();
   }
 
   public void setTransactional(boolean transactional) throws java.sql.SQLException {
@@ -434,6 +1110,12 @@ public class DbContext implements AutoCloseable {
       throw new SQLException("Pending batches exist. Call executeBatch() or clearBatch() before commit().");
     }
     conn.commit();
+
+    // Entries cached by other contexts before the commit are stale now
+    if (!writtenTables.isEmpty()) {
+      writtenTables.forEach(table -> queryCache.invalidate(table));
+      writtenTables.clear();
+    }
   }
 
   public void rollback() throws java.sql.SQLException {
@@ -442,6 +1124,7 @@ public class DbContext implements AutoCloseable {
       throw new SQLException("Pending batches exist. Call executeBatch() or clearBatch() before rollback().");
     }
     conn.rollback();
+    writtenTables.clear();
   }
 
   protected void assertTransactional() throws java.sql.SQLException {
@@ -499,6 +1182,19 @@ public class DbContext implements AutoCloseable {
         }
       }
 
+      // Restore ReadOnly
+      if (readOnly) {
+        try {
+          conn.setReadOnly(false);
+        } catch (SQLException e) {
+          if (err == null) {
+            err = e;
+          } else {
+            err.addSuppressed(e);
+          }
+        }
+      }
+
       // Close connection
       if (internalConn) {
         try {
@@ -515,6 +1211,9 @@ public class DbContext implements AutoCloseable {
     } finally {
       this.stats.clear();
       this.bQueries.clear();
+      this.bRows.clear();
+      this.bKeys.clear();
+      this.keyColumns.clear();
       closed = true;
     }
 
@@ -104,6 +104,115 @@ public class DbDialect extends InitializingObject implements Serializable {
     return likeEscaper.toLikePattern(value, likeType);
   }
 
+  public int toStreamFetchSize(int fetchSize) {
+    initialize();
+
+    // MySQL Connector/J only streams rows with Integer.MIN_VALUE
+    return (type == DbType.MYSQL) ? Integer.MIN_VALUE : fetchSize;
+  }
+
+  public boolean isStreamAutoCommitOff() {
+    initialize();
+
+    // PostgreSQL only uses a cursor when auto-commit is disabled
+    return type == DbType.POSTGRESQL;
+  }
+
+  public boolean isMultiRowInsert() {
+    initialize();
+
+    return switch (type) {
+    case MYSQL, MARIADB, H2, POSTGRESQL -> true;
+    default -> false;
+    };
+  }
+
+  /**
+   * Returns true if the driver of this dialect returns one generated key per row from
+   * {@link java.sql.Statement#getGeneratedKeys()} after a batch or a multi-row INSERT.
+   *
+   */
+  public boolean isBatchGeneratedKeys() {
+    initialize();
+
+    return switch (type) {
+    case MYSQL, MARIADB, H2, POSTGRESQL -> true;
+    default -> false;
+    };
+  }
+
+  /**
+   * Returns true if this dialect supports row value constructors in IN predicates, e.g. {@code (a, b) IN ((?, ?))}.
+   *
+   */
+  public boolean isRowValueIn() {
+    initialize();
+
+    return switch (type) {
+    case POSTGRESQL, MYSQL, MARIADB, H2, SQLITE, ORACLE, DB2 -> true;
+    default -> false;
+    };
+  }
+
+  public static final String PARAM_PAGE_LIMIT = "pagelimit__";
+  public static final String PARAM_PAGE_OFFSET = "pageoffset__";
+
+  /**
+   * Appends the paging clause of this dialect to the given query. The limit and offset are bound through the
+   * parameters {@link #PARAM_PAGE_LIMIT} and {@link #PARAM_PAGE_OFFSET}. On MSSQL, ORACLE and DB2 an offset query
+   * should have an ORDER BY clause.
+   *
+   */
+  public String toPageQuery(String pQuery, boolean hasOffset) {
+    initialize();
+    Arguments.notNull(pQuery);
+
+    return switch (type) {
+    case MSSQL -> hasOffset ? pQuery + toOffsetFetch() : toTopQuery(pQuery);
+    case ORACLE, DB2 -> hasOffset ? pQuery + toOffsetFetch()
+        : pQuery + " FETCH FIRST :" + PARAM_PAGE_LIMIT + " ROWS ONLY";
+    default -> hasOffset ? pQuery + " LIMIT :" + PARAM_PAGE_LIMIT + " OFFSET :" + PARAM_PAGE_OFFSET
+        : pQuery + " LIMIT :" + PARAM_PAGE_LIMIT;
+    };
+  }
+
+  static String toOffsetFetch() {
+    return " OFFSET :" + PARAM_PAGE_OFFSET + " ROWS FETCH NEXT :" + PARAM_PAGE_LIMIT + " ROWS ONLY";
+  }
+
+  static String toTopQuery(String pQuery) {
+    var i = skipKeyword(pQuery, skipWhitespace(pQuery, 0), "SELECT");
+    if (i < 0) {
+      return pQuery + " OFFSET 0 ROWS FETCH NEXT :" + PARAM_PAGE_LIMIT + " ROWS ONLY";
+    }
+    var j = skipKeyword(pQuery, skipWhitespace(pQuery, i), "DISTINCT");
+    if (j < 0) {
+      j = skipKeyword(pQuery, skipWhitespace(pQuery, i), "ALL");
+    }
+    if (j > 0) {
+      i = j;
+    }
+    return pQuery.substring(0, i) + " TOP (:" + PARAM_PAGE_LIMIT + ")" + pQuery.substring(i);
+  }
+
+  static int skipWhitespace(String str, int idx) {
+    while (idx < str.length() && Character.isWhitespace(str.charAt(idx))) {
+      idx++;
+    }
+    return idx;
+  }
+
+  static int skipKeyword(String str, int idx, String keyword) {
+    var end = idx + keyword.length();
+    if (!str.regionMatches(true, idx, keyword, 0, keyword.length())) {
+      return -1;
+    }
+    if (end < str.length() && Character.isJavaIdentifierPart(str.charAt(end))) {
+      return -1;
+    }
+    return end;
+  }
+
   public boolean resetIdentity(ConnectionImpl conn, String tableName) throws java.sql.SQLException {
     initialize();
     Arguments.notNull(databaseActions, "databaseActions is null.");
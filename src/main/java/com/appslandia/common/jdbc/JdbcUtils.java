@@ -22,6 +22,7 @@ package com.appslandia.common.jdbc;
 
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -389,6 +390,29 @@ public class JdbcUtils {
     }
   }
 
+  public static long executeStream(ResultSetImpl rs, String streamLabel, WritableByteChannel out,
+      ResultSetHandler handler) throws Exception {
+    var rsRead = false;
+    var count = 0L;
+    while (rs.next()) {
+
+      if (rsRead) {
+        throw new JdbcNonUniqueResultException();
+      }
+      rsRead = true;
+
+      if (handler != null) {
+        handler.handle(rs);
+      }
+      try (var is = rs.getBinaryStream(streamLabel)) {
+        if (is != null) {
+          count = IOUtils.copy(is, out);
+        }
+      }
+    }
+    return count;
+  }
+
   public static void executeStream(ResultSetImpl rs, String streamLabel, Writer out, ResultSetHandler handler)
       throws Exception {
     var rsRead = false;
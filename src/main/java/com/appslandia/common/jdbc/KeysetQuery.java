@@ -0,0 +1,119 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.appslandia.common.base.InitializingObject;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * Keyset (seek) paging over a query. The query is wrapped as a derived table and filtered by the last seen key
+ * values, so each page costs the same regardless of its position. The query must return the key columns and must
+ * not have its own ORDER BY clause; the keys together must be unique.
+ *
+ * @author Loc Ha
+ *
+ */
+public class KeysetQuery extends InitializingObject implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  public static final String PARAM_KEY = "seekkey";
+
+  private String pQuery;
+  private List<String> keys = new ArrayList<>();
+  private List<Boolean> descs = new ArrayList<>();
+
+  private String firstQuery;
+  private String seekQuery;
+
+  public KeysetQuery(String pQuery) {
+    this.pQuery = pQuery;
+  }
+
+  @Override
+  protected void init() throws Exception {
+    Arguments.notNull(pQuery, "pQuery is required.");
+    Arguments.isTrue(!keys.isEmpty(), "keys is required.");
+
+    var orderBy = new StringBuilder(" ORDER BY ");
+    var predicate = new StringBuilder(" WHERE ");
+
+    for (var i = 0; i < keys.size(); i++) {
+      if (i > 0) {
+        orderBy.append(", ");
+        predicate.append(" OR ");
+      }
+      orderBy.append(keys.get(i)).append(descs.get(i) ? " DESC" : " ASC");
+
+      predicate.append('(');
+      for (var j = 0; j < i; j++) {
+        predicate.append(keys.get(j)).append(" = :").append(toKeyParam(j)).append(" AND ");
+      }
+      predicate.append(keys.get(i)).append(descs.get(i) ? " < :" : " > :").append(toKeyParam(i)).append(')');
+    }
+
+    var derived = "SELECT * FROM (" + pQuery + ") seek__";
+    firstQuery = derived + orderBy;
+    seekQuery = derived + predicate + orderBy;
+
+    keys = List.copyOf(keys);
+    descs = List.copyOf(descs);
+  }
+
+  public KeysetQuery orderBy(String key) {
+    return orderBy(key, false);
+  }
+
+  public KeysetQuery orderByDesc(String key) {
+    return orderBy(key, true);
+  }
+
+  protected KeysetQuery orderBy(String key, boolean desc) {
+    assertNotInitialized();
+    Arguments.notNull(key);
+
+    keys.add(key);
+    descs.add(desc);
+    return this;
+  }
+
+  public String getPQuery() {
+    initialize();
+    return pQuery;
+  }
+
+  public List<String> getKeys() {
+    initialize();
+    return keys;
+  }
+
+  public String getQuery(boolean hasToken) {
+    initialize();
+    return hasToken ? seekQuery : firstQuery;
+  }
+
+  public static String toKeyParam(int keyIdx) {
+    return PARAM_KEY + keyIdx + "__";
+  }
+}
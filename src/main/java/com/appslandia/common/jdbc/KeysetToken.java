@@ -0,0 +1,67 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * The key values of the last row of a keyset page, used to fetch the next page.
+ *
+ * @author Loc Ha
+ *
+ */
+public class KeysetToken implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  final Object[] keyValues;
+
+  public KeysetToken(Object... keyValues) {
+    this.keyValues = Arguments.hasElements(keyValues).clone();
+  }
+
+  public Object[] getKeyValues() {
+    return keyValues.clone();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(keyValues);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof KeysetToken that)) {
+      return false;
+    }
+    return Arrays.equals(keyValues, that.keyValues);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(keyValues);
+  }
+}
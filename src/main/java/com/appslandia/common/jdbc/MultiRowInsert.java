@@ -0,0 +1,220 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.Map;
+
+/**
+ * Rewrites a single-row {@code INSERT ... VALUES (...)} query into multi-row {@code INSERT ... VALUES (...), (...)}
+ * statements.
+ *
+ * @author Loc Ha
+ *
+ */
+public class MultiRowInsert {
+
+  public static final int DEFAULT_MAX_ROWS = 128;
+  public static final int MAX_PARAMETERS = 32767;
+
+  final SqlQuery query;
+  final String prefix;
+  final String rowGroup;
+  final int paramCount;
+  final int maxRows;
+
+  protected MultiRowInsert(SqlQuery query, String prefix, String rowGroup, int paramCount) {
+    this.query = query;
+    this.prefix = prefix;
+    this.rowGroup = rowGroup;
+    this.paramCount = paramCount;
+    this.maxRows = (paramCount > 0) ? Math.min(DEFAULT_MAX_ROWS, MAX_PARAMETERS / paramCount) : DEFAULT_MAX_ROWS;
+  }
+
+  public SqlQuery getQuery() {
+    return query;
+  }
+
+  public int getParamCount() {
+    return paramCount;
+  }
+
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  public String toSql(int rows) {
+    var sb = new StringBuilder(prefix.length() + (rowGroup.length() + 2) * rows);
+    sb.append(prefix);
+
+    for (var i = 0; i < rows; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(rowGroup);
+    }
+    return sb.toString();
+  }
+
+  public Object[] toRow(Map<String, Object> params) {
+    var row = new Object[paramCount];
+
+    for (var entry : query.getIndexesMap().entrySet()) {
+      var value = (params != null) ? params.get(entry.getKey()) : null;
+
+      for (int index : entry.getValue()) {
+        row[index - 1] = value;
+      }
+    }
+    return row;
+  }
+
+  public void setParameters(PreparedStatementImpl stat, Object[][] rows, int offset, int count)
+      throws java.sql.SQLException {
+    var index = 0;
+    for (var r = offset; r < offset + count; r++) {
+      var row = rows[r];
+
+      for (var p = 0; p < paramCount; p++) {
+        stat.setObject(++index, row[p]);
+      }
+    }
+  }
+
+  /**
+   * Returns a MultiRowInsert if the given query is a single-row {@code INSERT ... VALUES (...)} without array
+   * parameters, or {@code null} otherwise.
+   *
+   */
+  public static MultiRowInsert parse(SqlQuery query) {
+    if (query.getParamsMap().values().stream().anyMatch(len -> len != null)) {
+      return null;
+    }
+    var sql = query.getTranslatedQuery().strip();
+    if (!sql.regionMatches(true, 0, "INSERT", 0, 6)) {
+      return null;
+    }
+
+    var valuesIdx = indexOfKeyword(sql, "VALUES");
+    if (valuesIdx < 0) {
+      return null;
+    }
+    var groupStart = valuesIdx + 6;
+    while (groupStart < sql.length() && Character.isWhitespace(sql.charAt(groupStart))) {
+      groupStart++;
+    }
+    if (groupStart == sql.length() || sql.charAt(groupStart) != '(') {
+      return null;
+    }
+
+    // The row group must end the query
+    var groupEnd = indexOfGroupEnd(sql, groupStart);
+    if (groupEnd != sql.length() - 1) {
+      return null;
+    }
+
+    var prefix = sql.substring(0, groupStart);
+    var rowGroup = sql.substring(groupStart);
+
+    var paramCount = countParams(rowGroup);
+    var totalCount = query.getIndexesMap().values().stream().mapToInt(l -> l.size()).sum();
+
+    if (countParams(prefix) != 0 || paramCount != totalCount) {
+      return null;
+    }
+    return new MultiRowInsert(query, prefix, rowGroup, paramCount);
+  }
+
+  static int indexOfKeyword(String sql, String keyword) {
+    var quote = '\0';
+    var found = -1;
+
+    for (var i = 0; i < sql.length(); i++) {
+      var c = sql.charAt(i);
+      if (quote != '\0') {
+        if (c == quote) {
+          quote = '\0';
+        }
+        continue;
+      }
+      if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+        continue;
+      }
+      if (sql.regionMatches(true, i, keyword, 0, keyword.length())
+          && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))
+          && (i + keyword.length() == sql.length()
+              || !Character.isJavaIdentifierPart(sql.charAt(i + keyword.length())))) {
+        if (found >= 0) {
+          return -1;
+        }
+        found = i;
+      }
+    }
+    return found;
+  }
+
+  static int indexOfGroupEnd(String sql, int groupStart) {
+    var quote = '\0';
+    var depth = 0;
+
+    for (var i = groupStart; i < sql.length(); i++) {
+      var c = sql.charAt(i);
+      if (quote != '\0') {
+        if (c == quote) {
+          quote = '\0';
+        }
+        continue;
+      }
+      if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+
+      } else if (c == '(') {
+        depth++;
+
+      } else if (c == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int countParams(String sql) {
+    var quote = '\0';
+    var count = 0;
+
+    for (var i = 0; i < sql.length(); i++) {
+      var c = sql.charAt(i);
+      if (quote != '\0') {
+        if (c == quote) {
+          quote = '\0';
+        }
+        continue;
+      }
+      if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+
+      } else if (c == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -51,6 +51,10 @@ public class PreparedStatementImpl implements PreparedStatement {
   protected final PreparedStatement stat;
   protected final DbDialect dbDialect;
 
+  QueryMetrics.Metric metric;
+  ConnectionImpl owner;
+  int batchSize;
+
   public PreparedStatementImpl(PreparedStatement stat) {
     this(stat, null, null);
   }
@@ -249,7 +253,7 @@ public class PreparedStatementImpl implements PreparedStatement {
   }
 
   public <T> T executeScalar(Class<T> type) throws java.sql.SQLException {
-    try (var rs = stat.executeQuery()) {
+    try (var rs = executeQuery()) {
       return JdbcUtils.executeScalar(rs, type);
     }
   }
@@ -262,7 +266,7 @@ public class PreparedStatementImpl implements PreparedStatement {
     if (params != null) {
       JdbcUtils.setParameters(this, getPQuery(), params);
     }
-    try (var rs = stat.executeQuery()) {
+    try (var rs = executeQuery()) {
       return JdbcUtils.executeScalar(rs, type);
     }
   }
@@ -1004,22 +1008,73 @@ public class PreparedStatementImpl implements PreparedStatement {
 
   @Override
   public int executeUpdate() throws java.sql.SQLException {
-    return stat.executeUpdate();
+    if (metric == null) {
+      return stat.executeUpdate();
+    }
+    var start = System.nanoTime();
+    try {
+      var rowCount = stat.executeUpdate();
+      metric.recordExecution(System.nanoTime() - start, rowCount);
+      return rowCount;
+
+    } catch (SQLException ex) {
+      metric.recordError();
+      throw ex;
+    }
   }
 
   @Override
   public long executeLargeUpdate() throws java.sql.SQLException {
-    return stat.executeLargeUpdate();
+    if (metric == null) {
+      return stat.executeLargeUpdate();
+    }
+    var start = System.nanoTime();
+    try {
+      var rowCount = stat.executeLargeUpdate();
+      metric.recordExecution(System.nanoTime() - start, rowCount);
+      return rowCount;
+
+    } catch (SQLException ex) {
+      metric.recordError();
+      throw ex;
+    }
   }
 
   @Override
   public boolean execute() throws java.sql.SQLException {
-    return stat.execute();
+    if (metric == null) {
+      return stat.execute();
+    }
+    var start = System.nanoTime();
+    try {
+      var result = stat.execute();
+      metric.recordExecution(System.nanoTime() - start, 0);
+      return result;
+
+    } catch (SQLException ex) {
+      metric.recordError();
+      throw ex;
+    }
   }
 
   @Override
   public ResultSetImpl executeQuery() throws java.sql.SQLException {
-    return new ResultSetImpl(stat.executeQuery());
+    if (metric == null) {
+      return new ResultSetImpl(stat.executeQuery());
+    }
+    var start = System.nanoTime();
+    try {
+      var rs = new ResultSetImpl(stat.executeQuery());
+      metric.recordExecution(System.nanoTime() - start, 0);
+
+      // Rows are recorded when the ResultSet is closed
+      rs.metric = metric;
+      return rs;
+
+    } catch (SQLException ex) {
+      metric.recordError();
+      throw ex;
+    }
   }
 
   @Override
@@ -1299,6 +1354,7 @@ public class PreparedStatementImpl implements PreparedStatement {
   @Override
   public void addBatch() throws java.sql.SQLException {
     stat.addBatch();
+    batchSize++;
   }
 
   @Override
@@ -1380,12 +1436,42 @@ public class PreparedStatementImpl implements PreparedStatement {
 
   @Override
   public int[] executeBatch() throws java.sql.SQLException {
-    return stat.executeBatch();
+    if (metric == null) {
+      return stat.executeBatch();
+    }
+    var start = System.nanoTime();
+    try {
+      var updateCounts = stat.executeBatch();
+      metric.recordBatch(System.nanoTime() - start, batchSize);
+      return updateCounts;
+
+    } catch (SQLException ex) {
+      metric.recordError();
+      throw ex;
+
+    } finally {
+      batchSize = 0;
+    }
   }
 
   @Override
   public long[] executeLargeBatch() throws java.sql.SQLException {
-    return stat.executeLargeBatch();
+    if (metric == null) {
+      return stat.executeLargeBatch();
+    }
+    var start = System.nanoTime();
+    try {
+      var updateCounts = stat.executeLargeBatch();
+      metric.recordBatch(System.nanoTime() - start, batchSize);
+      return updateCounts;
+
+    } catch (SQLException ex) {
+      metric.recordError();
+      throw ex;
+
+    } finally {
+      batchSize = 0;
+    }
   }
 
   @Override
@@ -1466,6 +1552,7 @@ public class PreparedStatementImpl implements PreparedStatement {
   @Override
   public void clearBatch() throws java.sql.SQLException {
     stat.clearBatch();
+    batchSize = 0;
   }
 
   @Override
@@ -1579,6 +1666,12 @@ public class PreparedStatementImpl implements PreparedStatement {
 
   @Override
   public void close() throws java.sql.SQLException {
-    stat.close();
+    try {
+      stat.close();
+    } finally {
+      if (owner != null) {
+        owner.unregister(this);
+      }
+    }
   }
 }
@@ -0,0 +1,449 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.appslandia.common.base.LruMap;
+import com.appslandia.common.base.Mutex;
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.ArrayUtils;
+
+/**
+ * Result cache for repeated reads, keyed by the query and its parameter values. Each entry remembers the versions
+ * of the tables the query reads; writing a table bumps its version, so stale entries are dropped on the next lookup
+ * without scanning the cache.
+ *
+ * <p>
+ * The tables of a query are parsed from its FROM lists and JOIN clauses unless declared with
+ * {@link #declareTables(String, String...)}; queries whose tables can't be determined are not cached. Writes outside
+ * of {@code RecordContext} must be reported through {@link #invalidate(String)}. Other nodes can be notified through
+ * an {@link InvalidationListener}, and apply their notifications with {@link #invalidateLocal(String)}.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+public class QueryCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+  public static final long DEFAULT_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+  final Mutex mutex = new Mutex();
+  final Map<CacheKey, CacheEntry> entries;
+  final long ttlNanos;
+
+  final ConcurrentMap<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+  final ConcurrentMap<String, String[]> queryTables = new ConcurrentHashMap<>();
+
+  private volatile InvalidationListener invalidationListener;
+
+  public QueryCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS);
+  }
+
+  public QueryCache(int maxEntries, long ttlMs) {
+    Arguments.isTrue(maxEntries > 0, "maxEntries must be positive.");
+    Arguments.isTrue(ttlMs > 0, "ttlMs must be positive.");
+
+    this.entries = new LruMap<>(maxEntries);
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+  }
+
+  public QueryCache declareTables(String pQuery, String... tables) {
+    Arguments.notNull(pQuery);
+    Arguments.hasElements(tables);
+
+    queryTables.put(pQuery, Arrays.stream(tables).map(t -> toTableKey(t)).distinct().toArray(String[]::new));
+    return this;
+  }
+
+  public String[] getTables(String pQuery) {
+    return queryTables.computeIfAbsent(pQuery, q -> parseTables(q));
+  }
+
+  /**
+   * Returns whether the tables of the given query are known, so that its results can be cached.
+   */
+  public boolean isCacheable(String pQuery) {
+    return getTables(pQuery).length > 0;
+  }
+
+  public void setInvalidationListener(InvalidationListener invalidationListener) {
+    this.invalidationListener = invalidationListener;
+  }
+
+  public Object get(String pQuery, Map<String, Object> params) {
+    var key = new CacheKey(pQuery, params);
+    CacheEntry entry;
+
+    synchronized (mutex) {
+      entry = entries.get(key);
+    }
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.createdNanos > ttlNanos || !isCurrent(entry)) {
+      synchronized (mutex) {
+        entries.remove(key, entry);
+      }
+      return null;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Returns the current versions of the tables of the given query. Take them before executing the query and pass
+   * them to {@link #put(String, Map, Object, long[])}, so that a concurrent write makes the new entry stale.
+   */
+  public long[] getVersions(String pQuery) {
+    var tables = getTables(pQuery);
+    var versions = new long[tables.length];
+
+    for (var i = 0; i < tables.length; i++) {
+      versions[i] = getVersion(tables[i]).get();
+    }
+    return versions;
+  }
+
+  public void put(String pQuery, Map<String, Object> params, Object value, long[] versions) {
+    var tables = getTables(pQuery);
+    if (tables.length == 0 || tables.length != versions.length) {
+      return;
+    }
+    var key = new CacheKey(pQuery, params);
+    var entry = new CacheEntry(value, tables, versions, System.nanoTime());
+
+    synchronized (mutex) {
+      entries.put(key, entry);
+    }
+  }
+
+  public void invalidate(String table) {
+    invalidateLocal(table);
+
+    var listener = invalidationListener;
+    if (listener != null) {
+      listener.onInvalidate(table);
+    }
+  }
+
+  public void invalidateLocal(String table) {
+    Arguments.notNull(table);
+    getVersion(toTableKey(table)).incrementAndGet();
+  }
+
+  public void clear() {
+    synchronized (mutex) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (mutex) {
+      return entries.size();
+    }
+  }
+
+  protected boolean isCurrent(CacheEntry entry) {
+    for (var i = 0; i < entry.tables.length; i++) {
+      if (getVersion(entry.tables[i]).get() != entry.versions[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected AtomicLong getVersion(String tableKey) {
+    return tableVersions.computeIfAbsent(tableKey, t -> new AtomicLong());
+  }
+
+  static final String[] UNKNOWN_TABLES = new String[0];
+
+  static final Set<String> CLAUSE_KEYWORDS = Set.of("WHERE", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "OUTER", "CROSS",
+      "NATURAL", "ON", "USING", "GROUP", "ORDER", "HAVING", "LIMIT", "OFFSET", "FETCH", "UNION", "EXCEPT", "INTERSECT",
+      "MINUS", "WINDOW", "FOR", "SET", "WITH", "RETURNING", "LATERAL", "SELECT", "ONLY", "AS", "VALUES");
+
+  /**
+   * Parses the tables read by the given query from its FROM lists and JOIN clauses. Returns an empty array if they
+   * can't be determined, e.g. for table functions; such queries are not cached unless declared with
+   * {@link #declareTables(String, String...)}.
+   */
+  public static String[] parseTables(String pQuery) {
+    var tokens = tokenize(pQuery);
+    Set<String> tables = new LinkedHashSet<>();
+
+    if (!parseTables(tokens, 0, tokens.size(), tables) || tables.isEmpty()) {
+      return UNKNOWN_TABLES;
+    }
+    return tables.toArray(String[]::new);
+  }
+
+  static boolean parseTables(List<String> tokens, int from, int to, Set<String> tables) {
+    // FROM only lists tables in a SELECT/DELETE, not in EXTRACT(x FROM y), TRIM(x FROM y), etc.
+    var select = false;
+
+    for (var i = from; i < to; i++) {
+      var token = tokens.get(i);
+
+      if (token.equals("(")) {
+        var end = findClose(tokens, i, to);
+        if (!parseTables(tokens, i + 1, end, tables)) {
+          return false;
+        }
+        i = end;
+        continue;
+      }
+      var upper = token.toUpperCase(Locale.ROOT);
+      if (upper.equals("SELECT") || upper.equals("DELETE")) {
+        select = true;
+        continue;
+      }
+      if (!select || (!upper.equals("FROM") && !upper.equals("JOIN"))) {
+        continue;
+      }
+
+      // Table list: FROM a [AS] x, b, (SELECT ...) y | JOIN a [AS] x
+      var list = upper.equals("FROM");
+      while (true) {
+        if (++i >= to) {
+          return false;
+        }
+        token = tokens.get(i);
+
+        if (token.equals("(")) {
+          var end = findClose(tokens, i, to);
+          if (!parseTables(tokens, i + 1, end, tables)) {
+            return false;
+          }
+          i = end;
+
+        } else if (isIdentifier(token) && !(i + 1 < to && tokens.get(i + 1).equals("("))) {
+          tables.add(toTableKey(token));
+
+        } else {
+          // Table functions, LATERAL, etc.
+          return false;
+        }
+
+        // Alias
+        if (i + 1 < to && tokens.get(i + 1).equalsIgnoreCase("AS")) {
+          i++;
+        }
+        if (i + 1 < to && isIdentifier(tokens.get(i + 1))) {
+          i++;
+        }
+        if (!list || i + 1 >= to || !tokens.get(i + 1).equals(",")) {
+          break;
+        }
+        i++;
+      }
+    }
+    return true;
+  }
+
+  static int findClose(List<String> tokens, int open, int to) {
+    var depth = 0;
+    for (var i = open; i < to; i++) {
+      var token = tokens.get(i);
+      if (token.equals("(")) {
+        depth++;
+      } else if (token.equals(")") && --depth == 0) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  static boolean isIdentifier(String token) {
+    var c = token.charAt(0);
+    if (c == '"' || c == '`' || c == '[') {
+      return true;
+    }
+    return (Character.isLetter(c) || c == '_') && !CLAUSE_KEYWORDS.contains(token.toUpperCase(Locale.ROOT));
+  }
+
+  // Identifiers (qualified and quoted names as one token), literals as ?, parentheses and other single chars
+  static List<String> tokenize(String sql) {
+    List<String> tokens = new ArrayList<>();
+    var len = sql.length();
+    var i = 0;
+
+    while (i < len) {
+      var c = sql.charAt(i);
+
+      if (Character.isWhitespace(c)) {
+        i++;
+
+      } else if (c == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {
+        while (i < len && sql.charAt(i) != '\n') {
+          i++;
+        }
+
+      } else if (c == '/' && i + 1 < len && sql.charAt(i + 1) == '*') {
+        var end = sql.indexOf("*/", i + 2);
+        i = (end < 0) ? len : end + 2;
+
+      } else if (c == '\'') {
+        i = skipQuoted(sql, i, '\'') + 1;
+        tokens.add("?");
+
+      } else if (c == '"' || c == '`' || c == '[' || Character.isLetter(c) || c == '_') {
+        var start = i;
+        while (true) {
+          var ch = sql.charAt(i);
+          if (ch == '"' || ch == '`') {
+            i = skipQuoted(sql, i, ch) + 1;
+          } else if (ch == '[') {
+            i = skipQuoted(sql, i, ']') + 1;
+          } else {
+            while (i < len && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_'
+                || sql.charAt(i) == '$')) {
+              i++;
+            }
+          }
+          if (i + 1 < len && sql.charAt(i) == '.') {
+            i++;
+            continue;
+          }
+          break;
+        }
+        tokens.add(sql.substring(start, Math.min(i, len)));
+
+      } else if (c == ':' && i + 1 < len && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+        var start = i++;
+        while (i < len && Character.isJavaIdentifierPart(sql.charAt(i))) {
+          i++;
+        }
+        tokens.add(sql.substring(start, i));
+
+      } else {
+        tokens.add(String.valueOf(c));
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  // Index of the closing quote; a doubled quote is an escaped quote
+  static int skipQuoted(String sql, int start, char quote) {
+    var i = start + 1;
+    while (i < sql.length()) {
+      if (sql.charAt(i) == quote) {
+        if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i;
+      }
+      i++;
+    }
+    return sql.length() - 1;
+  }
+
+  public static String toTableKey(String table) {
+    var name = table.replaceAll("[\"`\\[\\]]", "");
+    var dotIdx = name.lastIndexOf('.');
+
+    return ((dotIdx >= 0) ? name.substring(dotIdx + 1) : name).toLowerCase(Locale.ROOT);
+  }
+
+  static class CacheKey {
+    final String pQuery;
+    final Map<String, Object> params;
+    final int hash;
+
+    CacheKey(String pQuery, Map<String, Object> params) {
+      this.pQuery = pQuery;
+      this.params = toKeyParams(params);
+      this.hash = 31 * pQuery.hashCode() + this.params.hashCode();
+    }
+
+    static Map<String, Object> toKeyParams(Map<String, Object> params) {
+      if (params == null || params.isEmpty()) {
+        return Collections.emptyMap();
+      }
+      Map<String, Object> keyParams = new TreeMap<>();
+      for (Map.Entry<String, Object> param : params.entrySet()) {
+        var value = param.getValue();
+
+        // Arrays and collections of IN/LIKE_ANY parameters compare by elements
+        if (value != null && value.getClass().isArray()) {
+          value = Arrays.asList(ArrayUtils.toArray(value));
+
+        } else if (value instanceof Collection<?> col) {
+          value = new ArrayList<>(col);
+        }
+        keyParams.put(param.getKey(), value);
+      }
+      return keyParams;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey that)) {
+        return false;
+      }
+      return pQuery.equals(that.pQuery) && params.equals(that.params);
+    }
+  }
+
+  static class CacheEntry {
+    final Object value;
+    final String[] tables;
+    final long[] versions;
+    final long createdNanos;
+
+    CacheEntry(Object value, String[] tables, long[] versions, long createdNanos) {
+      this.value = value;
+      this.tables = tables;
+      this.versions = versions;
+      this.createdNanos = createdNanos;
+    }
+  }
+
+  @FunctionalInterface
+  public interface InvalidationListener {
+
+    void onInvalidate(String table);
+  }
+}
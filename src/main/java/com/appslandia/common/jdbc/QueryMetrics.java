@@ -0,0 +1,461 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.STR;
+
+/**
+ * Opt-in statistics of executed queries, keyed by the translated query with whitespace normalized and literals
+ * replaced by {@code ?}. A {@link Metric} is resolved once per prepared statement; recording an execution only updates
+ * striped counters and a fixed latency histogram. Executions slower than the threshold are kept in a bounded
+ * slow-query log. At most {@code maxQueries} queries are tracked; further queries are recorded under
+ * {@link #OTHER_QUERIES}.
+ *
+ * @author Loc Ha
+ *
+ */
+public class QueryMetrics {
+
+  public static final long DEFAULT_SLOW_THRESHOLD_MS = 1000;
+  public static final int DEFAULT_SLOW_LOG_SIZE = 100;
+  public static final int DEFAULT_MAX_QUERIES = 1000;
+
+  public static final String OTHER_QUERIES = "(other queries)";
+
+  final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+  final ConcurrentMap<String, Metric> rawMetrics = new ConcurrentHashMap<>();
+  final Metric otherMetric = new Metric(this, OTHER_QUERIES);
+
+  final int maxQueries;
+  final long slowThresholdNanos;
+  final SlowQuery[] slowLog;
+  int slowLogNext;
+  long slowLogCount;
+
+  public QueryMetrics() {
+    this(DEFAULT_SLOW_THRESHOLD_MS, DEFAULT_SLOW_LOG_SIZE);
+  }
+
+  public QueryMetrics(long slowThresholdMs, int slowLogSize) {
+    this(slowThresholdMs, slowLogSize, DEFAULT_MAX_QUERIES);
+  }
+
+  public QueryMetrics(long slowThresholdMs, int slowLogSize, int maxQueries) {
+    Arguments.isTrue(slowThresholdMs >= 0, "slowThresholdMs must be non-negative.");
+    Arguments.isTrue(slowLogSize >= 0, "slowLogSize must be non-negative.");
+    Arguments.isTrue(maxQueries > 0, "maxQueries must be positive.");
+
+    this.maxQueries = maxQueries;
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    this.slowLog = new SlowQuery[slowLogSize];
+  }
+
+  public Metric getMetric(String query) {
+    Arguments.notNull(query);
+
+    var metric = rawMetrics.get(query);
+    if (metric != null) {
+      return metric;
+    }
+    var key = normalize(query);
+    metric = metrics.get(key);
+
+    // The caps may be exceeded slightly under contention
+    if (metric == null) {
+      metric = (metrics.size() < maxQueries) ? metrics.computeIfAbsent(key, n -> new Metric(this, n)) : otherMetric;
+    }
+    if (rawMetrics.size() < maxQueries) {
+      rawMetrics.putIfAbsent(query, metric);
+    }
+    return metric;
+  }
+
+  public List<QueryStat> snapshot() {
+    List<QueryStat> stats = new ArrayList<>(metrics.size());
+    for (Metric metric : metrics.values()) {
+      stats.add(metric.snapshot());
+    }
+    if (otherMetric.executions.sum() > 0) {
+      stats.add(otherMetric.snapshot());
+    }
+    stats.sort(Comparator.comparingLong(QueryStat::getTotalNanos).reversed());
+    return stats;
+  }
+
+  public synchronized List<SlowQuery> getSlowQueries() {
+    var size = (int) Math.min(slowLogCount, slowLog.length);
+    List<SlowQuery> list = new ArrayList<>(size);
+
+    for (var i = 0; i < size; i++) {
+      list.add(slowLog[(slowLogNext - size + i + slowLog.length) % slowLog.length]);
+    }
+    return Collections.unmodifiableList(list);
+  }
+
+  public void reset() {
+    metrics.values().forEach(m -> m.reset());
+    otherMetric.reset();
+
+    synchronized (this) {
+      Arrays.fill(slowLog, null);
+      slowLogNext = 0;
+      slowLogCount = 0;
+    }
+  }
+
+  protected synchronized void logSlowQuery(String query, long elapsedNanos) {
+    if (slowLog.length == 0) {
+      return;
+    }
+    slowLog[slowLogNext] = new SlowQuery(query, elapsedNanos, System.currentTimeMillis());
+    slowLogNext = (slowLogNext + 1) % slowLog.length;
+    slowLogCount++;
+  }
+
+  static String normalize(String query) {
+    var sb = new StringBuilder(query.length());
+    var space = false;
+    var len = query.length();
+
+    for (var i = 0; i < len; i++) {
+      var c = query.charAt(i);
+      if (Character.isWhitespace(c)) {
+        space = sb.length() > 0;
+        continue;
+      }
+      if (space) {
+        sb.append(' ');
+        space = false;
+      }
+
+      // String literal
+      if (c == '\'') {
+        i = skipQuoted(query, i, '\'');
+        sb.append('?');
+        continue;
+      }
+
+      // Quoted identifier
+      if (c == '"' || c == '`') {
+        var end = skipQuoted(query, i, c);
+        sb.append(query, i, Math.min(end + 1, len));
+        i = end;
+        continue;
+      }
+
+      // Numeric literal, not part of an identifier
+      if (Character.isDigit(c) && !isIdentifierEnd(sb)) {
+        while (i + 1 < len && (Character.isLetterOrDigit(query.charAt(i + 1)) || query.charAt(i + 1) == '.')) {
+          i++;
+        }
+        sb.append('?');
+        continue;
+      }
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+
+  // Index of the closing quote; a doubled quote is an escaped quote
+  static int skipQuoted(String query, int start, char quote) {
+    var i = start + 1;
+    while (i < query.length()) {
+      if (query.charAt(i) == quote) {
+        if (i + 1 < query.length() && query.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i;
+      }
+      i++;
+    }
+    return query.length() - 1;
+  }
+
+  static boolean isIdentifierEnd(StringBuilder sb) {
+    if (sb.length() == 0) {
+      return false;
+    }
+    var c = sb.charAt(sb.length() - 1);
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  }
+
+  // Latency buckets: [0, 1us), [1us, 2us), [2us, 4us), ... doubling up to ~ 35 minutes
+  static final int BUCKET_COUNT = 32;
+
+  static int toBucket(long elapsedNanos) {
+    var micros = elapsedNanos / 1000;
+    return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+  }
+
+  static long toBucketUpperNanos(int bucket) {
+    return (1L << bucket) * 1000;
+  }
+
+  /**
+   *
+   * @author Loc Ha
+   *
+   */
+  public static class Metric {
+
+    final QueryMetrics owner;
+    final String query;
+
+    final LongAdder executions = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAdder rows = new LongAdder();
+    final LongAdder batches = new LongAdder();
+    final LongAdder batchRows = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final AtomicLong maxNanos = new AtomicLong();
+    final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    Metric(QueryMetrics owner, String query) {
+      this.owner = owner;
+      this.query = query;
+
+      for (var i = 0; i < BUCKET_COUNT; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    public String getQuery() {
+      return query;
+    }
+
+    public void recordExecution(long elapsedNanos, long rowCount) {
+      executions.increment();
+      totalNanos.add(elapsedNanos);
+      buckets[toBucket(elapsedNanos)].increment();
+
+      if (rowCount > 0) {
+        rows.add(rowCount);
+      }
+
+      var max = maxNanos.get();
+      while (elapsedNanos > max && !maxNanos.compareAndSet(max, elapsedNanos)) {
+        max = maxNanos.get();
+      }
+      if (elapsedNanos >= owner.slowThresholdNanos) {
+        owner.logSlowQuery(query, elapsedNanos);
+      }
+    }
+
+    public void recordBatch(long elapsedNanos, int batchSize) {
+      batches.increment();
+      batchRows.add(batchSize);
+      recordExecution(elapsedNanos, 0);
+    }
+
+    public void recordRows(long rowCount) {
+      rows.add(rowCount);
+    }
+
+    public void recordError() {
+      errors.increment();
+    }
+
+    void reset() {
+      executions.reset();
+      totalNanos.reset();
+      rows.reset();
+      batches.reset();
+      batchRows.reset();
+      errors.reset();
+      maxNanos.set(0);
+
+      for (LongAdder bucket : buckets) {
+        bucket.reset();
+      }
+    }
+
+    QueryStat snapshot() {
+      var counts = new long[BUCKET_COUNT];
+      var total = 0L;
+
+      for (var i = 0; i < BUCKET_COUNT; i++) {
+        counts[i] = buckets[i].sum();
+        total += counts[i];
+      }
+      // Bucket upper bounds may exceed the slowest execution
+      var max = maxNanos.get();
+      return new QueryStat(query, executions.sum(), totalNanos.sum(), max,
+          Math.min(percentile(counts, total, 0.5), max), Math.min(percentile(counts, total, 0.95), max),
+          Math.min(percentile(counts, total, 0.99), max), rows.sum(), batches.sum(), batchRows.sum(), errors.sum());
+    }
+
+    static long percentile(long[] counts, long total, double p) {
+      if (total == 0) {
+        return 0;
+      }
+      var rank = (long) Math.ceil(p * total);
+      var seen = 0L;
+
+      for (var i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return toBucketUpperNanos(i);
+        }
+      }
+      return toBucketUpperNanos(counts.length - 1);
+    }
+  }
+
+  /**
+   *
+   * @author Loc Ha
+   *
+   */
+  public static class QueryStat {
+
+    final String query;
+    final long executions;
+    final long totalNanos;
+    final long maxNanos;
+    final long p50Nanos;
+    final long p95Nanos;
+    final long p99Nanos;
+    final long rows;
+    final long batches;
+    final long batchRows;
+    final long errors;
+
+    public QueryStat(String query, long executions, long totalNanos, long maxNanos, long p50Nanos, long p95Nanos,
+        long p99Nanos, long rows, long batches, long batchRows, long errors) {
+      this.query = query;
+      this.executions = executions;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.p50Nanos = p50Nanos;
+      this.p95Nanos = p95Nanos;
+      this.p99Nanos = p99Nanos;
+      this.rows = rows;
+      this.batches = batches;
+      this.batchRows = batchRows;
+      this.errors = errors;
+    }
+
+    public String getQuery() {
+      return query;
+    }
+
+    public long getExecutions() {
+      return executions;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    public long getMeanNanos() {
+      return (executions > 0) ? totalNanos / executions : 0;
+    }
+
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    /**
+     * Percentiles are the upper bounds of power-of-two microsecond buckets.
+     */
+    public long getP50Nanos() {
+      return p50Nanos;
+    }
+
+    public long getP95Nanos() {
+      return p95Nanos;
+    }
+
+    public long getP99Nanos() {
+      return p99Nanos;
+    }
+
+    public long getRows() {
+      return rows;
+    }
+
+    public long getBatches() {
+      return batches;
+    }
+
+    public long getBatchRows() {
+      return batchRows;
+    }
+
+    public long getErrors() {
+      return errors;
+    }
+
+    @Override
+    public String toString() {
+      return STR.fmt("executions={}, totalNanos={}, meanNanos={}, p95Nanos={}, rows={}, query={}", executions,
+          totalNanos, getMeanNanos(), p95Nanos, rows, query);
+    }
+  }
+
+  /**
+   *
+   * @author Loc Ha
+   *
+   */
+  public static class SlowQuery {
+
+    final String query;
+    final long elapsedNanos;
+    final long timestamp;
+
+    public SlowQuery(String query, long elapsedNanos, long timestamp) {
+      this.query = query;
+      this.elapsedNanos = elapsedNanos;
+      this.timestamp = timestamp;
+    }
+
+    public String getQuery() {
+      return query;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    @Override
+    public String toString() {
+      return STR.fmt("elapsedNanos={}, timestamp={}, query={}", elapsedNanos, timestamp, query);
+    }
+  }
+}
@@ -30,8 +30,10 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import com.appslandia.common.utils.Arguments;
 import com.appslandia.common.utils.NormalizeUtils;
@@ -47,6 +49,11 @@ public class ResultSetImpl implements ResultSet {
 
   protected final ResultSet rs;
   protected List<ResultSetColumn> columns;
+  protected ColumnLabelIndex labelIndex;
+  protected Map<Object, Object> mapperBindings;
+
+  QueryMetrics.Metric metric;
+  long rowCount;
 
   public ResultSetImpl(ResultSet rs) {
     Arguments.isTrue(!(rs instanceof ResultSetImpl));
@@ -60,6 +67,17 @@ public class ResultSetImpl implements ResultSet {
     return columns;
   }
 
+  Object getMapperBinding(Object key) {
+    return (mapperBindings != null) ? mapperBindings.get(key) : null;
+  }
+
+  void putMapperBinding(Object key, Object binding) {
+    if (mapperBindings == null) {
+      mapperBindings = new IdentityHashMap<>();
+    }
+    mapperBindings.put(key, binding);
+  }
+
   public String valuesAsID(String... columnLabels) throws UncheckedSQLException {
     Arguments.hasElements(columnLabels);
 
@@ -82,7 +100,7 @@ public class ResultSetImpl implements ResultSet {
   // Strings
 
   public String getStringReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getString(columnLabel);
+    var value = rs.getString(findColumn(columnLabel));
     if (value == null) {
       throw assertNotNull(columnLabel);
     }
@@ -90,12 +108,12 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public String getString(String columnLabel, String ifNull) throws java.sql.SQLException {
-    var value = rs.getString(columnLabel);
+    var value = rs.getString(findColumn(columnLabel));
     return (value != null) ? value : ifNull;
   }
 
   public String getNStringReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getNString(columnLabel);
+    var value = rs.getNString(findColumn(columnLabel));
     if (value == null) {
       throw assertNotNull(columnLabel);
     }
@@ -103,7 +121,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public String getNString(String columnLabel, String ifNull) throws java.sql.SQLException {
-    var value = rs.getNString(columnLabel);
+    var value = rs.getNString(findColumn(columnLabel));
     return (value != null) ? value : ifNull;
   }
 
@@ -112,7 +130,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public String getStringUpper(String columnLabel, Locale locale) throws java.sql.SQLException {
-    var value = rs.getString(columnLabel);
+    var value = rs.getString(findColumn(columnLabel));
     return (value != null) ? value.toUpperCase(locale) : null;
   }
 
@@ -121,7 +139,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public String getStringUpper(String columnLabel, String ifNull, Locale locale) throws java.sql.SQLException {
-    var value = rs.getString(columnLabel);
+    var value = rs.getString(findColumn(columnLabel));
     return (value != null) ? value.toUpperCase(locale) : StringUtils.toUpperCase(ifNull, locale);
   }
 
@@ -139,7 +157,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public String getStringLower(String columnLabel, Locale locale) throws java.sql.SQLException {
-    var value = rs.getString(columnLabel);
+    var value = rs.getString(findColumn(columnLabel));
     return (value != null) ? value.toLowerCase(locale) : null;
   }
 
@@ -148,7 +166,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public String getStringLower(String columnLabel, String ifNull, Locale locale) throws java.sql.SQLException {
-    var value = rs.getString(columnLabel);
+    var value = rs.getString(findColumn(columnLabel));
     return (value != null) ? value.toLowerCase(locale) : StringUtils.toLowerCase(ifNull, locale);
   }
 
@@ -164,17 +182,17 @@ public class ResultSetImpl implements ResultSet {
   // Primitives & Wrappers
 
   public boolean getBool(String columnLabel, boolean ifNull) throws java.sql.SQLException {
-    var value = rs.getBoolean(columnLabel);
+    var value = rs.getBoolean(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Boolean getBoolOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getBoolean(columnLabel);
+    var value = rs.getBoolean(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public boolean getBoolReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getBoolean(columnLabel);
+    var value = rs.getBoolean(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -182,17 +200,17 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public byte getByte(String columnLabel, byte ifNull) throws java.sql.SQLException {
-    var value = rs.getByte(columnLabel);
+    var value = rs.getByte(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Byte getByteOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getByte(columnLabel);
+    var value = rs.getByte(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public byte getByteReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getByte(columnLabel);
+    var value = rs.getByte(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -200,17 +218,17 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public short getShort(String columnLabel, short ifNull) throws java.sql.SQLException {
-    var value = rs.getShort(columnLabel);
+    var value = rs.getShort(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Short getShortOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getShort(columnLabel);
+    var value = rs.getShort(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public short getShortReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getShort(columnLabel);
+    var value = rs.getShort(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -218,17 +236,17 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public int getInt(String columnLabel, int ifNull) throws java.sql.SQLException {
-    var value = rs.getInt(columnLabel);
+    var value = rs.getInt(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Integer getIntOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getInt(columnLabel);
+    var value = rs.getInt(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public int getIntReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getInt(columnLabel);
+    var value = rs.getInt(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -236,17 +254,17 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public long getLong(String columnLabel, long ifNull) throws java.sql.SQLException {
-    var value = rs.getLong(columnLabel);
+    var value = rs.getLong(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Long getLongOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getLong(columnLabel);
+    var value = rs.getLong(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public long getLongReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getLong(columnLabel);
+    var value = rs.getLong(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -254,17 +272,17 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public float getFloat(String columnLabel, float ifNull) throws java.sql.SQLException {
-    var value = rs.getFloat(columnLabel);
+    var value = rs.getFloat(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Float getFloatOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getFloat(columnLabel);
+    var value = rs.getFloat(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public float getFloatReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getFloat(columnLabel);
+    var value = rs.getFloat(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -272,17 +290,17 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public double getDouble(String columnLabel, double ifNull) throws java.sql.SQLException {
-    var value = rs.getDouble(columnLabel);
+    var value = rs.getDouble(findColumn(columnLabel));
     return !rs.wasNull() ? value : ifNull;
   }
 
   public Double getDoubleOpt(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getDouble(columnLabel);
+    var value = rs.getDouble(findColumn(columnLabel));
     return !rs.wasNull() ? value : null;
   }
 
   public double getDoubleReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getDouble(columnLabel);
+    var value = rs.getDouble(findColumn(columnLabel));
     if (rs.wasNull()) {
       throw assertNotNull(columnLabel);
     }
@@ -292,7 +310,7 @@ public class ResultSetImpl implements ResultSet {
   // Decimal
 
   public BigDecimal getDecimalReq(String columnLabel) throws java.sql.SQLException {
-    var value = rs.getBigDecimal(columnLabel);
+    var value = rs.getBigDecimal(findColumn(columnLabel));
     if (value == null) {
       throw assertNotNull(columnLabel);
     }
@@ -300,14 +318,14 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public BigDecimal getDecimal(String columnLabel, double ifNull) throws java.sql.SQLException {
-    var value = rs.getBigDecimal(columnLabel);
+    var value = rs.getBigDecimal(findColumn(columnLabel));
     return (value != null) ? value : new BigDecimal(Double.toString(ifNull));
   }
 
   // Object
 
   public <T> T getObjectReq(String columnLabel, Class<T> type) throws java.sql.SQLException {
-    var value = rs.getObject(columnLabel, type);
+    var value = rs.getObject(findColumn(columnLabel), type);
     if (value == null) {
       throw assertNotNull(columnLabel);
     }
@@ -321,7 +339,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public LocalDate getLocalDate(String columnLabel) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, LocalDate.class);
+    return rs.getObject(findColumn(columnLabel), LocalDate.class);
   }
 
   public LocalDateTime getLocalDateTimeReq(String columnLabel) throws java.sql.SQLException {
@@ -329,7 +347,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public LocalDateTime getLocalDateTime(String columnLabel) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, LocalDateTime.class);
+    return rs.getObject(findColumn(columnLabel), LocalDateTime.class);
   }
 
   public LocalTime getLocalTimeReq(String columnLabel) throws java.sql.SQLException {
@@ -337,7 +355,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public LocalTime getLocalTime(String columnLabel) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, LocalTime.class);
+    return rs.getObject(findColumn(columnLabel), LocalTime.class);
   }
 
   public OffsetDateTime getOffsetDateTimeReq(String columnLabel) throws java.sql.SQLException {
@@ -345,7 +363,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public OffsetDateTime getOffsetDateTime(String columnLabel) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, OffsetDateTime.class);
+    return rs.getObject(findColumn(columnLabel), OffsetDateTime.class);
   }
 
   public OffsetTime getOffsetTimeReq(String columnLabel) throws java.sql.SQLException {
@@ -353,7 +371,7 @@ public class ResultSetImpl implements ResultSet {
   }
 
   public OffsetTime getOffsetTime(String columnLabel) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, OffsetTime.class);
+    return rs.getObject(findColumn(columnLabel), OffsetTime.class);
   }
 
   // java.sql.ResultSet
@@ -365,12 +383,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public boolean getBoolean(String columnLabel) throws java.sql.SQLException {
-    return rs.getBoolean(columnLabel);
+    return rs.getBoolean(findColumn(columnLabel));
   }
 
   @Override
   public String getString(String columnLabel) throws java.sql.SQLException {
-    return rs.getString(columnLabel);
+    return rs.getString(findColumn(columnLabel));
   }
 
   @Override
@@ -380,7 +398,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public String getNString(String columnLabel) throws java.sql.SQLException {
-    return rs.getNString(columnLabel);
+    return rs.getNString(findColumn(columnLabel));
   }
 
   @Override
@@ -390,7 +408,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public byte getByte(String columnLabel) throws java.sql.SQLException {
-    return rs.getByte(columnLabel);
+    return rs.getByte(findColumn(columnLabel));
   }
 
   @Override
@@ -405,7 +423,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public byte[] getBytes(String columnLabel) throws java.sql.SQLException {
-    return rs.getBytes(columnLabel);
+    return rs.getBytes(findColumn(columnLabel));
   }
 
   @Override
@@ -415,7 +433,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public short getShort(String columnLabel) throws java.sql.SQLException {
-    return rs.getShort(columnLabel);
+    return rs.getShort(findColumn(columnLabel));
   }
 
   @Override
@@ -425,12 +443,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public int getInt(String columnLabel) throws java.sql.SQLException {
-    return rs.getInt(columnLabel);
+    return rs.getInt(findColumn(columnLabel));
   }
 
   @Override
   public long getLong(String columnLabel) throws java.sql.SQLException {
-    return rs.getLong(columnLabel);
+    return rs.getLong(findColumn(columnLabel));
   }
 
   @Override
@@ -440,7 +458,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public float getFloat(String columnLabel) throws java.sql.SQLException {
-    return rs.getFloat(columnLabel);
+    return rs.getFloat(findColumn(columnLabel));
   }
 
   @Override
@@ -450,7 +468,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public double getDouble(String columnLabel) throws java.sql.SQLException {
-    return rs.getDouble(columnLabel);
+    return rs.getDouble(findColumn(columnLabel));
   }
 
   @Override
@@ -461,12 +479,12 @@ public class ResultSetImpl implements ResultSet {
   @Override
   @Deprecated
   public java.math.BigDecimal getBigDecimal(String columnLabel, int scale) throws java.sql.SQLException {
-    return rs.getBigDecimal(columnLabel, scale);
+    return rs.getBigDecimal(findColumn(columnLabel), scale);
   }
 
   @Override
   public java.math.BigDecimal getBigDecimal(String columnLabel) throws java.sql.SQLException {
-    return rs.getBigDecimal(columnLabel);
+    return rs.getBigDecimal(findColumn(columnLabel));
   }
 
   @Override
@@ -487,12 +505,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Date getDate(String columnLabel) throws java.sql.SQLException {
-    return rs.getDate(columnLabel);
+    return rs.getDate(findColumn(columnLabel));
   }
 
   @Override
   public java.sql.Date getDate(String columnLabel, java.util.Calendar cal) throws java.sql.SQLException {
-    return rs.getDate(columnLabel, cal);
+    return rs.getDate(findColumn(columnLabel), cal);
   }
 
   @Override
@@ -507,7 +525,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Time getTime(String columnLabel, java.util.Calendar cal) throws java.sql.SQLException {
-    return rs.getTime(columnLabel, cal);
+    return rs.getTime(findColumn(columnLabel), cal);
   }
 
   @Override
@@ -517,12 +535,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Time getTime(String columnLabel) throws java.sql.SQLException {
-    return rs.getTime(columnLabel);
+    return rs.getTime(findColumn(columnLabel));
   }
 
   @Override
   public java.sql.Timestamp getTimestamp(String columnLabel) throws java.sql.SQLException {
-    return rs.getTimestamp(columnLabel);
+    return rs.getTimestamp(findColumn(columnLabel));
   }
 
   @Override
@@ -532,7 +550,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Timestamp getTimestamp(String columnLabel, java.util.Calendar cal) throws java.sql.SQLException {
-    return rs.getTimestamp(columnLabel, cal);
+    return rs.getTimestamp(findColumn(columnLabel), cal);
   }
 
   @Override
@@ -547,7 +565,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public Object getObject(String columnLabel) throws java.sql.SQLException {
-    var columnIndex = rs.findColumn(columnLabel);
+    var columnIndex = findColumn(columnLabel);
     return getObject(columnIndex);
   }
 
@@ -567,7 +585,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public Object getObject(String columnLabel, java.util.Map<String, Class<?>> map) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, map);
+    return rs.getObject(findColumn(columnLabel), map);
   }
 
   @Override
@@ -577,12 +595,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public <T> T getObject(String columnLabel, Class<T> type) throws java.sql.SQLException {
-    return rs.getObject(columnLabel, type);
+    return rs.getObject(findColumn(columnLabel), type);
   }
 
   @Override
   public java.net.URL getURL(String columnLabel) throws java.sql.SQLException {
-    return rs.getURL(columnLabel);
+    return rs.getURL(findColumn(columnLabel));
   }
 
   @Override
@@ -592,7 +610,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Array getArray(String columnLabel) throws java.sql.SQLException {
-    return rs.getArray(columnLabel);
+    return rs.getArray(findColumn(columnLabel));
   }
 
   @Override
@@ -602,7 +620,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.SQLXML getSQLXML(String columnLabel) throws java.sql.SQLException {
-    return rs.getSQLXML(columnLabel);
+    return rs.getSQLXML(findColumn(columnLabel));
   }
 
   @Override
@@ -617,12 +635,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Ref getRef(String columnLabel) throws java.sql.SQLException {
-    return rs.getRef(columnLabel);
+    return rs.getRef(findColumn(columnLabel));
   }
 
   @Override
   public java.sql.RowId getRowId(String columnLabel) throws java.sql.SQLException {
-    return rs.getRowId(columnLabel);
+    return rs.getRowId(findColumn(columnLabel));
   }
 
   @Override
@@ -637,7 +655,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.Clob getClob(String columnLabel) throws java.sql.SQLException {
-    return rs.getClob(columnLabel);
+    return rs.getClob(findColumn(columnLabel));
   }
 
   @Override
@@ -647,12 +665,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.sql.NClob getNClob(String columnLabel) throws java.sql.SQLException {
-    return rs.getNClob(columnLabel);
+    return rs.getNClob(findColumn(columnLabel));
   }
 
   @Override
   public java.io.InputStream getAsciiStream(String columnLabel) throws java.sql.SQLException {
-    return rs.getAsciiStream(columnLabel);
+    return rs.getAsciiStream(findColumn(columnLabel));
   }
 
   @Override
@@ -667,7 +685,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.io.Reader getCharacterStream(String columnLabel) throws java.sql.SQLException {
-    return rs.getCharacterStream(columnLabel);
+    return rs.getCharacterStream(findColumn(columnLabel));
   }
 
   @Override
@@ -677,7 +695,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.io.Reader getNCharacterStream(String columnLabel) throws java.sql.SQLException {
-    return rs.getNCharacterStream(columnLabel);
+    return rs.getNCharacterStream(findColumn(columnLabel));
   }
 
   @Override
@@ -689,12 +707,12 @@ public class ResultSetImpl implements ResultSet {
   @Override
   @Deprecated
   public java.io.InputStream getUnicodeStream(String columnLabel) throws java.sql.SQLException {
-    return rs.getUnicodeStream(columnLabel);
+    return rs.getUnicodeStream(findColumn(columnLabel));
   }
 
   @Override
   public java.sql.Blob getBlob(String columnLabel) throws java.sql.SQLException {
-    return rs.getBlob(columnLabel);
+    return rs.getBlob(findColumn(columnLabel));
   }
 
   @Override
@@ -704,7 +722,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public java.io.InputStream getBinaryStream(String columnLabel) throws java.sql.SQLException {
-    return rs.getBinaryStream(columnLabel);
+    return rs.getBinaryStream(findColumn(columnLabel));
   }
 
   @Override
@@ -764,7 +782,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateBoolean(String columnLabel, boolean x) throws java.sql.SQLException {
-    rs.updateBoolean(columnLabel, x);
+    rs.updateBoolean(findColumn(columnLabel), x);
   }
 
   @Override
@@ -779,12 +797,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateString(String columnLabel, String x) throws java.sql.SQLException {
-    rs.updateString(columnLabel, x);
+    rs.updateString(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateNString(String columnLabel, String nString) throws java.sql.SQLException {
-    rs.updateNString(columnLabel, nString);
+    rs.updateNString(findColumn(columnLabel), nString);
   }
 
   @Override
@@ -794,7 +812,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateBytes(String columnLabel, byte[] x) throws java.sql.SQLException {
-    rs.updateBytes(columnLabel, x);
+    rs.updateBytes(findColumn(columnLabel), x);
   }
 
   @Override
@@ -804,7 +822,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateByte(String columnLabel, byte x) throws java.sql.SQLException {
-    rs.updateByte(columnLabel, x);
+    rs.updateByte(findColumn(columnLabel), x);
   }
 
   @Override
@@ -814,7 +832,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateShort(String columnLabel, short x) throws java.sql.SQLException {
-    rs.updateShort(columnLabel, x);
+    rs.updateShort(findColumn(columnLabel), x);
   }
 
   @Override
@@ -829,12 +847,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateInt(String columnLabel, int x) throws java.sql.SQLException {
-    rs.updateInt(columnLabel, x);
+    rs.updateInt(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateLong(String columnLabel, long x) throws java.sql.SQLException {
-    rs.updateLong(columnLabel, x);
+    rs.updateLong(findColumn(columnLabel), x);
   }
 
   @Override
@@ -844,7 +862,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateFloat(String columnLabel, float x) throws java.sql.SQLException {
-    rs.updateFloat(columnLabel, x);
+    rs.updateFloat(findColumn(columnLabel), x);
   }
 
   @Override
@@ -854,7 +872,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateDouble(String columnLabel, double x) throws java.sql.SQLException {
-    rs.updateDouble(columnLabel, x);
+    rs.updateDouble(findColumn(columnLabel), x);
   }
 
   @Override
@@ -869,12 +887,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateBigDecimal(String columnLabel, java.math.BigDecimal x) throws java.sql.SQLException {
-    rs.updateBigDecimal(columnLabel, x);
+    rs.updateBigDecimal(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateAsciiStream(String columnLabel, java.io.InputStream x) throws java.sql.SQLException {
-    rs.updateAsciiStream(columnLabel, x);
+    rs.updateAsciiStream(findColumn(columnLabel), x);
   }
 
   @Override
@@ -884,12 +902,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateAsciiStream(String columnLabel, java.io.InputStream x, int length) throws java.sql.SQLException {
-    rs.updateAsciiStream(columnLabel, x, length);
+    rs.updateAsciiStream(findColumn(columnLabel), x, length);
   }
 
   @Override
   public void updateAsciiStream(String columnLabel, java.io.InputStream x, long length) throws java.sql.SQLException {
-    rs.updateAsciiStream(columnLabel, x, length);
+    rs.updateAsciiStream(findColumn(columnLabel), x, length);
   }
 
   @Override
@@ -904,17 +922,17 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateBinaryStream(String columnLabel, java.io.InputStream x) throws java.sql.SQLException {
-    rs.updateBinaryStream(columnLabel, x);
+    rs.updateBinaryStream(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateBinaryStream(String columnLabel, java.io.InputStream x, int length) throws java.sql.SQLException {
-    rs.updateBinaryStream(columnLabel, x, length);
+    rs.updateBinaryStream(findColumn(columnLabel), x, length);
   }
 
   @Override
   public void updateBinaryStream(String columnLabel, java.io.InputStream x, long length) throws java.sql.SQLException {
-    rs.updateBinaryStream(columnLabel, x, length);
+    rs.updateBinaryStream(findColumn(columnLabel), x, length);
   }
 
   @Override
@@ -940,7 +958,7 @@ public class ResultSetImpl implements ResultSet {
   @Override
   public void updateCharacterStream(String columnLabel, java.io.Reader reader, long length)
       throws java.sql.SQLException {
-    rs.updateCharacterStream(columnLabel, reader, length);
+    rs.updateCharacterStream(findColumn(columnLabel), reader, length);
   }
 
   @Override
@@ -956,12 +974,12 @@ public class ResultSetImpl implements ResultSet {
   @Override
   public void updateCharacterStream(String columnLabel, java.io.Reader reader, int length)
       throws java.sql.SQLException {
-    rs.updateCharacterStream(columnLabel, reader, length);
+    rs.updateCharacterStream(findColumn(columnLabel), reader, length);
   }
 
   @Override
   public void updateCharacterStream(String columnLabel, java.io.Reader reader) throws java.sql.SQLException {
-    rs.updateCharacterStream(columnLabel, reader);
+    rs.updateCharacterStream(findColumn(columnLabel), reader);
   }
 
   @Override
@@ -971,7 +989,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateNull(String columnLabel) throws java.sql.SQLException {
-    rs.updateNull(columnLabel);
+    rs.updateNull(findColumn(columnLabel));
   }
 
   @Override
@@ -981,12 +999,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateDate(String columnLabel, java.sql.Date x) throws java.sql.SQLException {
-    rs.updateDate(columnLabel, x);
+    rs.updateDate(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateTime(String columnLabel, java.sql.Time x) throws java.sql.SQLException {
-    rs.updateTime(columnLabel, x);
+    rs.updateTime(findColumn(columnLabel), x);
   }
 
   @Override
@@ -996,7 +1014,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateTimestamp(String columnLabel, java.sql.Timestamp x) throws java.sql.SQLException {
-    rs.updateTimestamp(columnLabel, x);
+    rs.updateTimestamp(findColumn(columnLabel), x);
   }
 
   @Override
@@ -1018,17 +1036,17 @@ public class ResultSetImpl implements ResultSet {
   @Override
   public void updateObject(String columnLabel, Object x, java.sql.SQLType targetSqlType, int scaleOrLength)
       throws java.sql.SQLException {
-    rs.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+    rs.updateObject(findColumn(columnLabel), x, targetSqlType, scaleOrLength);
   }
 
   @Override
   public void updateObject(String columnLabel, Object x, java.sql.SQLType targetSqlType) throws java.sql.SQLException {
-    rs.updateObject(columnLabel, x, targetSqlType);
+    rs.updateObject(findColumn(columnLabel), x, targetSqlType);
   }
 
   @Override
   public void updateObject(String columnLabel, Object x, int scaleOrLength) throws java.sql.SQLException {
-    rs.updateObject(columnLabel, x, scaleOrLength);
+    rs.updateObject(findColumn(columnLabel), x, scaleOrLength);
   }
 
   @Override
@@ -1043,7 +1061,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateObject(String columnLabel, Object x) throws java.sql.SQLException {
-    rs.updateObject(columnLabel, x);
+    rs.updateObject(findColumn(columnLabel), x);
   }
 
   @Override
@@ -1058,18 +1076,18 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateRef(String columnLabel, java.sql.Ref x) throws java.sql.SQLException {
-    rs.updateRef(columnLabel, x);
+    rs.updateRef(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateBlob(String columnLabel, java.io.InputStream inputStream, long length)
       throws java.sql.SQLException {
-    rs.updateBlob(columnLabel, inputStream, length);
+    rs.updateBlob(findColumn(columnLabel), inputStream, length);
   }
 
   @Override
   public void updateBlob(String columnLabel, java.io.InputStream inputStream) throws java.sql.SQLException {
-    rs.updateBlob(columnLabel, inputStream);
+    rs.updateBlob(findColumn(columnLabel), inputStream);
   }
 
   @Override
@@ -1084,7 +1102,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateBlob(String columnLabel, java.sql.Blob x) throws java.sql.SQLException {
-    rs.updateBlob(columnLabel, x);
+    rs.updateBlob(findColumn(columnLabel), x);
   }
 
   @Override
@@ -1094,7 +1112,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateClob(String columnLabel, java.sql.Clob x) throws java.sql.SQLException {
-    rs.updateClob(columnLabel, x);
+    rs.updateClob(findColumn(columnLabel), x);
   }
 
   @Override
@@ -1114,12 +1132,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateClob(String columnLabel, java.io.Reader reader) throws java.sql.SQLException {
-    rs.updateClob(columnLabel, reader);
+    rs.updateClob(findColumn(columnLabel), reader);
   }
 
   @Override
   public void updateClob(String columnLabel, java.io.Reader reader, long length) throws java.sql.SQLException {
-    rs.updateClob(columnLabel, reader, length);
+    rs.updateClob(findColumn(columnLabel), reader, length);
   }
 
   @Override
@@ -1129,7 +1147,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateArray(String columnLabel, java.sql.Array x) throws java.sql.SQLException {
-    rs.updateArray(columnLabel, x);
+    rs.updateArray(findColumn(columnLabel), x);
   }
 
   @Override
@@ -1139,12 +1157,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateRowId(String columnLabel, java.sql.RowId x) throws java.sql.SQLException {
-    rs.updateRowId(columnLabel, x);
+    rs.updateRowId(findColumn(columnLabel), x);
   }
 
   @Override
   public void updateNClob(String columnLabel, java.io.Reader reader) throws java.sql.SQLException {
-    rs.updateNClob(columnLabel, reader);
+    rs.updateNClob(findColumn(columnLabel), reader);
   }
 
   @Override
@@ -1159,12 +1177,12 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateNClob(String columnLabel, java.io.Reader reader, long length) throws java.sql.SQLException {
-    rs.updateNClob(columnLabel, reader, length);
+    rs.updateNClob(findColumn(columnLabel), reader, length);
   }
 
   @Override
   public void updateNClob(String columnLabel, java.sql.NClob nClob) throws java.sql.SQLException {
-    rs.updateNClob(columnLabel, nClob);
+    rs.updateNClob(findColumn(columnLabel), nClob);
   }
 
   @Override
@@ -1174,7 +1192,7 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateSQLXML(String columnLabel, java.sql.SQLXML xmlObject) throws java.sql.SQLException {
-    rs.updateSQLXML(columnLabel, xmlObject);
+    rs.updateSQLXML(findColumn(columnLabel), xmlObject);
   }
 
   @Override
@@ -1189,13 +1207,13 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void updateNCharacterStream(String columnLabel, java.io.Reader reader) throws java.sql.SQLException {
-    rs.updateNCharacterStream(columnLabel, reader);
+    rs.updateNCharacterStream(findColumn(columnLabel), reader);
   }
 
   @Override
   public void updateNCharacterStream(String columnLabel, java.io.Reader reader, long length)
       throws java.sql.SQLException {
-    rs.updateNCharacterStream(columnLabel, reader, length);
+    rs.updateNCharacterStream(findColumn(columnLabel), reader, length);
   }
 
   @Override
@@ -1255,7 +1273,11 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public int findColumn(String columnLabel) throws java.sql.SQLException {
-    return rs.findColumn(columnLabel);
+    if (labelIndex == null) {
+      labelIndex = new ColumnLabelIndex(getColumns());
+    }
+    var columnIndex = labelIndex.indexOf(columnLabel);
+    return (columnIndex > 0) ? columnIndex : rs.findColumn(columnLabel);
   }
 
   @Override
@@ -1305,7 +1327,11 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public boolean next() throws java.sql.SQLException {
-    return rs.next();
+    if (rs.next()) {
+      rowCount++;
+      return true;
+    }
+    return false;
   }
 
   @Override
@@ -1354,6 +1380,10 @@ public class ResultSetImpl implements ResultSet {
 
   @Override
   public void close() throws java.sql.SQLException {
+    if (metric != null) {
+      metric.recordRows(rowCount);
+      metric = null;
+    }
     rs.close();
   }
 }
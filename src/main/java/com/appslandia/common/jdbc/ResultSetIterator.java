@@ -0,0 +1,148 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import com.appslandia.common.utils.Arguments;
+import com.appslandia.common.utils.StreamUtils;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class ResultSetIterator<T> implements Iterator<T>, AutoCloseable {
+
+  final Statement stat;
+  final ResultSetImpl rs;
+  final ResultSetMapper<T> mapper;
+  final ConnectionImpl autoCommitConn;
+
+  private Boolean hasNext;
+  private boolean closed;
+
+  public ResultSetIterator(Statement stat, ResultSetImpl rs, ResultSetMapper<T> mapper) {
+    this(stat, rs, mapper, null);
+  }
+
+  /**
+   * Constructs a ResultSetIterator that owns the given statement and result set.
+   *
+   * @param autoCommitConn If not null, its auto-commit mode is re-enabled when this iterator is closed.
+   */
+  public ResultSetIterator(Statement stat, ResultSetImpl rs, ResultSetMapper<T> mapper,
+      ConnectionImpl autoCommitConn) {
+    this.stat = stat;
+    this.rs = Arguments.notNull(rs);
+    this.mapper = Arguments.notNull(mapper);
+    this.autoCommitConn = autoCommitConn;
+  }
+
+  @Override
+  public boolean hasNext() throws UncheckedSQLException {
+    if (closed) {
+      return false;
+    }
+    if (hasNext == null) {
+      try {
+        hasNext = rs.next();
+        if (!hasNext) {
+          close();
+        }
+      } catch (SQLException ex) {
+        throw new UncheckedSQLException(ex);
+      }
+    }
+    return hasNext;
+  }
+
+  @Override
+  public T next() throws UncheckedSQLException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    hasNext = null;
+    try {
+      return mapper.map(rs);
+
+    } catch (SQLException ex) {
+      throw new UncheckedSQLException(ex);
+    }
+  }
+
+  public Stream<T> stream() {
+    return StreamUtils.stream(this).onClose(() -> {
+      try {
+        close();
+      } catch (SQLException ex) {
+        throw new UncheckedSQLException(ex);
+      }
+    });
+  }
+
+  @Override
+  public void close() throws java.sql.SQLException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    SQLException err = null;
+
+    try {
+      rs.close();
+    } catch (SQLException ex) {
+      err = ex;
+    }
+
+    if (stat != null) {
+      try {
+        stat.close();
+      } catch (SQLException ex) {
+        if (err == null) {
+          err = ex;
+        } else {
+          err.addSuppressed(ex);
+        }
+      }
+    }
+
+    if (autoCommitConn != null) {
+      try {
+        autoCommitConn.setAutoCommit(true);
+      } catch (SQLException ex) {
+        if (err == null) {
+          err = ex;
+        } else {
+          err.addSuppressed(ex);
+        }
+      }
+    }
+
+    if (err != null) {
+      throw err;
+    }
+  }
+}
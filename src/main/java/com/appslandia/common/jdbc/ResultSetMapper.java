@@ -29,4 +29,8 @@ package com.appslandia.common.jdbc;
 public interface ResultSetMapper<T> {
 
   T map(ResultSetImpl rs) throws java.sql.SQLException;
+
+  static <T> ResultSetMapper<T> of(Class<T> type) {
+    return ClassResultSetMapper.of(type);
+  }
 }
@@ -0,0 +1,390 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import com.appslandia.common.base.InitializingObject;
+import com.appslandia.common.threading.ThreadLocalStorage;
+import com.appslandia.common.utils.Arguments;
+
+/**
+ * A DataSource that sends writes to a primary and reads to replicas. {@link #getConnection()} always returns a
+ * primary connection; read-only work uses {@link #getReadDataSource()}, for example through
+ * {@code new DbContext(routingDataSource, true)}.
+ *
+ * <p>
+ * After a thread writes through a primary connection (an update, batch or {@code execute} statement, or a commit
+ * following one), its reads stay on the primary for {@code readYourWritesMs} so it sees its own writes despite
+ * replica lag. A replica that fails to connect is skipped; if none is available, reads go to the primary.
+ * </p>
+ *
+ * @author Loc Ha
+ *
+ */
+public class RoutingDataSource extends InitializingObject implements DataSource {
+
+  public static final long DEFAULT_READ_YOUR_WRITES_MS = 1000;
+
+  public enum ReplicaSelection {
+    ROUND_ROBIN, LEAST_BUSY
+  }
+
+  private DataSource primary;
+  private List<DataSource> replicas = new ArrayList<>();
+  private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+  private long readYourWritesMs = DEFAULT_READ_YOUR_WRITES_MS;
+
+  private AtomicInteger[] activeCounts;
+  private final AtomicInteger next = new AtomicInteger();
+  private final ThreadLocalStorage<Long> lastWriteNanos = new ThreadLocalStorage<>();
+  private final DataSource readDataSource = new ReadDataSource();
+
+  @Override
+  protected void init() throws Exception {
+    Arguments.notNull(primary, "primary is required.");
+    Arguments.notNull(selection);
+    Arguments.isTrue(readYourWritesMs >= 0, "readYourWritesMs must be non-negative.");
+
+    replicas = List.copyOf(replicas);
+    activeCounts = new AtomicInteger[replicas.size()];
+
+    for (var i = 0; i < activeCounts.length; i++) {
+      activeCounts[i] = new AtomicInteger();
+    }
+  }
+
+  public DataSource getReadDataSource() {
+    initialize();
+    return readDataSource;
+  }
+
+  /**
+   * Routes this thread's reads to the primary for the read-your-writes window, e.g. after a write done through
+   * another DataSource.
+   */
+  public void markWrite() {
+    initialize();
+    lastWriteNanos.set(System.nanoTime());
+  }
+
+  public boolean isReadYourWritesActive() {
+    initialize();
+    var last = lastWriteNanos.get();
+    if (last == null) {
+      return false;
+    }
+    if (System.nanoTime() - last < TimeUnit.MILLISECONDS.toNanos(readYourWritesMs)) {
+      return true;
+    }
+    lastWriteNanos.remove();
+    return false;
+  }
+
+  public int getActiveCount(int replicaIndex) {
+    initialize();
+    return activeCounts[replicaIndex].get();
+  }
+
+  protected Connection getReadConnection() throws SQLException {
+    if (replicas.isEmpty() || isReadYourWritesActive()) {
+      return primary.getConnection();
+    }
+
+    var start = selectReplica();
+    SQLException err = null;
+
+    for (var i = 0; i < replicas.size(); i++) {
+      var idx = (start + i) % replicas.size();
+      try {
+        return track(replicas.get(idx).getConnection(), activeCounts[idx]);
+
+      } catch (SQLException ex) {
+        if (err == null) {
+          err = ex;
+        } else {
+          err.addSuppressed(ex);
+        }
+      }
+    }
+
+    // No replica available
+    try {
+      return primary.getConnection();
+    } catch (SQLException ex) {
+      ex.addSuppressed(err);
+      throw ex;
+    }
+  }
+
+  protected int selectReplica() {
+    if (selection == ReplicaSelection.ROUND_ROBIN) {
+      return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    // Least busy; ties rotate
+    var offset = Math.floorMod(next.getAndIncrement(), replicas.size());
+    var best = offset;
+
+    for (var i = 1; i < replicas.size(); i++) {
+      var idx = (offset + i) % replicas.size();
+      if (activeCounts[idx].get() < activeCounts[best].get()) {
+        best = idx;
+      }
+    }
+    return best;
+  }
+
+  static Connection track(Connection conn, AtomicInteger activeCount) {
+    activeCount.incrementAndGet();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+        new TrackingHandler(conn, activeCount));
+  }
+
+  static class TrackingHandler implements InvocationHandler {
+    final Connection conn;
+    final AtomicInteger activeCount;
+    boolean closed;
+
+    TrackingHandler(Connection conn, AtomicInteger activeCount) {
+      this.conn = conn;
+      this.activeCount = activeCount;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+        synchronized (this) {
+          if (!closed) {
+            closed = true;
+            activeCount.decrementAndGet();
+          }
+        }
+      }
+      try {
+        return method.invoke(conn, args);
+      } catch (InvocationTargetException ex) {
+        throw ex.getCause();
+      }
+    }
+  }
+
+  protected Connection trackWrites(Connection conn) {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+        new WriteTrackingHandler(conn));
+  }
+
+  // Marks a write after update statements and after a commit that follows them
+  class WriteTrackingHandler implements InvocationHandler {
+    final Object target;
+    final WriteTrackingHandler connHandler;
+    boolean written;
+
+    WriteTrackingHandler(Connection conn) {
+      this.target = conn;
+      this.connHandler = this;
+    }
+
+    WriteTrackingHandler(Statement stat, WriteTrackingHandler connHandler) {
+      this.target = stat;
+      this.connHandler = connHandler;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException ex) {
+        throw ex.getCause();
+      }
+
+      var name = method.getName();
+      if (target instanceof Connection) {
+        if (result instanceof Statement stat && Statement.class.isAssignableFrom(method.getReturnType())) {
+          return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { method.getReturnType() },
+              new WriteTrackingHandler(stat, this));
+        }
+        if (name.equals("commit") && written) {
+          written = false;
+          lastWriteNanos.set(System.nanoTime());
+        }
+        return result;
+      }
+
+      // execute() may run a query; treated as a write
+      if (name.startsWith("execute") && !name.equals("executeQuery")) {
+        connHandler.written = true;
+        lastWriteNanos.set(System.nanoTime());
+      }
+      return result;
+    }
+  }
+
+  public RoutingDataSource setPrimary(DataSource primary) {
+    assertNotInitialized();
+    this.primary = primary;
+    return this;
+  }
+
+  public RoutingDataSource addReplica(DataSource replica) {
+    assertNotInitialized();
+    Arguments.notNull(replica);
+
+    replicas.add(replica);
+    return this;
+  }
+
+  public RoutingDataSource setSelection(ReplicaSelection selection) {
+    assertNotInitialized();
+    this.selection = selection;
+    return this;
+  }
+
+  public RoutingDataSource setReadYourWritesMs(long readYourWritesMs) {
+    assertNotInitialized();
+    this.readYourWritesMs = readYourWritesMs;
+    return this;
+  }
+
+  // javax.sql.DataSource
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    initialize();
+    return trackWrites(primary.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    initialize();
+    return trackWrites(primary.getConnection(username, password));
+  }
+
+  // javax.sql.CommonDataSource
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    initialize();
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    initialize();
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    initialize();
+    return primary.getParentLogger();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    initialize();
+    primary.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    initialize();
+    primary.setLoginTimeout(seconds);
+  }
+
+  // Wrapper
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  class ReadDataSource implements DataSource {
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return getReadConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      throw new SQLFeatureNotSupportedException("Credentials are configured on the replica DataSources.");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+      return RoutingDataSource.this.getLogWriter();
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+      return RoutingDataSource.this.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+      return RoutingDataSource.this.getParentLogger();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+      RoutingDataSource.this.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+      RoutingDataSource.this.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+      return RoutingDataSource.this.isWrapperFor(iface);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+      return RoutingDataSource.this.unwrap(iface);
+    }
+  }
+}
@@ -0,0 +1,313 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.sql.Statement;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class StatementImpl implements Statement {
+
+  protected final Statement stat;
+  protected final ConnectionImpl owner;
+
+  public StatementImpl(Statement stat) {
+    this(stat, null);
+  }
+
+  public StatementImpl(Statement stat, ConnectionImpl owner) {
+    this.stat = stat;
+    this.owner = owner;
+  }
+
+  // java.sql.Statement
+
+  @Override
+  public java.sql.ResultSet executeQuery(String sql) throws java.sql.SQLException {
+    return stat.executeQuery(sql);
+  }
+
+  @Override
+  public int executeUpdate(String sql) throws java.sql.SQLException {
+    return stat.executeUpdate(sql);
+  }
+
+  @Override
+  public int getMaxFieldSize() throws java.sql.SQLException {
+    return stat.getMaxFieldSize();
+  }
+
+  @Override
+  public void setMaxFieldSize(int max) throws java.sql.SQLException {
+    stat.setMaxFieldSize(max);
+  }
+
+  @Override
+  public int getMaxRows() throws java.sql.SQLException {
+    return stat.getMaxRows();
+  }
+
+  @Override
+  public void setMaxRows(int max) throws java.sql.SQLException {
+    stat.setMaxRows(max);
+  }
+
+  @Override
+  public void setEscapeProcessing(boolean enable) throws java.sql.SQLException {
+    stat.setEscapeProcessing(enable);
+  }
+
+  @Override
+  public int getQueryTimeout() throws java.sql.SQLException {
+    return stat.getQueryTimeout();
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) throws java.sql.SQLException {
+    stat.setQueryTimeout(seconds);
+  }
+
+  @Override
+  public void cancel() throws java.sql.SQLException {
+    stat.cancel();
+  }
+
+  @Override
+  public java.sql.SQLWarning getWarnings() throws java.sql.SQLException {
+    return stat.getWarnings();
+  }
+
+  @Override
+  public void clearWarnings() throws java.sql.SQLException {
+    stat.clearWarnings();
+  }
+
+  @Override
+  public void setCursorName(String name) throws java.sql.SQLException {
+    stat.setCursorName(name);
+  }
+
+  @Override
+  public boolean execute(String sql) throws java.sql.SQLException {
+    return stat.execute(sql);
+  }
+
+  @Override
+  public java.sql.ResultSet getResultSet() throws java.sql.SQLException {
+    return stat.getResultSet();
+  }
+
+  @Override
+  public int getUpdateCount() throws java.sql.SQLException {
+    return stat.getUpdateCount();
+  }
+
+  @Override
+  public boolean getMoreResults() throws java.sql.SQLException {
+    return stat.getMoreResults();
+  }
+
+  @Override
+  public void setFetchDirection(int direction) throws java.sql.SQLException {
+    stat.setFetchDirection(direction);
+  }
+
+  @Override
+  public int getFetchDirection() throws java.sql.SQLException {
+    return stat.getFetchDirection();
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws java.sql.SQLException {
+    stat.setFetchSize(rows);
+  }
+
+  @Override
+  public int getFetchSize() throws java.sql.SQLException {
+    return stat.getFetchSize();
+  }
+
+  @Override
+  public int getResultSetConcurrency() throws java.sql.SQLException {
+    return stat.getResultSetConcurrency();
+  }
+
+  @Override
+  public int getResultSetType() throws java.sql.SQLException {
+    return stat.getResultSetType();
+  }
+
+  @Override
+  public void addBatch(String sql) throws java.sql.SQLException {
+    stat.addBatch(sql);
+  }
+
+  @Override
+  public void clearBatch() throws java.sql.SQLException {
+    stat.clearBatch();
+  }
+
+  @Override
+  public int[] executeBatch() throws java.sql.SQLException {
+    return stat.executeBatch();
+  }
+
+  @Override
+  public java.sql.Connection getConnection() throws java.sql.SQLException {
+    return stat.getConnection();
+  }
+
+  @Override
+  public boolean getMoreResults(int current) throws java.sql.SQLException {
+    return stat.getMoreResults(current);
+  }
+
+  @Override
+  public java.sql.ResultSet getGeneratedKeys() throws java.sql.SQLException {
+    return stat.getGeneratedKeys();
+  }
+
+  @Override
+  public int executeUpdate(String sql, int autoGeneratedKeys) throws java.sql.SQLException {
+    return stat.executeUpdate(sql, autoGeneratedKeys);
+  }
+
+  @Override
+  public int executeUpdate(String sql, int[] columnIndexes) throws java.sql.SQLException {
+    return stat.executeUpdate(sql, columnIndexes);
+  }
+
+  @Override
+  public int executeUpdate(String sql, String[] columnNames) throws java.sql.SQLException {
+    return stat.executeUpdate(sql, columnNames);
+  }
+
+  @Override
+  public boolean execute(String sql, int autoGeneratedKeys) throws java.sql.SQLException {
+    return stat.execute(sql, autoGeneratedKeys);
+  }
+
+  @Override
+  public boolean execute(String sql, int[] columnIndexes) throws java.sql.SQLException {
+    return stat.execute(sql, columnIndexes);
+  }
+
+  @Override
+  public boolean execute(String sql, String[] columnNames) throws java.sql.SQLException {
+    return stat.execute(sql, columnNames);
+  }
+
+  @Override
+  public int getResultSetHoldability() throws java.sql.SQLException {
+    return stat.getResultSetHoldability();
+  }
+
+  @Override
+  public boolean isClosed() throws java.sql.SQLException {
+    return stat.isClosed();
+  }
+
+  @Override
+  public void setPoolable(boolean poolable) throws java.sql.SQLException {
+    stat.setPoolable(poolable);
+  }
+
+  @Override
+  public boolean isPoolable() throws java.sql.SQLException {
+    return stat.isPoolable();
+  }
+
+  @Override
+  public void closeOnCompletion() throws java.sql.SQLException {
+    stat.closeOnCompletion();
+  }
+
+  @Override
+  public boolean isCloseOnCompletion() throws java.sql.SQLException {
+    return stat.isCloseOnCompletion();
+  }
+
+  @Override
+  public long getLargeUpdateCount() throws java.sql.SQLException {
+    return stat.getLargeUpdateCount();
+  }
+
+  @Override
+  public void setLargeMaxRows(long max) throws java.sql.SQLException {
+    stat.setLargeMaxRows(max);
+  }
+
+  @Override
+  public long getLargeMaxRows() throws java.sql.SQLException {
+    return stat.getLargeMaxRows();
+  }
+
+  @Override
+  public long[] executeLargeBatch() throws java.sql.SQLException {
+    return stat.executeLargeBatch();
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql) throws java.sql.SQLException {
+    return stat.executeLargeUpdate(sql);
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws java.sql.SQLException {
+    return stat.executeLargeUpdate(sql, autoGeneratedKeys);
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, int[] columnIndexes) throws java.sql.SQLException {
+    return stat.executeLargeUpdate(sql, columnIndexes);
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, String[] columnNames) throws java.sql.SQLException {
+    return stat.executeLargeUpdate(sql, columnNames);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws java.sql.SQLException {
+    return stat.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws java.sql.SQLException {
+    return stat.isWrapperFor(iface);
+  }
+
+  // AutoCloseable
+
+  @Override
+  public void close() throws java.sql.SQLException {
+    try {
+      stat.close();
+    } finally {
+      if (owner != null) {
+        owner.unregister(this);
+      }
+    }
+  }
+}
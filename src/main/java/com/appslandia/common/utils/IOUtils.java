@@ -37,6 +37,11 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +57,7 @@ import com.appslandia.common.base.StringOutput;
 public class IOUtils {
 
   private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private static final int CHANNEL_BUFFER_SIZE = 64 * 1024;
 
   public static int copy(InputStream is, OutputStream os) throws IOException {
     var count = 0;
@@ -88,6 +94,30 @@ public class IOUtils {
     return count;
   }
 
+  public static long copy(InputStream is, WritableByteChannel ch) throws IOException {
+    var buf = new byte[CHANNEL_BUFFER_SIZE];
+    var bb = ByteBuffer.wrap(buf);
+    var count = 0L;
+    var c = -1;
+
+    while ((c = is.readNBytes(buf, 0, buf.length)) > 0) {
+      bb.clear().limit(c);
+
+      while (bb.hasRemaining()) {
+        ch.write(bb);
+      }
+      count += c;
+    }
+    return count;
+  }
+
+  public static long copy(InputStream is, Path file) throws IOException {
+    try (var ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      return copy(is, ch);
+    }
+  }
+
   public static byte[] toByteArray(InputStream is) throws IOException {
     var os = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
     copy(is, os);
@@ -118,7 +148,14 @@ public class IOUtils {
   }
 
   public static BufferedReader readerBOM(String inputFile, String altEncoding) throws IOException {
-    return readerBOM(new FileInputStream(inputFile), altEncoding);
+    var is = new FileInputStream(inputFile);
+    try {
+      return readerBOM(is, altEncoding);
+
+    } catch (IOException | RuntimeException ex) {
+      closeQuietly(is);
+      throw ex;
+    }
   }
 
   public static BufferedReader readerBOM(InputStream is, String altEncoding) throws IOException {
@@ -0,0 +1,105 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.base;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class CaseInsensitiveHashMapTest {
+
+  @Test
+  public void test_putGet() {
+    var m = new CaseInsensitiveHashMap<String>();
+    m.put("Key1", "v1");
+
+    Assertions.assertEquals("v1", m.get("KEY1"));
+    Assertions.assertEquals("v1", m.get("key1"));
+    Assertions.assertTrue(m.containsKey("kEy1"));
+    Assertions.assertEquals("v1", m.put("KEY1", "v2"));
+    Assertions.assertEquals(1, m.size());
+    Assertions.assertEquals(List.of("key1"), List.copyOf(m.keySet()));
+  }
+
+  @Test
+  public void test_insertionOrder() {
+    var m = new CaseInsensitiveHashMap<Integer>();
+    for (var i = 0; i < 20; i++) {
+      m.put("K" + i, i);
+    }
+    m.remove("k3");
+    m.put("K3", 3);
+
+    Assertions.assertEquals(20, m.size());
+    Assertions.assertEquals("k0", m.keySet().iterator().next());
+    Assertions.assertEquals(3, m.values().stream().reduce((a, b) -> b).get());
+  }
+
+  @Test
+  public void test_iteratorRemove() {
+    var m = new CaseInsensitiveHashMap<Integer>();
+    for (var i = 0; i < 10; i++) {
+      m.put("K" + i, i);
+    }
+    m.entrySet().removeIf(e -> e.getValue() % 2 == 0);
+
+    Assertions.assertEquals(5, m.size());
+    Assertions.assertNull(m.get("k2"));
+    Assertions.assertEquals(3, m.get("K3"));
+  }
+
+  @Test
+  public void test_entryAfterResize() {
+    var m = new CaseInsensitiveHashMap<Integer>();
+    for (var i = 0; i < 10; i++) {
+      m.put("K" + i, i);
+    }
+    var it = m.entrySet().iterator();
+    var entry0 = it.next();
+    var entry1 = it.next();
+
+    // Compacting moves K1 to index 0, then the map grows
+    m.remove("K0");
+    for (var i = 10; i < 200; i++) {
+      m.put("K" + i, i);
+    }
+
+    Assertions.assertNull(entry0.getValue());
+    Assertions.assertThrows(IllegalStateException.class, () -> entry0.setValue(0));
+
+    Assertions.assertEquals(1, entry1.getValue());
+    Assertions.assertEquals(1, entry1.setValue(100));
+    Assertions.assertEquals(100, m.get("k1"));
+  }
+
+  @Test
+  public void test_equalsIgnoreCase() {
+    Assertions.assertTrue(CaseInsensitiveHashMap.equalsIgnoreCase("userName", "USERNAME"));
+    Assertions.assertFalse(CaseInsensitiveHashMap.equalsIgnoreCase("userName", "userNam"));
+    Assertions.assertEquals(CaseInsensitiveHashMap.hash("userName"), CaseInsensitiveHashMap.hash("USERNAME"));
+  }
+}
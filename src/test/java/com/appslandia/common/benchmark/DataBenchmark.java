@@ -0,0 +1,374 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import com.appslandia.common.base.CaseInsensitiveMap;
+import com.appslandia.common.base.DangerTaskConfirm;
+import com.appslandia.common.csv.BulkLoadStrategy;
+import com.appslandia.common.csv.CsvExporter;
+import com.appslandia.common.csv.CsvImporter;
+import com.appslandia.common.csv.CsvProcessor;
+import com.appslandia.common.data.DataRecord;
+import com.appslandia.common.data.Row;
+import com.appslandia.common.data.RowSchema;
+import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.DbContext;
+import com.appslandia.common.jdbc.H2Databases;
+import com.appslandia.common.jdbc.ResultSetImpl;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Manual benchmark of the record, map and CSV code paths. It is not run by the build; run it after
+ * {@code mvn test-compile} with the test classpath, for example:
+ *
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.appslandia.common.benchmark.DataBenchmark
+ * </pre>
+ *
+ * Cases can be selected by name: records, maps, csv, export, labels and import; all cases run by default.
+ *
+ * Each case is warmed up, then measured over several rounds; the best round is reported with the bytes allocated per
+ * operation by the calling thread. Allocations of other threads, such as the parseParallel workers, aren't counted.
+ *
+ * @author Loc Ha
+ *
+ */
+public class DataBenchmark {
+
+  static final int WARMUP_ROUNDS = 5;
+  static final int ROUNDS = 10;
+  static final int CSV_LINES = 100_000;
+
+  // Size of the generated CSV file; set -Dbench.csv.mb=4096 for a multi-GB run
+  static final int CSV_MB = Integer.getInteger("bench.csv.mb", 1024);
+
+  static final String[] LABELS = { "ID", "FULL_NAME", "EMAIL", "CREATED_DATE", "AMOUNT", "STATUS" };
+  static final String[] LC_LABELS = { "id", "full_name", "email", "created_date", "amount", "status" };
+  static final String[] MC_LABELS = { "Id", "Full_Name", "Email", "Created_Date", "Amount", "Status" };
+
+  static final int MAP_GETS = 100_000;
+
+  static final int WIDE_ROWS = 1_000_000;
+  static final int WIDE_COLUMNS = 20;
+  static final int IMPORT_ROWS = 5_000_000;
+
+  static final ThreadMXBean THREAD_MX = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  static volatile Object sink;
+
+  public static void main(String[] args) throws Exception {
+    if (selected(args, "records")) {
+      benchRecords();
+    }
+    if (selected(args, "maps")) {
+      benchMaps();
+    }
+    if (selected(args, "csv")) {
+      benchCsv();
+    }
+    if (selected(args, "export")) {
+      benchExport();
+    }
+    if (selected(args, "labels")) {
+      benchLabelGetters();
+    }
+    if (selected(args, "import")) {
+      benchImport();
+    }
+  }
+
+  static boolean selected(String[] args, String name) {
+    return args.length == 0 || Arrays.asList(args).contains(name);
+  }
+
+  static void benchRecords() throws Exception {
+    var schema = new RowSchema(LABELS);
+
+    run("RowSchema.indexOf mixed case", LABELS.length * 1000, () -> {
+      long sum = 0;
+      for (var i = 0; i < 1000; i++) {
+        for (String label : MC_LABELS) {
+          sum += schema.indexOf(label);
+        }
+      }
+      return sum;
+    });
+
+    run("DataRecord put/get", 1000, () -> {
+      long sum = 0;
+      for (var i = 0; i < 1000; i++) {
+        var dr = new DataRecord();
+        for (String label : LABELS) {
+          dr.put(label, i);
+        }
+        sum += (Integer) dr.get("full_name");
+      }
+      return sum;
+    });
+
+    run("Row put/get", 1000, () -> {
+      long sum = 0;
+      for (var i = 0; i < 1000; i++) {
+        var row = new Row(schema);
+        for (var j = 0; j < LABELS.length; j++) {
+          row.set(j, i);
+        }
+        sum += (Integer) row.get("full_name");
+      }
+      return sum;
+    });
+  }
+
+  static void benchMaps() throws Exception {
+    for (String[] keys : new String[][] { LC_LABELS, LABELS }) {
+      var keyCase = (keys == LABELS) ? "upper" : "lower";
+
+      run("CaseInsensitiveMap(LinkedHashMap) get " + keyCase, MAP_GETS,
+          () -> getAll(new CaseInsensitiveMap<>(new LinkedHashMap<>()), keys));
+      run("CaseInsensitiveMap get " + keyCase, MAP_GETS, () -> getAll(new CaseInsensitiveMap<>(), keys));
+    }
+  }
+
+  static long getAll(Map<String, Object> map, String[] keys) {
+    for (var i = 0; i < LABELS.length; i++) {
+      map.put(LABELS[i], i);
+    }
+    long sum = 0;
+    for (var i = 0; i < MAP_GETS; i++) {
+      sum += (Integer) map.get(keys[i % keys.length]);
+    }
+    return sum;
+  }
+
+  static void benchCsv() throws Exception {
+    var csvFile = Files.createTempFile("bench", ".csv");
+    try {
+      // Every 10th record has a quoted field spanning two lines
+      var records = 0L;
+      try (var out = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+        var target = CSV_MB * 1024L * 1024L;
+        var written = 0L;
+
+        for (var i = 0; written < target; i++, records++) {
+          var note = (i % 10 == 0) ? "\"first line\r\nsecond \"\"quoted\"\" line\"" : "\"a, \"\"quoted\"\" value\"";
+          var line = i + ",\"name " + i + "\",user" + i + "@mail.com,2024-01-02," + (i * 1.5) + "," + note + "\n";
+          out.write(line);
+          written += line.length();
+        }
+      }
+      var size = Files.size(csvFile);
+      var prefix = "CsvProcessor " + (size >> 20) + " MB ";
+
+      var nanos = run(prefix + "parse", records, 1, 3, () -> {
+        var count = new long[1];
+        try (var reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+          CsvProcessor.INSTANCE.parse(reader, (index, rec) -> count[0]++);
+        }
+        return count[0];
+      });
+      printThroughput(prefix + "parse", size, nanos);
+
+      var parallelism = Runtime.getRuntime().availableProcessors();
+      for (int threads : (parallelism > 1) ? new int[] { 1, parallelism } : new int[] { 1 }) {
+        var name = prefix + "parseParallel " + threads + " thread(s)";
+
+        nanos = run(name, records, 1, 3, () -> {
+          var count = new long[1];
+          CsvProcessor.INSTANCE.parseParallel(csvFile, StandardCharsets.UTF_8, threads, false,
+              (index, rec) -> count[0]++);
+          return count[0];
+        });
+        printThroughput(name, size, nanos);
+      }
+    } finally {
+      Files.deleteIfExists(csvFile);
+    }
+  }
+
+  static void printThroughput(String name, long bytes, long nanos) {
+    System.out.printf("%-50s %10.1f MB/s%n", name, (bytes / 1048576.0) / (nanos / 1_000_000_000.0));
+  }
+
+  static void benchExport() throws Exception {
+    var dataSource = H2Databases.newMemory("benchmark");
+    try (var ctx = new DbContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(50), CREATED DATE, AMOUNT DECIMAL(10,2))");
+      ctx.executeUpdate("INSERT INTO ITEM SELECT X, 'name, ' || X, DATE '2024-01-02', X * 1.5"
+          + " FROM SYSTEM_RANGE(1, " + CSV_LINES + ")");
+    }
+
+    try (var conn = new ConnectionImpl(dataSource)) {
+      run("CsvExporter " + CSV_LINES + " rows", () -> {
+        var exporter = new CsvExporter().setConnection(conn).setPQuery("SELECT * FROM ITEM").setFetchSize(1000);
+        return exporter.execute(new BufferedWriter(Writer.nullWriter()));
+      });
+    }
+  }
+
+  static void benchLabelGetters() throws Exception {
+    var dir = Files.createTempDirectory("bench");
+    try {
+      var dataSource = H2Databases.newFile(dir, "labels");
+
+      // Columns C01..C20: even ones INT, odd ones VARCHAR
+      var ddl = new StringBuilder("CREATE TABLE WIDE (");
+      var select = new StringBuilder("INSERT INTO WIDE SELECT ");
+      var labels = new String[WIDE_COLUMNS];
+
+      for (var i = 1; i <= WIDE_COLUMNS; i++) {
+        labels[i - 1] = String.format("c%02d", i);
+        var sep = (i > 1) ? ", " : "";
+        ddl.append(sep).append(labels[i - 1]).append((i % 2 == 0) ? " INT" : " VARCHAR(20)");
+        select.append(sep).append((i % 2 == 0) ? "X + " + i : "'v' || X");
+      }
+      select.append(" FROM SYSTEM_RANGE(1, ").append(WIDE_ROWS).append(")");
+
+      try (var conn = new ConnectionImpl(dataSource)) {
+        conn.executeUpdate(ddl.append(")").toString());
+        conn.executeUpdate(select.toString());
+
+        var ops = (long) WIDE_ROWS * WIDE_COLUMNS;
+        var prefix = WIDE_ROWS + " rows x " + WIDE_COLUMNS + " cols ";
+
+        run(prefix + "driver label getters", ops, () -> readWide(conn, labels, rs -> rs));
+        run(prefix + "ResultSetImpl label getters", ops, () -> readWide(conn, labels, ResultSetImpl::new));
+        run(prefix + "ResultSetImpl index getters", ops, () -> readWide(conn, null, ResultSetImpl::new));
+      }
+    } finally {
+      try (var files = Files.walk(dir)) {
+        files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+      }
+    }
+  }
+
+  static long readWide(ConnectionImpl conn, String[] labels, Function<ResultSet, ResultSet> wrapper)
+      throws SQLException {
+    long sum = 0;
+    try (var stat = conn.createStatement()) {
+      stat.setFetchSize(1000);
+
+      try (var rs = wrapper.apply(stat.executeQuery("SELECT * FROM WIDE"))) {
+        while (rs.next()) {
+          for (var i = 1; i <= WIDE_COLUMNS; i++) {
+            if (i % 2 == 0) {
+              sum += (labels != null) ? rs.getInt(labels[i - 1]) : rs.getInt(i);
+            } else {
+              sum += ((labels != null) ? rs.getString(labels[i - 1]) : rs.getString(i)).length();
+            }
+          }
+        }
+      }
+    }
+    return sum;
+  }
+
+  static void benchImport() throws Exception {
+    var dir = Files.createTempDirectory("bench");
+    try {
+      var csvFile = dir.resolve("items.csv");
+      try (var out = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+        out.write("ID,NAME,EMAIL,CREATED,AMOUNT\n");
+        for (var i = 1; i <= IMPORT_ROWS; i++) {
+          out.write(i + ",\"name, " + i + "\",user" + i + "@mail.com,2024-01-02," + (i % 10_000) + ".25\n");
+        }
+      }
+      var dataSource = H2Databases.newFile(dir, "import");
+      var prefix = "CsvImporter " + IMPORT_ROWS + " rows ";
+
+      try (var conn = new ConnectionImpl(dataSource)) {
+        conn.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(50), EMAIL VARCHAR(50),"
+            + " CREATED DATE, AMOUNT DECIMAL(10,2))");
+
+        // Few rounds: each one loads the whole file
+        run(prefix + "bulk load (CSVREAD)", IMPORT_ROWS, 1, 3,
+            () -> importItems(conn, csvFile.toString(), true));
+        run(prefix + "batched insert", IMPORT_ROWS, 1, 3, () -> importItems(conn, csvFile.toString(), false));
+      }
+    } finally {
+      try (var files = Files.walk(dir)) {
+        files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+      }
+    }
+  }
+
+  static int importItems(ConnectionImpl conn, String csvFile, boolean bulkLoad) throws Exception {
+    conn.executeUpdate("TRUNCATE TABLE ITEM");
+
+    var importer = new CsvImporter().setConnection(conn).setTableName("ITEM")
+        .setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED);
+    if (bulkLoad) {
+      importer.setBulkLoadStrategy(new BulkLoadStrategy.H2CsvReadStrategy());
+    }
+    return importer.execute(csvFile, true);
+  }
+
+  static void run(String name, Callable<Object> task) throws Exception {
+    run(name, 1, task);
+  }
+
+  /**
+   * Runs the task, which performs the given number of operations, and prints the best time and the fewest bytes
+   * allocated per operation.
+   *
+   */
+  static void run(String name, long ops, Callable<Object> task) throws Exception {
+    run(name, ops, WARMUP_ROUNDS, ROUNDS, task);
+  }
+
+  /**
+   * Same as {@link #run(String, long, Callable)} with the given rounds. Returns the best time in nanoseconds.
+   *
+   */
+  static long run(String name, long ops, int warmupRounds, int rounds, Callable<Object> task) throws Exception {
+    for (var i = 0; i < warmupRounds; i++) {
+      sink = task.call();
+    }
+    var threadId = Thread.currentThread().threadId();
+    var best = Long.MAX_VALUE;
+    var bestBytes = Long.MAX_VALUE;
+
+    for (var i = 0; i < rounds; i++) {
+      var startBytes = THREAD_MX.getThreadAllocatedBytes(threadId);
+      var start = System.nanoTime();
+      sink = task.call();
+      best = Math.min(best, System.nanoTime() - start);
+      bestBytes = Math.min(bestBytes, THREAD_MX.getThreadAllocatedBytes(threadId) - startBytes);
+    }
+    System.out.printf("%-50s %10.3f ms %12.1f B/op%n", name, best / 1_000_000.0, (double) bestBytes / ops);
+    return best;
+  }
+}
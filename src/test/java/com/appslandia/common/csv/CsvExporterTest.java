@@ -0,0 +1,105 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.csv;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.H2Databases;
+import com.appslandia.common.utils.IOUtils;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class CsvExporterTest {
+
+  @TempDir
+  Path tempDir;
+
+  ConnectionImpl conn;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    conn = new ConnectionImpl(H2Databases.newMemory("csv_export"));
+    conn.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(20), CREATED DATE, AMOUNT DECIMAL(10,2))");
+    conn.executeUpdate("INSERT INTO ITEM VALUES (1, 'a', DATE '2024-01-02', 1.50), (2, 'b, \"c\"', NULL, NULL)");
+  }
+
+  @AfterEach
+  public void closeDb() throws Exception {
+    conn.close();
+  }
+
+  @Test
+  public void test_execute() throws Exception {
+    var csv = new StringWriter();
+    var exporter = new CsvExporter().setConnection(conn).setPQuery("SELECT * FROM ITEM WHERE ID >= :id")
+        .setPQueryParams(Map.of("id", 1)).setFetchSize(1);
+
+    try (var out = new BufferedWriter(csv)) {
+      Assertions.assertEquals(2, exporter.execute(out));
+    }
+    var lines = csv.toString().lines().toList();
+
+    Assertions.assertEquals(3, lines.size());
+    Assertions.assertEquals("ID,NAME,CREATED,AMOUNT", lines.get(0));
+    Assertions.assertEquals("1,a,2024-01-02,1.50", lines.get(1));
+    Assertions.assertEquals("2,\"b, \"\"c\"\"\",,", lines.get(2));
+  }
+
+  @Test
+  public void test_execute_gzipFile() throws Exception {
+    var csvFile = tempDir.resolve("items.csv.gz");
+    var exporter = new CsvExporter().setConnection(conn).setPQuery("SELECT ID, AMOUNT FROM ITEM").setGzip(true)
+        .setDbToCsvConverter("amount", value -> (value != null) ? "$" + value : "-");
+
+    Assertions.assertEquals(2, exporter.execute(csvFile.toString()));
+
+    try (var in = IOUtils.readerBOM(new GZIPInputStream(new FileInputStream(csvFile.toFile())),
+        StandardCharsets.UTF_8.name())) {
+      Assertions.assertEquals("ID,AMOUNT|1,$1.50|2,-", in.lines().collect(Collectors.joining("|")));
+    }
+  }
+
+  @Test
+  public void test_execute_invalidPath() throws Exception {
+    var csvFile = tempDir.resolve("missing").resolve("items.csv");
+    var exporter = new CsvExporter().setConnection(conn).setPQuery("SELECT * FROM ITEM").setGzip(true);
+
+    Assertions.assertThrows(FileNotFoundException.class, () -> exporter.execute(csvFile.toString()));
+  }
+}
@@ -0,0 +1,201 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.csv;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.appslandia.common.base.DangerTaskConfirm;
+import com.appslandia.common.base.InitializingException;
+import com.appslandia.common.base.TemporalPatterns;
+import com.appslandia.common.data.Column;
+import com.appslandia.common.data.Table;
+import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.DataSourceImpl;
+import com.appslandia.common.jdbc.H2Databases;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class CsvImporterTest {
+
+  @TempDir
+  Path tempDir;
+
+  DataSourceImpl dataSource;
+  ConnectionImpl conn;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    dataSource = H2Databases.newMemory("csv_import");
+    conn = new ConnectionImpl(dataSource);
+    conn.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+  }
+
+  @AfterEach
+  public void closeDb() throws Exception {
+    conn.close();
+  }
+
+  long countItems() throws Exception {
+    return conn.executeScalar("SELECT COUNT(*) FROM ITEM", Long.class);
+  }
+
+  Path writeCsv(String content) throws Exception {
+    var csvFile = tempDir.resolve("items.csv");
+    Files.writeString(csvFile, content);
+    return csvFile;
+  }
+
+  @Test
+  public void test_execute_bulkLoad() throws Exception {
+    var csvFile = writeCsv("ID,NAME\n1,a\n2,\"b, c\"\n");
+    var importer = new CsvImporter().setConnection(conn).setTableName("ITEM").setBulkLoad(true)
+        .setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED);
+
+    Assertions.assertEquals(2, importer.execute(csvFile.toString(), true));
+    Assertions.assertEquals(2, countItems());
+    Assertions.assertEquals("b, c", conn.executeScalar("SELECT NAME FROM ITEM WHERE ID = 2", String.class));
+  }
+
+  @Test
+  public void test_execute_bulkLoad_noHeader() throws Exception {
+    var csvFile = writeCsv("1,a\n2,b\n3,c\n");
+    var loads = new AtomicInteger();
+
+    var importer = new CsvImporter().setConnection(conn).setTableName("ITEM")
+        .setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED)
+        .setBulkLoadStrategy(new BulkLoadStrategy.H2CsvReadStrategy() {
+
+          @Override
+          public long load(ConnectionImpl conn, Table table, List<Column> columns, String csvFile, boolean csvHeader,
+              CsvProcessor csvProcessor) throws Exception {
+            loads.incrementAndGet();
+            return super.load(conn, table, columns, csvFile, csvHeader, csvProcessor);
+          }
+        });
+
+    Assertions.assertEquals(3, importer.execute(csvFile.toString(), false));
+    Assertions.assertEquals(1, loads.get());
+    Assertions.assertEquals(3, countItems());
+  }
+
+  @Test
+  public void test_execute_bulkLoad_temporalPatterns() throws Exception {
+    var csvFile = writeCsv("1,a\n");
+    var importer = new CsvImporter().setConnection(conn).setTableName("ITEM").setBulkLoad(true)
+        .setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED).setTemporalPatterns(TemporalPatterns.DEFAULT);
+
+    Assertions.assertThrows(InitializingException.class, () -> importer.execute(csvFile.toString(), false));
+    Assertions.assertEquals(0, countItems());
+  }
+
+  static BufferedReader csvInput(int lines, int badLine) {
+    var sb = new StringBuilder("ID,NAME\n");
+    for (var i = 1; i <= lines; i++) {
+      sb.append((i + 1 == badLine) ? "x" : String.valueOf(i)).append(",n").append(i).append('\n');
+    }
+    return new BufferedReader(new StringReader(sb.toString()));
+  }
+
+  @Test
+  public void test_execute_failureNotMaskedByRollback() throws Exception {
+    var importer = new CsvImporter().setConnection(conn).setTableName("ITEM")
+        .setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED);
+
+    // The first record is pending in the batch when the second fails
+    var ex = Assertions.assertThrows(CsvImportException.class,
+        () -> importer.execute(new BufferedReader(new StringReader("1,a\nx,b\n")), false));
+
+    Assertions.assertEquals(2, ex.getLine());
+    Assertions.assertEquals(0, countItems());
+  }
+
+  @Test
+  public void test_execute_pipeline() throws Exception {
+    var importer = new CsvImporter().setDataSource(dataSource).setTableName("ITEM").setBatchSize(100)
+        .setConverterThreads(2).setWriterConnections(2).setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED);
+
+    Assertions.assertEquals(2500, importer.execute(csvInput(2500, -1), true));
+    Assertions.assertEquals(2500, countItems());
+    Assertions.assertEquals(2500L * 2501 / 2, conn.executeScalar("SELECT SUM(ID) FROM ITEM", Long.class));
+  }
+
+  @Test
+  public void test_execute_pipeline_hasCurrent() throws Exception {
+    var hasCurrent = ConnectionImpl.hasCurrent();
+    var current = hasCurrent ? ConnectionImpl.getCurrent() : null;
+
+    var importer = new CsvImporter().setDataSource(dataSource).setTableName("ITEM").setBatchSize(100)
+        .setConverterThreads(2).setWriterConnections(3).setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED);
+    Assertions.assertEquals(1000, importer.execute(csvInput(1000, -1), true));
+
+    Assertions.assertEquals(hasCurrent, ConnectionImpl.hasCurrent());
+    if (hasCurrent) {
+      Assertions.assertSame(current, ConnectionImpl.getCurrent());
+      Assertions.assertFalse(current.isClosed());
+    }
+  }
+
+  @Test
+  public void test_execute_pipeline_failure() throws Exception {
+    var importer = new CsvImporter().setDataSource(dataSource).setTableName("ITEM").setBatchSize(100)
+        .setConverterThreads(2).setWriterConnections(2).setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED);
+
+    var ex = Assertions.assertThrows(CsvImportException.class, () -> importer.execute(csvInput(2500, 1500), true));
+
+    Assertions.assertEquals(1500, ex.getLine());
+    Assertions.assertEquals(0, countItems());
+  }
+
+  @Test
+  public void test_execute_pipeline_converterOnWriter() throws Exception {
+    Set<ConnectionImpl> connections = ConcurrentHashMap.newKeySet();
+
+    var importer = new CsvImporter().setDataSource(dataSource).setTableName("ITEM").setBatchSize(100)
+        .setWriterConnections(2).setTaskConfirm(DangerTaskConfirm.DANGER_TASK_CONFIRMED)
+        .setCsvToDbConverter(1, (value, c) -> {
+          connections.add(c);
+          return value.toUpperCase();
+        });
+
+    Assertions.assertEquals(500, importer.execute(csvInput(500, -1), true));
+    Assertions.assertEquals("N500", conn.executeScalar("SELECT NAME FROM ITEM WHERE ID = 500", String.class));
+
+    // Only the writer connections are used; a null connection fails the add
+    Assertions.assertFalse(connections.isEmpty());
+    Assertions.assertTrue(connections.size() <= 2);
+  }
+}
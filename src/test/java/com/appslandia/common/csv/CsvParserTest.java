@@ -0,0 +1,61 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.csv;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class CsvParserTest {
+
+  @Test
+  public void test_recordLine() throws Exception {
+    var csvContent = "a\r\n\"b\r\nc\nd\",1\n\ne\rf";
+
+    // Small buffers refill inside records
+    for (var bufferSize = 1; bufferSize <= 8; bufferSize++) {
+      var parser = new CsvParser(new CsvProcessor(), new StringReader(csvContent), bufferSize);
+
+      List<Long> lines = new ArrayList<>();
+      while (parser.next()) {
+        lines.add(parser.recordLine);
+      }
+      Assertions.assertEquals(List.of(1L, 2L, 5L, 6L, 7L), lines);
+    }
+  }
+
+  @Test
+  public void test_fields() throws Exception {
+    var parser = new CsvParser(new CsvProcessor(), new StringReader("\"a\"\"b\", c ,\n"), 2);
+
+    Assertions.assertTrue(parser.next());
+    Assertions.assertArrayEquals(new String[] { "a\"b", "c", null }, parser.toValues());
+    Assertions.assertFalse(parser.next());
+  }
+}
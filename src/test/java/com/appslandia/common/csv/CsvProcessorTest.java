@@ -22,6 +22,12 @@ package com.appslandia.common.csv;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -236,4 +242,108 @@ public class CsvProcessorTest {
       Assertions.fail(ex);
     }
   }
+
+  @Test
+  public void test_parse_quoted() {
+    var csv = new CsvProcessor();
+    var csvContent = "\"a,b\",\"c\"\"d\",e\r\n\"line1\r\nline2\",,x";
+
+    try {
+      var records = csv.parseRecords(new BufferedReader(new StringReader(csvContent)), false, null);
+      Assertions.assertEquals(2, records.size());
+
+      var rec = records.get(0);
+      Assertions.assertEquals(3, rec.length());
+      Assertions.assertEquals("a,b", rec.getString(0));
+      Assertions.assertEquals("c\"d", rec.getString(1));
+      Assertions.assertEquals("e", rec.getString(2));
+
+      rec = records.get(1);
+      Assertions.assertEquals(3, rec.length());
+      Assertions.assertEquals("line1\r\nline2", rec.getString(0));
+      Assertions.assertNull(rec.getString(1));
+      Assertions.assertEquals("x", rec.getString(2));
+
+    } catch (Exception ex) {
+      Assertions.fail(ex);
+    }
+  }
+
+  @Test
+  public void test_parse_lineBreaks() {
+    var csv = new CsvProcessor();
+    var csvContent = "a\nb\r\nc\rd";
+
+    try {
+      var records = csv.parseRecords(new BufferedReader(new StringReader(csvContent)), false, null);
+      Assertions.assertEquals(4, records.size());
+      Assertions.assertEquals("d", records.get(3).getString(0));
+
+    } catch (Exception ex) {
+      Assertions.fail(ex);
+    }
+  }
+
+  @Test
+  public void test_parseParallel() throws Exception {
+    var csv = new CsvProcessor();
+    var csvContent = "a,1\r\n\"b\nb\",2\n\"c,\"\"c\"\"\",3\nd,4";
+
+    var file = Files.createTempFile("records", ".csv");
+    try {
+      Files.writeString(file, csvContent, StandardCharsets.UTF_8);
+
+      for (var ordered : new boolean[] { true, false }) {
+        var records = new String[4];
+        csv.parseParallel(file, StandardCharsets.UTF_8, 2, 3, ordered, (idx, rec) -> records[idx] = rec.getString(0));
+
+        Assertions.assertArrayEquals(new String[] { "a", "b\nb", "c,\"c\"", "d" }, records);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void test_stream() {
+    var csv = new CsvProcessor();
+    var csvContent = "a,1\nb,2\nc,3";
+
+    try (var records = csv.stream(new StringReader(csvContent))) {
+      var values = records.filter(r -> r.getInt(1) > 1).map(r -> r.getString(0)).toList();
+      Assertions.assertEquals(List.of("b", "c"), values);
+    }
+  }
+
+  @Test
+  public void test_stream_flyweight() {
+    var csv = new CsvProcessor();
+    var csvContent = "a,1\nb,2,x\nc";
+
+    try (var records = csv.stream(new StringReader(csvContent), true)) {
+      List<CsvRecord> instances = new ArrayList<>();
+      List<Integer> lengths = new ArrayList<>();
+
+      records.forEach(r -> {
+        instances.add(r);
+        lengths.add(r.length());
+      });
+
+      Assertions.assertEquals(List.of(2, 3, 1), lengths);
+      Assertions.assertSame(instances.get(0), instances.get(2));
+      Assertions.assertEquals("c", instances.get(0).getString(0));
+    }
+  }
+
+  @Test
+  public void test_escape_writer() throws Exception {
+    var csv = new CsvProcessor();
+
+    for (var value : new Object[] { null, "", "abc", "a\"b", "a,b", "a\r\nb", 12, LocalDate.of(2020, 1, 2) }) {
+      var out = new StringWriter();
+      csv.escape(value, out);
+
+      Assertions.assertEquals(csv.escape(value), out.toString());
+    }
+  }
 }
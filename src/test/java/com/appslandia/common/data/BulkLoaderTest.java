@@ -0,0 +1,154 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.appslandia.common.jdbc.ConnectionImpl;
+import com.appslandia.common.jdbc.DataSourceImpl;
+import com.appslandia.common.jdbc.DbContext;
+import com.appslandia.common.jdbc.H2Databases;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class BulkLoaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  DataSourceImpl dataSource;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    dataSource = H2Databases.newFile(tempDir, "bulk");
+    try (var ctx = new DbContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+    }
+  }
+
+  static Iterator<DataRecord> records(int count) {
+    return IntStream.rangeClosed(1, count).mapToObj(i -> new DataRecord().set("ID", i).set("NAME", "n" + i))
+        .iterator();
+  }
+
+  long countItems() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      return ctx.executeScalar("SELECT COUNT(*) FROM ITEM", Long.class);
+    }
+  }
+
+  @Test
+  public void test_execute() throws Exception {
+    var lastProgress = new AtomicLong();
+    var loader = new BulkLoader().setDataSource(dataSource).setTableName("ITEM").setConnections(3).setChunkSize(100)
+        .setProgressListener((rows, nanos) -> lastProgress.accumulateAndGet(rows, Math::max));
+
+    Assertions.assertEquals(1050, loader.execute(records(1050)));
+    Assertions.assertEquals(1050, lastProgress.get());
+    Assertions.assertEquals(1050, countItems());
+  }
+
+  @Test
+  public void test_execute_currentConnection() throws Exception {
+    var loader = new BulkLoader().setDataSource(dataSource).setTableName("ITEM").setConnections(3).setChunkSize(100);
+
+    try (var conn = new ConnectionImpl(dataSource)) {
+      Assertions.assertEquals(500, loader.execute(records(500)));
+
+      Assertions.assertSame(conn, ConnectionImpl.getCurrent());
+      Assertions.assertFalse(conn.isClosed());
+    }
+    Assertions.assertEquals(500, countItems());
+  }
+
+  @Test
+  public void test_execute_hasCurrent() throws Exception {
+    var hasCurrent = ConnectionImpl.hasCurrent();
+    var current = hasCurrent ? ConnectionImpl.getCurrent() : null;
+
+    var loader = new BulkLoader().setDataSource(dataSource).setTableName("ITEM").setConnections(3).setChunkSize(100);
+    Assertions.assertEquals(500, loader.execute(records(500)));
+
+    Assertions.assertEquals(hasCurrent, ConnectionImpl.hasCurrent());
+    if (hasCurrent) {
+      Assertions.assertSame(current, ConnectionImpl.getCurrent());
+    }
+  }
+
+  @Test
+  public void test_execute_allOrNothing_failure() throws Exception {
+    var loader = new BulkLoader().setDataSource(dataSource).setTableName("ITEM").setConnections(2).setChunkSize(100)
+        .setAllOrNothing(true);
+
+    // Duplicate key in the last chunk
+    var records = IntStream.rangeClosed(1, 1001).mapToObj(i -> new DataRecord().set("ID", Math.min(i, 1000)))
+        .iterator();
+
+    Assertions.assertThrows(SQLException.class, () -> loader.execute(records));
+    Assertions.assertEquals(0, countItems());
+  }
+
+  @Test
+  public void test_execute_interrupted() throws Exception {
+    var loader = new BulkLoader().setDataSource(dataSource).setTableName("ITEM").setConnections(2).setChunkSize(100)
+        .setQueueCapacity(1).setAllOrNothing(true);
+
+    var source = records(2000);
+    var records = new Iterator<DataRecord>() {
+      int count;
+
+      @Override
+      public boolean hasNext() {
+        return source.hasNext();
+      }
+
+      @Override
+      public DataRecord next() {
+        if (++count == 500) {
+          Thread.currentThread().interrupt();
+        }
+        return source.next();
+      }
+    };
+
+    try {
+      Assertions.assertThrows(InterruptedException.class, () -> loader.execute(records));
+      Assertions.assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+    Assertions.assertEquals(0, countItems());
+    Assertions.assertTrue(Thread.getAllStackTraces().keySet().stream()
+        .noneMatch(t -> t.getName().startsWith("bulk-loader-ITEM") && t.isAlive()));
+  }
+}
@@ -0,0 +1,123 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.appslandia.common.jdbc.H2Databases;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbDataComparerTest {
+
+  @Test
+  public void test_hashValue() throws Exception {
+    Assertions.assertEquals(DbDataComparer.hashValue(10), DbDataComparer.hashValue(10L));
+    Assertions.assertEquals(DbDataComparer.hashValue(10), DbDataComparer.hashValue(new BigDecimal("10.00")));
+    Assertions.assertNotEquals(DbDataComparer.hashValue("a"), DbDataComparer.hashValue("b"));
+    Assertions.assertEquals(0, DbDataComparer.hashValue(null));
+  }
+
+  @Test
+  public void test_compare() throws Exception {
+    var source = H2Databases.newMemory("compare_source");
+    var target = H2Databases.newMemory("compare_target");
+
+    try (var rc1 = new RecordContext(source); var rc2 = new RecordContext(target)) {
+      for (RecordContext rc : List.of(rc1, rc2)) {
+        rc.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(50))");
+        rc.executeUpdate("CREATE TABLE LOG (MSG VARCHAR(50))");
+        rc.executeUpdate("INSERT INTO LOG VALUES ('a'), ('b')");
+
+        for (var i = 1; i <= 25; i++) {
+          rc.executeUpdate("INSERT INTO ITEM VALUES (:id, :name)", Map.of("id", i, "name", "item" + i));
+        }
+      }
+      rc1.executeUpdate("CREATE TABLE TAG (ID INT PRIMARY KEY)");
+
+      rc2.executeUpdate("UPDATE ITEM SET NAME = 'changed' WHERE ID = 5");
+      rc2.executeUpdate("DELETE FROM ITEM WHERE ID = 17");
+      rc2.executeUpdate("INSERT INTO ITEM VALUES (30, 'item30')");
+    }
+
+    var comparer = new DbDataComparer().setSourceDataSource(source).setTargetDataSource(target).setChunkSize(10)
+        .setTableNames("ITEM", "LOG", "TAG");
+    var report = new StringWriter();
+
+    Assertions.assertEquals(4, comparer.compare(report));
+
+    var text = report.toString();
+    Assertions.assertTrue(text.contains("[ITEM] DIFFERENT 5"));
+    Assertions.assertTrue(text.contains("[ITEM] MISSING 17"));
+    Assertions.assertTrue(text.contains("[ITEM] EXTRA 30"));
+    Assertions.assertTrue(text.contains("[ITEM] 25 rows compared in 3 chunks, 3 differences."));
+    Assertions.assertTrue(text.contains("[LOG] 2 rows compared in 1 chunks, 0 differences."));
+    Assertions.assertTrue(text.contains("[TAG] Table is missing in the target."));
+  }
+
+  @Test
+  public void test_compare_compositeKey() throws Exception {
+    var source = H2Databases.newMemory("compare_source");
+    var target = H2Databases.newMemory("compare_target");
+
+    try (var rc1 = new RecordContext(source); var rc2 = new RecordContext(target)) {
+      for (RecordContext rc : List.of(rc1, rc2)) {
+        rc.executeUpdate("CREATE TABLE LINE (ORDER_ID INT, LINE_NO INT, QTY INT, PRIMARY KEY (ORDER_ID, LINE_NO))");
+        rc.executeUpdate("INSERT INTO LINE SELECT (X - 1) / 5 + 1, MOD(X - 1, 5) + 1, X FROM SYSTEM_RANGE(1, 25)");
+      }
+      rc2.executeUpdate("UPDATE LINE SET QTY = 0 WHERE ORDER_ID = 3 AND LINE_NO = 2");
+      rc2.executeUpdate("DELETE FROM LINE WHERE ORDER_ID = 5 AND LINE_NO = 5");
+    }
+
+    // Orders of 5 lines are not split: chunks of orders 1-2, 3-4 and 5
+    var comparer = new DbDataComparer().setSourceDataSource(source).setTargetDataSource(target).setChunkSize(7)
+        .setTableNames("LINE");
+    var report = new StringWriter();
+
+    Assertions.assertEquals(2, comparer.compare(report));
+    Assertions.assertTrue(report.toString().contains("[LINE] 25 rows compared in 3 chunks, 2 differences."));
+  }
+
+  @Test
+  public void test_toChunkQuery() {
+    var id = new Column().setName("id").setSqlType(Types.INTEGER).setColumnType(ColumnType.KEY);
+    var name = new Column().setName("name").setSqlType(Types.VARCHAR);
+    var table = new Table().setTableName("User").setColumns(new ArrayList<>(List.of(id, name)));
+
+    Assertions.assertEquals("SELECT id, name FROM User WHERE id > :low__ AND id <= :high__",
+        DbDataComparer.toChunkQuery(table, List.of(id, name), id, true, true));
+    Assertions.assertEquals("SELECT id, name FROM User WHERE id <= :high__",
+        DbDataComparer.toChunkQuery(table, List.of(id, name), id, false, true));
+    Assertions.assertEquals("SELECT id, name FROM User",
+        DbDataComparer.toChunkQuery(table, List.of(id, name), null, false, false));
+  }
+}
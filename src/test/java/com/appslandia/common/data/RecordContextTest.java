@@ -0,0 +1,237 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.appslandia.common.jdbc.DataSourceImpl;
+import com.appslandia.common.jdbc.H2Databases;
+import com.appslandia.common.jdbc.QueryCache;
+import com.appslandia.common.jdbc.UncheckedSQLException;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class RecordContextTest {
+
+  DataSourceImpl dataSource;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    dataSource = H2Databases.newMemory("records");
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE PERSON (ID INT PRIMARY KEY, FULL_NAME VARCHAR(50) NOT NULL)");
+      ctx.executeUpdate(
+          "CREATE TABLE NOTE (TITLE VARCHAR(50) NOT NULL, ID INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+    }
+  }
+
+  @Test
+  public void test_insert_batch() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.setTransactional(true);
+
+      for (var i = 1; i <= 200; i++) {
+        ctx.insert("PERSON", new DataRecord().set("ID", i).set("FULL_NAME", "name" + i), true);
+      }
+      ctx.executeBatch();
+      ctx.commit();
+
+      Assertions.assertEquals(200L, ctx.executeScalar("SELECT COUNT(*) FROM PERSON", Long.class));
+      Assertions.assertEquals("name200", ctx.executeScalar("SELECT FULL_NAME FROM PERSON WHERE ID = 200", String.class));
+    }
+  }
+
+  @Test
+  public void test_insert_generatedKey() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      var note = new DataRecord().set("TITLE", "note1");
+
+      Assertions.assertEquals(1, ((Number) ctx.insert("NOTE", note)).intValue());
+      Assertions.assertEquals(1, ((Number) note.get("ID")).intValue());
+    }
+  }
+
+  @Test
+  public void test_insert_batch_generatedKeys() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.setTransactional(true);
+
+      List<DataRecord> notes = new ArrayList<>();
+      for (var i = 1; i <= 5; i++) {
+        var note = new DataRecord().set("TITLE", "note" + i);
+        ctx.insert("NOTE", note, true);
+        notes.add(note);
+      }
+      ctx.executeBatch();
+      ctx.commit();
+
+      for (var i = 1; i <= 5; i++) {
+        Assertions.assertEquals(i, ((Number) notes.get(i - 1).get("ID")).intValue());
+      }
+    }
+  }
+
+  @Test
+  public void test_upsert() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.upsert("PERSON", new DataRecord().set("ID", 1).set("FULL_NAME", "name1"), false);
+      ctx.upsert("PERSON", new DataRecord().set("ID", 1).set("FULL_NAME", "name2"), false);
+
+      Assertions.assertEquals(1L, ctx.executeScalar("SELECT COUNT(*) FROM PERSON", Long.class));
+      Assertions.assertEquals("name2", ctx.executeScalar("SELECT FULL_NAME FROM PERSON WHERE ID = 1", String.class));
+    }
+  }
+
+  @Test
+  public void test_getRecords() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      for (var i = 1; i <= 5; i++) {
+        ctx.insert("PERSON", new DataRecord().set("ID", i).set("FULL_NAME", "name" + i));
+      }
+      var records = ctx.getRecords("PERSON", List.of(1L, 3, 5, 7, 3));
+
+      Assertions.assertEquals(3, records.size());
+      Assertions.assertEquals("name1", records.get(1L).get("FULL_NAME"));
+      Assertions.assertEquals("name5", records.get(5).get("FULL_NAME"));
+    }
+  }
+
+  @Test
+  public void test_getRecords_charAndTimestampKeys() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE CODE (CODE CHAR(5) PRIMARY KEY, NAME VARCHAR(50))");
+      ctx.executeUpdate("CREATE TABLE EVENT (AT TIMESTAMP PRIMARY KEY, NAME VARCHAR(50))");
+
+      ctx.executeUpdate("INSERT INTO CODE VALUES ('ab', 'code1')");
+      ctx.executeUpdate("INSERT INTO EVENT VALUES (TIMESTAMP '2024-01-02 03:04:05', 'event1')");
+
+      var codes = ctx.getRecords("CODE", List.of("ab"));
+      Assertions.assertEquals("code1", codes.get("ab").get("NAME"));
+
+      var at = java.sql.Timestamp.valueOf("2024-01-02 03:04:05");
+      var events = ctx.getRecords("EVENT", List.of(at));
+      Assertions.assertEquals("event1", events.get(at).get("NAME"));
+    }
+  }
+
+  @Test
+  public void test_getInSize() {
+    Assertions.assertEquals(1, RecordContext.getInSize(1, 1));
+    Assertions.assertEquals(4, RecordContext.getInSize(3, 1));
+    Assertions.assertEquals(4, RecordContext.getInSize(5, 1));
+    Assertions.assertEquals(16, RecordContext.getInSize(10, 1));
+    Assertions.assertEquals(256, RecordContext.getInSize(1000, 1));
+    Assertions.assertEquals(64, RecordContext.getInSize(1000, 10));
+  }
+
+  @Test
+  public void test_prefetchTables_getTableIgnoresCase() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      Assertions.assertTrue(ctx.prefetchTables() >= 2);
+
+      Assertions.assertSame(ctx.getTable("PERSON"), ctx.getTable("person"));
+    }
+  }
+
+  @Test
+  public void test_computeSchemaHash_columns() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE TAG (ID INT NOT NULL, NAME VARCHAR(50) NOT NULL)");
+      var hash1 = RecordUtils.computeSchemaHash(ctx.getConnection(), null, null);
+      Assertions.assertEquals(hash1, RecordUtils.computeSchemaHash(ctx.getConnection(), null, null));
+
+      ctx.executeUpdate("ALTER TABLE TAG ADD COLUMN NOTE VARCHAR(50)");
+      Assertions.assertNotEquals(hash1, RecordUtils.computeSchemaHash(ctx.getConnection(), null, null));
+    }
+  }
+
+  @Test
+  public void test_computeSchemaHash_schemaVersion() throws Exception {
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE TAG (ID INT NOT NULL, NAME VARCHAR(50) NOT NULL)");
+      var hash1 = RecordUtils.computeSchemaHash(ctx.getConnection(), null, null, "v1");
+      Assertions.assertNotEquals(hash1, RecordUtils.computeSchemaHash(ctx.getConnection(), null, null));
+
+      // H2 keys aren't read in bulk; a key change is detected through the version
+      ctx.executeUpdate("ALTER TABLE TAG ADD PRIMARY KEY (ID)");
+      Assertions.assertEquals(hash1, RecordUtils.computeSchemaHash(ctx.getConnection(), null, null, "v1"));
+      Assertions.assertNotEquals(hash1, RecordUtils.computeSchemaHash(ctx.getConnection(), null, null, "v2"));
+    }
+  }
+
+  @Test
+  public void test_prefetchTables_schemaVersion() throws Exception {
+    var file = Files.createTempFile("tables", ".snapshot");
+    try {
+      try (var ctx = new RecordContext(dataSource)) {
+        var count = ctx.prefetchTables(file, "v1");
+
+        // The same version reuses the snapshot without reading the schema
+        ctx.executeUpdate("CREATE TABLE TAG (ID INT PRIMARY KEY)");
+        Assertions.assertEquals(count, ctx.prefetchTables(file, "v1"));
+
+        Assertions.assertEquals(count + 1, ctx.prefetchTables(file, "v2"));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void test_queryCache_invalidatedAfterWrite() throws Exception {
+    var cache = new QueryCache();
+    List<Long> countsAtInvalidation = new ArrayList<>();
+
+    // The notification must see the written row
+    cache.setInvalidationListener(table -> {
+      try (var ctx = new RecordContext(dataSource)) {
+        countsAtInvalidation.add(ctx.executeScalar("SELECT COUNT(*) FROM PERSON", Long.class));
+      } catch (SQLException ex) {
+        throw new UncheckedSQLException(ex);
+      }
+    });
+
+    try (var ctx = new RecordContext(dataSource)) {
+      ctx.setQueryCache(cache);
+      var pQuery = "SELECT * FROM PERSON";
+
+      Assertions.assertEquals(0, ctx.executeListCached(pQuery, null, rs -> rs.getInt("ID")).size());
+      ctx.insert("PERSON", new DataRecord().set("ID", 1).set("FULL_NAME", "name1"));
+
+      Assertions.assertEquals(List.of(1L), countsAtInvalidation);
+      Assertions.assertEquals(List.of(1), ctx.executeListCached(pQuery, null, rs -> rs.getInt("ID")));
+
+      ctx.delete("PERSON", new Key().set("ID", 1));
+      Assertions.assertEquals(List.of(1L, 0L), countsAtInvalidation);
+      Assertions.assertEquals(0, ctx.executeListCached(pQuery, null, rs -> rs.getInt("ID")).size());
+    }
+  }
+}
@@ -0,0 +1,82 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class RowTest {
+
+  @Test
+  public void test_get() {
+    var row = new Row(new RowSchema("Id", "userName"), new Object[] { 1, "user1" });
+
+    Assertions.assertEquals(1, row.getInt("id"));
+    Assertions.assertEquals("user1", row.getString("USERNAME"));
+    Assertions.assertEquals(2, row.size());
+    Assertions.assertNull(row.get("unknown"));
+  }
+
+  @Test
+  public void test_indexOf() {
+    var schema = new RowSchema("Id", "userName");
+
+    Assertions.assertEquals(1, schema.indexOf("username"));
+    Assertions.assertEquals(1, schema.indexOf("USERNAME"));
+    Assertions.assertEquals(0, schema.indexOf("iD"));
+    Assertions.assertEquals(-1, schema.indexOf("name"));
+    Assertions.assertEquals(-1, schema.indexOf(null));
+    Assertions.assertEquals("username", schema.getKey(1));
+  }
+
+  @Test
+  public void test_duplicateLabels() {
+    var schema = new RowSchema("id", "ID", "name");
+    Assertions.assertEquals(2, schema.size());
+    Assertions.assertEquals(0, schema.getSlot(2));
+    Assertions.assertEquals(1, schema.getSlot(3));
+  }
+
+  @Test
+  public void test_extraLabels() {
+    var row = new Row(new RowSchema("id"), new Object[] { 1 });
+    row.set("Extra", 2);
+
+    Assertions.assertEquals(2, row.getInt("extra"));
+    Assertions.assertEquals(2, row.size());
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> row.remove("id"));
+  }
+
+  @Test
+  public void test_equals() {
+    var row = new Row(new RowSchema("id", "name"), new Object[] { 1, "user1" });
+    var dataRecord = new DataRecord().set("id", 1).set("name", "user1");
+
+    Assertions.assertEquals(dataRecord, row);
+    Assertions.assertEquals(row, dataRecord);
+    Assertions.assertEquals(dataRecord.hashCode(), row.hashCode());
+  }
+}
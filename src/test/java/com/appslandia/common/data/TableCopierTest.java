@@ -0,0 +1,100 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.appslandia.common.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.appslandia.common.jdbc.DataSourceImpl;
+import com.appslandia.common.jdbc.DbContext;
+import com.appslandia.common.jdbc.H2Databases;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class TableCopierTest {
+
+  DataSourceImpl source;
+  DataSourceImpl target;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    source = H2Databases.newMemory("copy_source");
+    target = H2Databases.newMemory("copy_target");
+
+    try (var ctx = new DbContext(source)) {
+      ctx.executeUpdate("CREATE TABLE ITEM (ID INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, NAME VARCHAR(20),"
+          + " PRICE DECIMAL(10,2))");
+      ctx.executeUpdate("INSERT INTO ITEM (NAME, PRICE) SELECT 'n' || X, X FROM SYSTEM_RANGE(1, 2500)");
+    }
+    try (var ctx = new DbContext(target)) {
+      ctx.executeUpdate("CREATE TABLE ITEM (ID INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, NAME VARCHAR(20))");
+      ctx.executeUpdate("CREATE TABLE ITEM_COPY (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+    }
+  }
+
+  long count(String tableName) throws Exception {
+    try (var ctx = new DbContext(target)) {
+      return ctx.executeScalar("SELECT COUNT(*) FROM " + tableName, Long.class);
+    }
+  }
+
+  @Test
+  public void test_execute() throws Exception {
+    var copier = new TableCopier().setSourceDataSource(source).setTargetDataSource(target).setTableName("ITEM")
+        .setFetchSize(100).setChunkSize(300).setConnections(2);
+
+    Assertions.assertEquals(2500, copier.execute());
+    Assertions.assertEquals(2500, count("ITEM"));
+
+    try (var ctx = new DbContext(target)) {
+      Assertions.assertEquals("n2500", ctx.executeScalar("SELECT NAME FROM ITEM WHERE ID = 2500", String.class));
+    }
+  }
+
+  @Test
+  public void test_execute_transformer() throws Exception {
+    var copier = new TableCopier().setSourceDataSource(source).setTargetDataSource(target).setTableName("ITEM")
+        .setTargetTableName("ITEM_COPY").setChunkSize(100)
+        .setTransformer(r -> ((Number) r.get("ID")).intValue() % 2 == 0 ? r.set("NAME", "even") : null);
+
+    Assertions.assertEquals(1250, copier.execute());
+    Assertions.assertEquals(1250, count("ITEM_COPY"));
+
+    try (var ctx = new DbContext(target)) {
+      Assertions.assertEquals(1250L,
+          ctx.executeScalar("SELECT COUNT(*) FROM ITEM_COPY WHERE NAME = 'even'", Long.class));
+    }
+  }
+
+  @Test
+  public void test_execute_missingSourceTable() throws Exception {
+    try (var ctx = new DbContext(target)) {
+      ctx.executeUpdate("CREATE TABLE OTHER (ID INT PRIMARY KEY)");
+    }
+    var copier = new TableCopier().setSourceDataSource(source).setTargetDataSource(target).setTableName("OTHER");
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> copier.execute());
+    Assertions.assertEquals(0, count("OTHER"));
+  }
+}
@@ -0,0 +1,58 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.nio.file.Files;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class TableSnapshotTest {
+
+  @Test
+  public void test_writeRead() throws Exception {
+    var table = new Table().setTableName("User").setColumns(new ArrayList<>(List.of(
+        new Column().setName("id").setSqlType(Types.INTEGER).setColumnType(ColumnType.KEY_INCR),
+        new Column().setName("data").setSqlType(Types.BLOB).setJavaType(byte[].class))));
+
+    var file = Files.createTempFile("tables", ".snapshot");
+    try {
+      TableSnapshot.write(file, "hash1", List.of(table));
+
+      var tables = TableSnapshot.read(file, "hash1");
+      Assertions.assertEquals(1, tables.size());
+      Assertions.assertEquals("INSERT INTO User (data) VALUES (:data)", tables.get(0).getInsertQuery().getPQuery());
+      Assertions.assertEquals(byte[].class, tables.get(0).getColumns().get(1).getJavaType());
+
+      Assertions.assertNull(TableSnapshot.read(file, "hash2"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.data;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.appslandia.common.jdbc.DbType;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class TableTest {
+
+  static Table newTable() {
+    return new Table().setTableName("User")
+        .setColumns(new ArrayList<>(List.of(
+            new Column().setName("id").setSqlType(Types.INTEGER).setColumnType(ColumnType.KEY_INCR),
+            new Column().setName("name").setSqlType(Types.VARCHAR))));
+  }
+
+  @Test
+  public void test_getUpsertQuery_onConflict() {
+    var query = newTable().getUpsertQuery(DbType.POSTGRESQL);
+    Assertions.assertEquals(
+        "INSERT INTO User (id, name) VALUES (:id, :name) ON CONFLICT (id) DO UPDATE SET name=EXCLUDED.name",
+        query.getPQuery());
+  }
+
+  @Test
+  public void test_getUpsertQuery_onDuplicateKey() {
+    var query = newTable().getUpsertQuery(DbType.MYSQL);
+    Assertions.assertEquals(
+        "INSERT INTO User (id, name) VALUES (:id, :name) AS n__ ON DUPLICATE KEY UPDATE name=n__.name",
+        query.getPQuery());
+  }
+
+  @Test
+  public void test_getUpsertQuery_onDuplicateKey_mariadb() {
+    var query = newTable().getUpsertQuery(DbType.MARIADB);
+    Assertions.assertEquals(
+        "INSERT INTO User (id, name) VALUES (:id, :name) ON DUPLICATE KEY UPDATE name=VALUES(name)",
+        query.getPQuery());
+  }
+
+  @Test
+  public void test_getUpsertQuery_merge() {
+    var query = newTable().getUpsertQuery(DbType.MSSQL);
+    Assertions.assertEquals("MERGE INTO User WITH (HOLDLOCK) AS t__ USING (VALUES (:id, :name)) AS s__ (id, name)"
+        + " ON (t__.id=s__.id)"
+        + " WHEN MATCHED THEN UPDATE SET t__.name=s__.name"
+        + " WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s__.id, s__.name);", query.getPQuery());
+  }
+
+  @Test
+  public void test_getGetInQuery() {
+    var query = newTable().getGetInQuery(3, true);
+    Assertions.assertEquals("SELECT * FROM User WHERE id IN (:id__0, :id__1, :id__2)", query.getPQuery());
+    Assertions.assertEquals("SELECT * FROM User WHERE id IN (?, ?, ?)", query.getTranslatedQuery());
+  }
+
+  @Test
+  public void test_getGetInQuery_compositeKey() {
+    var table = new Table().setTableName("UserRole")
+        .setColumns(new ArrayList<>(
+            List.of(new Column().setName("userId").setSqlType(Types.INTEGER).setColumnType(ColumnType.KEY),
+                new Column().setName("roleId").setSqlType(Types.INTEGER).setColumnType(ColumnType.KEY))));
+
+    Assertions.assertEquals(
+        "SELECT * FROM UserRole WHERE (userId, roleId) IN ((:userId__0, :roleId__0), (:userId__1, :roleId__1))",
+        table.getGetInQuery(2, true).getPQuery());
+
+    Assertions.assertEquals(
+        "SELECT * FROM UserRole WHERE (userId=:userId__0 AND roleId=:roleId__0)"
+            + " OR (userId=:userId__1 AND roleId=:roleId__1)",
+        table.getGetInQuery(2, false).getPQuery());
+  }
+
+  @Test
+  public void test_getUpsertQuery_cached() {
+    var table = newTable();
+    Assertions.assertSame(table.getUpsertQuery(DbType.H2), table.getUpsertQuery(DbType.H2));
+  }
+}
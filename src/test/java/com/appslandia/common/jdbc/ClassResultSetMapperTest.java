@@ -0,0 +1,161 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.appslandia.common.jdbc.beans.HiddenBeans;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class ClassResultSetMapperTest {
+
+  DataSourceImpl dataSource;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    dataSource = H2Databases.newMemory("mapper");
+    try (var ctx = new DbContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE PERSON (ID INT PRIMARY KEY, FULL_NAME VARCHAR(50), AMOUNT DECIMAL(10, 2), "
+          + "ACTIVE BOOLEAN, AGE INT)");
+      ctx.executeUpdate("INSERT INTO PERSON VALUES (1, 'Alice', 10.50, TRUE, 30)");
+      ctx.executeUpdate("INSERT INTO PERSON VALUES (2, 'Bob', NULL, FALSE, NULL)");
+    }
+  }
+
+  public record PersonRecord(int id, String fullName, BigDecimal amount, boolean active) {
+  }
+
+  public static class PersonBean {
+    private int id;
+    private String fullName;
+    private BigDecimal amount;
+    private boolean active;
+    private int age = -1;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public String getFullName() {
+      return fullName;
+    }
+
+    public void setFullName(String fullName) {
+      this.fullName = fullName;
+    }
+
+    public BigDecimal getAmount() {
+      return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+      this.amount = amount;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+  }
+
+  public record AgeRecord(int id, int age) {
+  }
+
+  @Test
+  public void test_record() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      var list = ctx.executeList("SELECT * FROM PERSON ORDER BY ID", ClassResultSetMapper.of(PersonRecord.class));
+
+      Assertions.assertEquals(2, list.size());
+      Assertions.assertEquals(new PersonRecord(1, "Alice", new BigDecimal("10.50"), true), list.get(0));
+      Assertions.assertEquals(new PersonRecord(2, "Bob", null, false), list.get(1));
+    }
+  }
+
+  @Test
+  public void test_record_missingColumns() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      var list = ctx.executeList("SELECT ID FROM PERSON ORDER BY ID", ClassResultSetMapper.of(PersonRecord.class));
+
+      Assertions.assertEquals(new PersonRecord(1, null, null, false), list.get(0));
+    }
+  }
+
+  @Test
+  public void test_record_nullPrimitive() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      Assertions.assertThrows(IllegalStateException.class,
+          () -> ctx.executeList("SELECT ID, AGE FROM PERSON WHERE ID = 2", ClassResultSetMapper.of(AgeRecord.class)));
+    }
+  }
+
+  @Test
+  public void test_bean() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      var list = ctx.executeList("SELECT * FROM PERSON ORDER BY ID", ClassResultSetMapper.of(PersonBean.class));
+
+      Assertions.assertEquals(2, list.size());
+      Assertions.assertEquals(1, list.get(0).getId());
+      Assertions.assertEquals("Alice", list.get(0).getFullName());
+      Assertions.assertEquals(new BigDecimal("10.50"), list.get(0).getAmount());
+      Assertions.assertTrue(list.get(0).isActive());
+      Assertions.assertEquals(30, list.get(0).getAge());
+
+      // NULL into a primitive keeps the default
+      Assertions.assertNull(list.get(1).getAmount());
+      Assertions.assertEquals(-1, list.get(1).getAge());
+    }
+  }
+
+  @Test
+  public void test_bean_inaccessible() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      var list = ctx.executeList("SELECT ID, FULL_NAME FROM PERSON ORDER BY ID",
+          ClassResultSetMapper.of(HiddenBeans.hiddenBeanType()));
+
+      Assertions.assertEquals("1:Alice", list.get(0).toString());
+      Assertions.assertEquals("2:Bob", list.get(1).toString());
+    }
+  }
+}
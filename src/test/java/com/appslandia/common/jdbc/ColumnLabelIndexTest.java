@@ -0,0 +1,84 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class ColumnLabelIndexTest {
+
+  @Test
+  public void test_indexOf() {
+    var index = new ColumnLabelIndex(List.of(new ResultSetColumn(1, "ID", Types.INTEGER),
+        new ResultSetColumn(2, "userName", Types.VARCHAR), new ResultSetColumn(3, "dob", Types.DATE)));
+
+    Assertions.assertEquals(1, index.indexOf("id"));
+    Assertions.assertEquals(2, index.indexOf("USERNAME"));
+    Assertions.assertEquals(3, index.indexOf("Dob"));
+    Assertions.assertEquals(0, index.indexOf("user_name"));
+  }
+
+  @Test
+  public void test_indexOf_duplicates() {
+    var index = new ColumnLabelIndex(
+        List.of(new ResultSetColumn(1, "id", Types.INTEGER), new ResultSetColumn(2, "ID", Types.INTEGER)));
+
+    Assertions.assertEquals(1, index.indexOf("Id"));
+  }
+
+  @Test
+  public void test_resultSet_labels() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("labels"))) {
+      var sql = "SELECT 1 AS ID, 'Alice' AS \"userName\", 10 AS \"Amount\", 2 AS \"id\"";
+
+      var rows = ctx.executeList(sql, rs -> {
+        Assertions.assertEquals("Alice", rs.getString("USERNAME"));
+        Assertions.assertEquals("Alice", rs.getString("username"));
+        Assertions.assertEquals(10, rs.getInt("amount"));
+
+        // Duplicate labels: first column wins
+        Assertions.assertEquals(1, rs.getInt("Id"));
+        Assertions.assertEquals(1, rs.findColumn("id"));
+
+        Assertions.assertNotNull(rs.labelIndex);
+        Assertions.assertEquals(2, rs.labelIndex.indexOf("USERNAME"));
+        return rs.getString("userName");
+      });
+      Assertions.assertEquals(List.of("Alice"), rows);
+    }
+  }
+
+  @Test
+  public void test_resultSet_unknownLabel() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("labels"))) {
+      Assertions.assertThrows(SQLException.class, () -> ctx.executeList("SELECT 1 AS ID", rs -> rs.getInt("NAME")));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbContextCancelTest {
+
+  static final String LONG_QUERY = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) A, SYSTEM_RANGE(1, 100000) B";
+
+  @Test
+  public void test_cancel_preparedStatement() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("cancel"))) {
+      assertCancelled(ctx, () -> ctx.executeScalar(LONG_QUERY, new Object[0], Long.class));
+    }
+  }
+
+  @Test
+  public void test_cancel_sqlStatement() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("cancel"))) {
+      assertCancelled(ctx, () -> ctx.executeScalar(LONG_QUERY, Long.class));
+    }
+  }
+
+  @Test
+  public void test_cancel_iterator() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("cancel"))) {
+      assertCancelled(ctx, () -> {
+        try (var iter = ctx.iterator(LONG_QUERY, new Object[0], rs -> rs.getLong(1))) {
+          return iter.next();
+        }
+      });
+    }
+  }
+
+  @Test
+  public void test_statements_unregisteredOnClose() throws Exception {
+    try (var conn = new ConnectionImpl(H2Databases.newMemory("cancel"))) {
+      var stat = conn.createStatement();
+      var pstat = conn.prepareStatement("SELECT 1");
+      Assertions.assertEquals(2, conn.statements.size());
+
+      stat.close();
+      Assertions.assertEquals(1, conn.statements.size());
+      Assertions.assertTrue(conn.statements.contains(pstat));
+
+      pstat.close();
+      Assertions.assertTrue(conn.statements.isEmpty());
+
+      for (var i = 0; i < 100; i++) {
+        Assertions.assertEquals(1L, conn.executeScalar("SELECT 1", Long.class));
+        Assertions.assertEquals(i, conn.executeScalar("SELECT CAST(:p AS INT)", Map.of("p", i), Integer.class));
+      }
+      Assertions.assertTrue(conn.statements.isEmpty());
+    }
+  }
+
+  static void assertCancelled(DbContext ctx, Callable<Object> task) throws Exception {
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      var future = executor.submit(task);
+      long deadline = System.currentTimeMillis() + 10_000;
+
+      while (!future.isDone() && System.currentTimeMillis() < deadline) {
+        ctx.cancel();
+        Thread.sleep(20);
+      }
+      var ex = Assertions.assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+      Assertions.assertInstanceOf(SQLException.class, ex.getCause());
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
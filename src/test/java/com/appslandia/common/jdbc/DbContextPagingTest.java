@@ -0,0 +1,87 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbContextPagingTest {
+
+  DataSourceImpl dataSource;
+
+  @BeforeEach
+  public void initDb() throws Exception {
+    dataSource = H2Databases.newMemory("paging");
+    try (var ctx = new DbContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE ITEM (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+      ctx.executeUpdate("INSERT INTO ITEM SELECT X, 'n' || MOD(X, 3) FROM SYSTEM_RANGE(1, 10)");
+    }
+  }
+
+  @Test
+  public void test_executeList_limit() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      var ids = ctx.executeList("SELECT ID FROM ITEM ORDER BY ID", (Map<String, Object>) null, 0, 4,
+          rs -> rs.getInt(1));
+      Assertions.assertEquals(List.of(1, 2, 3, 4), ids);
+    }
+  }
+
+  @Test
+  public void test_executeList_offset() throws Exception {
+    try (var ctx = new DbContext(dataSource)) {
+      var ids = ctx.executeList("SELECT ID FROM ITEM WHERE ID >= :minId ORDER BY ID", Map.of("minId", 2), 3, 4,
+          rs -> rs.getInt(1));
+      Assertions.assertEquals(List.of(5, 6, 7, 8), ids);
+    }
+  }
+
+  @Test
+  public void test_executePage() throws Exception {
+    var query = new KeysetQuery("SELECT ID, NAME FROM ITEM WHERE ID <= :maxId").orderBy("NAME").orderByDesc("ID");
+    List<Integer> ids = new ArrayList<>();
+    var pages = 0;
+
+    try (var ctx = new DbContext(dataSource)) {
+      KeysetToken token = null;
+      do {
+        var page = ctx.executePage(query, Map.of("maxId", 9), token, 4, rs -> rs.getInt("ID"));
+        ids.addAll(page.getItems());
+        token = page.getNext();
+        pages++;
+      } while (token != null);
+    }
+
+    // n0: 9, 6, 3; n1: 7, 4, 1; n2: 8, 5, 2
+    Assertions.assertEquals(List.of(9, 6, 3, 7, 4, 1, 8, 5, 2), ids);
+    Assertions.assertEquals(3, pages);
+  }
+}
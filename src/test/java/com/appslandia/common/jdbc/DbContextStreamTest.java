@@ -0,0 +1,136 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.sql.SQLException;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbContextStreamTest {
+
+  static final String QUERY = "SELECT X FROM SYSTEM_RANGE(1, 100) ORDER BY X";
+
+  @Test
+  public void test_stream() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("stream"))) {
+      try (var stream = ctx.stream(QUERY, new Object[0], rs -> rs.getLong(1))) {
+
+        Assertions.assertEquals(5050L, stream.mapToLong(Long::longValue).sum());
+      }
+      assertStatementsClosed(ctx.getConnection());
+    }
+  }
+
+  @Test
+  public void test_stream_closeEarly() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("stream"))) {
+      try (var stream = ctx.stream(QUERY, new Object[0], rs -> rs.getLong(1))) {
+
+        Assertions.assertEquals("1,2,3", stream.limit(3).map(String::valueOf).collect(Collectors.joining(",")));
+      }
+      assertStatementsClosed(ctx.getConnection());
+    }
+  }
+
+  @Test
+  public void test_iterator_closeEarly() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("stream"))) {
+      var iter = ctx.iterator(QUERY, new Object[0], rs -> rs.getLong(1));
+
+      Assertions.assertEquals(1L, iter.next());
+      iter.close();
+
+      Assertions.assertFalse(iter.hasNext());
+      assertStatementsClosed(ctx.getConnection());
+    }
+  }
+
+  @Test
+  public void test_iterator_autoCommitRestored() throws Exception {
+    try (var ctx = new DbContext(new PgConnection(H2Databases.newMemory("stream")))) {
+      Assertions.assertTrue(ctx.getConnection().getAutoCommit());
+
+      try (var iter = ctx.iterator(QUERY, new Object[0], rs -> rs.getLong(1))) {
+        Assertions.assertFalse(ctx.getConnection().getAutoCommit());
+        Assertions.assertEquals(1L, iter.next());
+      }
+      Assertions.assertTrue(ctx.getConnection().getAutoCommit());
+    }
+  }
+
+  @Test
+  public void test_stream_autoCommitRestored() throws Exception {
+    try (var ctx = new DbContext(new PgConnection(H2Databases.newMemory("stream")))) {
+      try (var stream = ctx.stream(QUERY, new Object[0], rs -> rs.getLong(1))) {
+        Assertions.assertEquals(1L, stream.findFirst().get());
+      }
+      Assertions.assertTrue(ctx.getConnection().getAutoCommit());
+    }
+  }
+
+  @Test
+  public void test_iterator_autoCommitRestored_onError() throws Exception {
+    try (var ctx = new DbContext(new PgConnection(H2Databases.newMemory("stream")))) {
+      Assertions.assertThrows(SQLException.class,
+          () -> ctx.iterator("SELECT X FROM NO_SUCH_TABLE", new Object[0], rs -> rs.getLong(1)));
+
+      Assertions.assertTrue(ctx.getConnection().getAutoCommit());
+    }
+  }
+
+  @Test
+  public void test_iterator_autoCommitUnchanged() throws Exception {
+    try (var ctx = new DbContext(new PgConnection(H2Databases.newMemory("stream")))) {
+      ctx.setTransactional(true);
+
+      try (var iter = ctx.iterator(QUERY, new Object[0], rs -> rs.getLong(1))) {
+        Assertions.assertEquals(1L, iter.next());
+      }
+      Assertions.assertFalse(ctx.getConnection().getAutoCommit());
+    }
+  }
+
+  static void assertStatementsClosed(ConnectionImpl conn) throws SQLException {
+    Assertions.assertTrue(conn.statements.isEmpty());
+  }
+
+  // Streams like PostgreSQL, which requires auto-commit off to use a cursor
+  static class PgConnection extends ConnectionImpl {
+
+    public PgConnection(DataSource dataSource) throws SQLException {
+      super(dataSource);
+    }
+
+    @Override
+    public DbDialect getDbDialect() {
+      return DbDialect.parse("jdbc:postgresql://localhost/test");
+    }
+  }
+}
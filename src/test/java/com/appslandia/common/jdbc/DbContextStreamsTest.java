@@ -0,0 +1,96 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbContextStreamsTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void test_executeStreams() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("streams"))) {
+      ctx.executeUpdate("CREATE TABLE DOC (ID INT PRIMARY KEY, CONTENT BLOB)");
+
+      ctx.executeUpdate("INSERT INTO DOC VALUES (:id, :content)", Map.of("id", 1, "content", new byte[] { 1, 2, 3 }));
+      ctx.executeUpdate("INSERT INTO DOC VALUES (:id, :content)", Map.of("id", 2, "content", new byte[100_000]));
+      ctx.executeUpdate("INSERT INTO DOC (ID) VALUES (3)");
+      ctx.executeUpdate("INSERT INTO DOC VALUES (:id, :content)", Map.of("id", 4, "content", new byte[] { 4 }));
+
+      // Row 3 has no content; row 4 is skipped by the mapper
+      var count = ctx.executeStreams("SELECT * FROM DOC ORDER BY ID", null, "CONTENT",
+          rs -> (rs.getInt("ID") != 4) ? tempDir.resolve("docs/" + rs.getInt("ID") + ".bin") : null);
+
+      Assertions.assertEquals(2, count);
+      Assertions.assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(tempDir.resolve("docs/1.bin")));
+      Assertions.assertEquals(100_000, Files.size(tempDir.resolve("docs/2.bin")));
+
+      Assertions.assertFalse(Files.exists(tempDir.resolve("docs/3.bin")));
+      Assertions.assertFalse(Files.exists(tempDir.resolve("docs/4.bin")));
+    }
+  }
+
+  @Test
+  public void test_executeStreams_maxWriters() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("streams"))) {
+      ctx.executeUpdate("CREATE TABLE DOC (ID INT PRIMARY KEY, CONTENT BLOB)");
+      for (var i = 1; i <= 50; i++) {
+        ctx.executeUpdate("INSERT INTO DOC VALUES (:id, :content)", Map.of("id", i, "content", new byte[i * 100]));
+      }
+
+      var count = ctx.executeStreams("SELECT * FROM DOC ORDER BY ID", null, "CONTENT",
+          rs -> tempDir.resolve("docs/" + rs.getInt("ID") + ".bin"), 3);
+
+      Assertions.assertEquals(50, count);
+      for (var i = 1; i <= 50; i++) {
+        Assertions.assertEquals(i * 100, Files.size(tempDir.resolve("docs/" + i + ".bin")));
+      }
+    }
+  }
+
+  @Test
+  public void test_executeStreams_writeFailure() throws Exception {
+    // A regular file where a directory is expected
+    Files.write(tempDir.resolve("docs"), new byte[0]);
+
+    try (var ctx = new DbContext(H2Databases.newMemory("streams"))) {
+      ctx.executeUpdate("CREATE TABLE DOC (ID INT PRIMARY KEY, CONTENT BLOB)");
+      ctx.executeUpdate("INSERT INTO DOC VALUES (:id, :content)", Map.of("id", 1, "content", new byte[] { 1 }));
+
+      Assertions.assertThrows(IOException.class, () -> ctx.executeStreams("SELECT * FROM DOC", null, "CONTENT",
+          rs -> tempDir.resolve("docs/" + rs.getInt("ID") + ".bin")));
+    }
+  }
+}
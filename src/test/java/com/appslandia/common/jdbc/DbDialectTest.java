@@ -0,0 +1,67 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class DbDialectTest {
+
+  @Test
+  public void test_toPageQuery_limit() {
+    var query = DbDialect.DIALECT_POSTGRESQL.toPageQuery("SELECT * FROM User ORDER BY id", true);
+    Assertions.assertEquals("SELECT * FROM User ORDER BY id LIMIT :pagelimit__ OFFSET :pageoffset__", query);
+
+    query = DbDialect.DIALECT_MYSQL.toPageQuery("SELECT * FROM User ORDER BY id", false);
+    Assertions.assertEquals("SELECT * FROM User ORDER BY id LIMIT :pagelimit__", query);
+  }
+
+  @Test
+  public void test_toPageQuery_offsetFetch() {
+    var query = DbDialect.DIALECT_ORACLE.toPageQuery("SELECT * FROM User ORDER BY id", true);
+    Assertions.assertEquals(
+        "SELECT * FROM User ORDER BY id OFFSET :pageoffset__ ROWS FETCH NEXT :pagelimit__ ROWS ONLY", query);
+
+    query = DbDialect.DIALECT_DB2.toPageQuery("SELECT * FROM User ORDER BY id", false);
+    Assertions.assertEquals("SELECT * FROM User ORDER BY id FETCH FIRST :pagelimit__ ROWS ONLY", query);
+  }
+
+  @Test
+  public void test_toPageQuery_top() {
+    var query = DbDialect.DIALECT_MSSQL.toPageQuery("SELECT DISTINCT name FROM User", false);
+    Assertions.assertEquals("SELECT DISTINCT TOP (:pagelimit__) name FROM User", query);
+
+    query = DbDialect.DIALECT_MSSQL.toPageQuery("select * FROM User", false);
+    Assertions.assertEquals("select TOP (:pagelimit__) * FROM User", query);
+  }
+
+  @Test
+  public void test_toPageQuery_translate() {
+    var query = new SqlQuery(DbDialect.DIALECT_H2.toPageQuery("SELECT * FROM User WHERE type=:type", true));
+    Assertions.assertEquals("SELECT * FROM User WHERE type=? LIMIT ? OFFSET ?", query.getTranslatedQuery());
+    Assertions.assertEquals(2, query.getIndexes(DbDialect.PARAM_PAGE_LIMIT).get(0));
+  }
+}
@@ -0,0 +1,49 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class KeysetQueryTest {
+
+  @Test
+  public void test_getQuery() {
+    var query = new KeysetQuery("SELECT id, name FROM User").orderBy("name").orderByDesc("id");
+
+    Assertions.assertEquals("SELECT * FROM (SELECT id, name FROM User) seek__ ORDER BY name ASC, id DESC",
+        query.getQuery(false));
+
+    Assertions.assertEquals("SELECT * FROM (SELECT id, name FROM User) seek__"
+        + " WHERE (name > :seekkey0__) OR (name = :seekkey0__ AND id < :seekkey1__) ORDER BY name ASC, id DESC",
+        query.getQuery(true));
+  }
+
+  @Test
+  public void test_noKeys() {
+    Assertions.assertThrows(Exception.class, () -> new KeysetQuery("SELECT * FROM User").initialize());
+  }
+}
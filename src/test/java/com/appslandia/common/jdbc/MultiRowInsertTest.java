@@ -0,0 +1,94 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class MultiRowInsertTest {
+
+  @Test
+  public void test_parse() {
+    var mrInsert = MultiRowInsert.parse(new SqlQuery("INSERT INTO User (id, name) VALUES (:id, :name)"));
+    Assertions.assertNotNull(mrInsert);
+    Assertions.assertEquals(2, mrInsert.getParamCount());
+
+    Assertions.assertEquals("INSERT INTO User (id, name) VALUES (?, ?)", mrInsert.toSql(1));
+    Assertions.assertEquals("INSERT INTO User (id, name) VALUES (?, ?), (?, ?), (?, ?)", mrInsert.toSql(3));
+  }
+
+  @Test
+  public void test_parse_literals() {
+    var mrInsert = MultiRowInsert.parse(new SqlQuery("INSERT INTO User (id, name, note) VALUES (:id, 'a(?)', :id)"));
+    Assertions.assertNotNull(mrInsert);
+    Assertions.assertEquals(2, mrInsert.getParamCount());
+
+    var row = mrInsert.toRow(Map.of("id", 1));
+    Assertions.assertArrayEquals(new Object[] { 1, 1 }, row);
+  }
+
+  @Test
+  public void test_parse_unsupported() {
+    Assertions.assertNull(MultiRowInsert.parse(new SqlQuery("UPDATE User SET name=:name WHERE id=:id")));
+    Assertions.assertNull(MultiRowInsert.parse(new SqlQuery("INSERT INTO User (id) SELECT id FROM Tmp")));
+    Assertions.assertNull(
+        MultiRowInsert.parse(new SqlQuery("INSERT INTO User (id) VALUES (:id) ON CONFLICT (id) DO NOTHING")));
+    Assertions.assertNull(MultiRowInsert.parse(new SqlQuery("INSERT INTO User (id) VALUES (:id) RETURNING id")));
+  }
+
+  @Test
+  public void test_executeBatch_remainder() throws Exception {
+    try (var ctx = new DbContext(H2Databases.newMemory("mrinsert"))) {
+      ctx.executeUpdate("CREATE TABLE T (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+      Assertions.assertEquals(0, ctx.getBatchMaxRows());
+
+      ctx.setTransactional(true);
+      var id = 0;
+
+      // 2 full chunks + 37 = 32 + 4 + 1
+      for (var i = 0; i < 2 * MultiRowInsert.DEFAULT_MAX_ROWS + 37; i++) {
+        ctx.executeUpdate("INSERT INTO T (ID, NAME) VALUES (:id, :name)", Map.of("id", ++id, "name", "n" + id), true);
+      }
+      ctx.executeBatch();
+      var statCount = ctx.stats.size();
+
+      for (var i = 0; i < 37; i++) {
+        ctx.executeUpdate("INSERT INTO T (ID, NAME) VALUES (:id, :name)", Map.of("id", ++id, "name", "n" + id), true);
+      }
+      ctx.executeBatch();
+      ctx.commit();
+
+      // Remainder statements are cached and reused
+      Assertions.assertEquals(4, statCount);
+      Assertions.assertEquals(statCount, ctx.stats.size());
+
+      Assertions.assertEquals(id, ctx.executeScalar("SELECT COUNT(*) FROM T", Long.class).intValue());
+      Assertions.assertEquals("n" + id, ctx.executeScalar("SELECT NAME FROM T WHERE ID = " + id, String.class));
+    }
+  }
+}
@@ -0,0 +1,134 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class QueryCacheTest {
+
+  @Test
+  public void test_parseTables() {
+    var tables = QueryCache.parseTables(
+        "SELECT u.* FROM dbo.\"User\" u INNER JOIN Role r ON r.id=u.roleId WHERE u.id IN (SELECT userId FROM Ban)");
+    Assertions.assertArrayEquals(new String[] { "user", "role", "ban" }, tables);
+  }
+
+  @Test
+  public void test_parseTables_fromList() {
+    Assertions.assertArrayEquals(new String[] { "a", "b", "c" },
+        QueryCache.parseTables("SELECT * FROM a, b AS x, s.c y WHERE a.id = x.id"));
+    Assertions.assertArrayEquals(new String[] { "a", "b" },
+        QueryCache.parseTables("SELECT * FROM (SELECT id FROM a) t, b WHERE t.id = b.id"));
+  }
+
+  @Test
+  public void test_parseTables_functionFrom() {
+    Assertions.assertArrayEquals(new String[] { "orders" }, QueryCache.parseTables(
+        "SELECT EXTRACT(YEAR FROM created), TRIM(BOTH ' ' FROM name), SUBSTRING(code FROM 2) FROM orders"));
+    Assertions.assertArrayEquals(new String[] { "orders" },
+        QueryCache.parseTables("SELECT * FROM orders WHERE note = 'FROM x' -- FROM y"));
+  }
+
+  @Test
+  public void test_parseTables_unknown() {
+    Assertions.assertEquals(0, QueryCache.parseTables("SELECT * FROM generate_series(1, 10) s").length);
+    Assertions.assertEquals(0, QueryCache.parseTables("SELECT * FROM a, LATERAL (SELECT 1) b").length);
+    Assertions.assertEquals(0, QueryCache.parseTables("SELECT 1").length);
+  }
+
+  @Test
+  public void test_put_unknownTables() {
+    var cache = new QueryCache();
+    var pQuery = "SELECT * FROM generate_series(1, 10) s";
+
+    Assertions.assertFalse(cache.isCacheable(pQuery));
+    cache.put(pQuery, null, List.of(1), cache.getVersions(pQuery));
+    Assertions.assertNull(cache.get(pQuery, null));
+  }
+
+  @Test
+  public void test_getPut() {
+    var cache = new QueryCache();
+    var pQuery = "SELECT * FROM Role WHERE type=:type";
+
+    cache.put(pQuery, Map.of("type", 1), List.of("admin"), cache.getVersions(pQuery));
+
+    Assertions.assertEquals(List.of("admin"), cache.get(pQuery, Map.of("type", 1)));
+    Assertions.assertNull(cache.get(pQuery, Map.of("type", 2)));
+  }
+
+  @Test
+  public void test_arrayParams() {
+    var cache = new QueryCache();
+    var pQuery = "SELECT * FROM Role WHERE id IN :ids";
+
+    cache.put(pQuery, Map.of("ids", new int[] { 1, 2 }), List.of("admin"), cache.getVersions(pQuery));
+    Assertions.assertNotNull(cache.get(pQuery, Map.of("ids", new ArrayList<>(List.of(1, 2)))));
+  }
+
+  @Test
+  public void test_invalidate() {
+    var cache = new QueryCache();
+    var pQuery = "SELECT * FROM Role";
+    List<String> notified = new ArrayList<>();
+    cache.setInvalidationListener(notified::add);
+
+    cache.put(pQuery, null, List.of("admin"), cache.getVersions(pQuery));
+    cache.invalidate("ROLE");
+
+    Assertions.assertNull(cache.get(pQuery, null));
+    Assertions.assertEquals(List.of("ROLE"), notified);
+  }
+
+  @Test
+  public void test_invalidate_duringQuery() {
+    var cache = new QueryCache();
+    var pQuery = "SELECT * FROM Role";
+
+    var versions = cache.getVersions(pQuery);
+    cache.invalidateLocal("Role");
+    cache.put(pQuery, null, List.of("admin"), versions);
+
+    Assertions.assertNull(cache.get(pQuery, null));
+  }
+
+  @Test
+  public void test_declareTables() {
+    var cache = new QueryCache();
+    var pQuery = "SELECT * FROM UserRoleView";
+    cache.declareTables(pQuery, "User", "Role");
+
+    cache.put(pQuery, null, List.of("admin"), cache.getVersions(pQuery));
+    cache.invalidate("role");
+
+    Assertions.assertNull(cache.get(pQuery, null));
+  }
+}
@@ -0,0 +1,121 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class QueryMetricsTest {
+
+  @Test
+  public void test_getMetric() {
+    var metrics = new QueryMetrics();
+    var m1 = metrics.getMetric("SELECT * FROM User\n  WHERE id = ?");
+    var m2 = metrics.getMetric("SELECT * FROM User WHERE id = ?");
+
+    Assertions.assertSame(m1, m2);
+    Assertions.assertEquals("SELECT * FROM User WHERE id = ?", m1.getQuery());
+  }
+
+  @Test
+  public void test_snapshot() {
+    var metrics = new QueryMetrics();
+    var metric = metrics.getMetric("SELECT * FROM User");
+
+    for (var i = 1; i <= 100; i++) {
+      metric.recordExecution(i * 1000_000L, 10);
+    }
+    metric.recordBatch(1000_000L, 50);
+
+    var stat = metrics.snapshot().get(0);
+    Assertions.assertEquals(101, stat.getExecutions());
+    Assertions.assertEquals(1000, stat.getRows());
+    Assertions.assertEquals(1, stat.getBatches());
+    Assertions.assertEquals(50, stat.getBatchRows());
+    Assertions.assertEquals(100_000_000L, stat.getMaxNanos());
+
+    Assertions.assertTrue(stat.getP50Nanos() >= 50_000_000L);
+    Assertions.assertTrue(stat.getP99Nanos() >= stat.getP95Nanos());
+  }
+
+  @Test
+  public void test_slowQueries() {
+    var metrics = new QueryMetrics(10, 2);
+    var metric = metrics.getMetric("SELECT * FROM User");
+
+    metric.recordExecution(5_000_000L, 0);
+    metric.recordExecution(11_000_000L, 0);
+    metric.recordExecution(12_000_000L, 0);
+    metric.recordExecution(13_000_000L, 0);
+
+    var slowQueries = metrics.getSlowQueries();
+    Assertions.assertEquals(2, slowQueries.size());
+    Assertions.assertEquals(12_000_000L, slowQueries.get(0).getElapsedNanos());
+    Assertions.assertEquals(13_000_000L, slowQueries.get(1).getElapsedNanos());
+  }
+
+  @Test
+  public void test_getMetric_literals() {
+    var metrics = new QueryMetrics();
+    var m1 = metrics.getMetric("SELECT * FROM User1 WHERE id = 10 AND name = 'O''Neil' AND \"col2\" > 1.5");
+    var m2 = metrics.getMetric("SELECT * FROM User1 WHERE id = 20 AND name = 'Bob' AND \"col2\" > 2");
+
+    Assertions.assertSame(m1, m2);
+    Assertions.assertEquals("SELECT * FROM User1 WHERE id = ? AND name = ? AND \"col2\" > ?", m1.getQuery());
+  }
+
+  @Test
+  public void test_getMetric_maxQueries() {
+    var metrics = new QueryMetrics(QueryMetrics.DEFAULT_SLOW_THRESHOLD_MS, 0, 2);
+    var m1 = metrics.getMetric("SELECT a FROM T");
+    var m2 = metrics.getMetric("SELECT b FROM T");
+    var m3 = metrics.getMetric("SELECT c FROM T");
+
+    Assertions.assertNotSame(m1, m2);
+    Assertions.assertEquals(QueryMetrics.OTHER_QUERIES, m3.getQuery());
+    Assertions.assertSame(m3, metrics.getMetric("SELECT d FROM T"));
+    Assertions.assertSame(m1, metrics.getMetric("SELECT a FROM T"));
+
+    m3.recordExecution(1000, 0);
+    Assertions.assertEquals(3, metrics.snapshot().size());
+  }
+
+  @Test
+  public void test_connection_wrapperAsDataSource() throws Exception {
+    var metrics = new QueryMetrics();
+    DataSource dataSource = new DataSourceWrapper(H2Databases.newMemory("metrics"), "metricsDs").setMetrics(metrics);
+
+    try (var conn = new ConnectionImpl(dataSource)) {
+      Assertions.assertSame(metrics, conn.getMetrics());
+      Assertions.assertEquals("metricsDs", conn.getDataSourceId());
+
+      conn.executeUpdate("CREATE TABLE T (ID INT)", new Object[0]);
+    }
+    Assertions.assertEquals(1, metrics.snapshot().get(0).getExecutions());
+  }
+}
@@ -0,0 +1,153 @@
+// The MIT License (MIT)
+// Copyright © 2015 Loc Ha
+
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.appslandia.common.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Loc Ha
+ *
+ */
+public class RoutingDataSourceTest {
+
+  DataSourceImpl primary;
+  DataSourceImpl replica1;
+  DataSourceImpl replica2;
+
+  @BeforeEach
+  public void initDbs() throws Exception {
+    primary = initDb("primary");
+    replica1 = initDb("replica1");
+    replica2 = initDb("replica2");
+  }
+
+  static DataSourceImpl initDb(String name) throws Exception {
+    var dataSource = H2Databases.newMemory(name);
+    try (var ctx = new DbContext(dataSource)) {
+      ctx.executeUpdate("CREATE TABLE NODE (NAME VARCHAR(20))");
+      ctx.executeUpdate("INSERT INTO NODE VALUES (:name)", Map.of("name", name));
+    }
+    return dataSource;
+  }
+
+  RoutingDataSource newRouting() {
+    return new RoutingDataSource().setPrimary(primary).addReplica(replica1).addReplica(replica2)
+        .setReadYourWritesMs(60_000);
+  }
+
+  static String readNode(javax.sql.DataSource dataSource) throws Exception {
+    try (var ctx = new DbContext(dataSource, true)) {
+      return ctx.executeScalar("SELECT NAME FROM NODE", String.class);
+    }
+  }
+
+  @Test
+  public void test_reads_roundRobin() throws Exception {
+    var routing = newRouting();
+
+    Assertions.assertEquals("replica1", readNode(routing));
+    Assertions.assertEquals("replica2", readNode(routing));
+    Assertions.assertEquals("replica1", readNode(routing));
+  }
+
+  @Test
+  public void test_primaryConnection_withoutWrites() throws Exception {
+    var routing = newRouting();
+
+    try (var ctx = new DbContext(routing)) {
+      Assertions.assertEquals("primary", ctx.executeScalar("SELECT NAME FROM NODE", String.class));
+    }
+    Assertions.assertFalse(routing.isReadYourWritesActive());
+    Assertions.assertEquals("replica1", readNode(routing));
+  }
+
+  @Test
+  public void test_readYourWrites() throws Exception {
+    var routing = newRouting();
+
+    try (var ctx = new DbContext(routing)) {
+      ctx.executeUpdate("UPDATE NODE SET NAME = :name", Map.of("name", "primary2"));
+    }
+    Assertions.assertTrue(routing.isReadYourWritesActive());
+    Assertions.assertEquals("primary2", readNode(routing));
+  }
+
+  @Test
+  public void test_readYourWrites_afterCommit() throws Exception {
+    var routing = newRouting();
+
+    try (var ctx = new DbContext(routing)) {
+      ctx.setTransactional(true);
+      ctx.executeUpdate("UPDATE NODE SET NAME = :name", Map.of("name", "primary2"));
+      ctx.commit();
+    }
+    Assertions.assertEquals("primary2", readNode(routing));
+  }
+
+  @Test
+  public void test_readOnly_wrapped() throws Exception {
+    var metrics = new QueryMetrics();
+    var wrapper = new DataSourceWrapper(newRouting(), "routing").setMetrics(metrics);
+
+    try (var ctx = new DbContext(wrapper, true)) {
+      Assertions.assertEquals("replica1", ctx.executeScalar("SELECT NAME FROM NODE", new Object[0], String.class));
+      Assertions.assertSame(metrics, ctx.getConnection().getMetrics());
+    }
+  }
+
+  @Test
+  public void test_readOnly_plainDataSource() throws Exception {
+    List<Boolean> readOnlyCalls = new ArrayList<>();
+    var dataSource = new DataSourceWrapper(primary) {
+
+      @Override
+      public Connection getConnection() throws SQLException {
+        var conn = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+              if (method.getName().equals("setReadOnly")) {
+                readOnlyCalls.add((Boolean) args[0]);
+              }
+              return method.invoke(conn, args);
+            });
+      }
+    };
+
+    try (var ctx = new DbContext(dataSource, true)) {
+      Assertions.assertEquals(List.of(true), readOnlyCalls);
+    }
+    Assertions.assertEquals(List.of(true, false), readOnlyCalls);
+
+    try (var ctx = new DbContext(dataSource, false)) {
+      Assertions.assertEquals(List.of(true, false), readOnlyCalls);
+    }
+  }
+}
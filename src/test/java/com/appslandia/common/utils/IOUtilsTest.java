@@ -23,10 +23,14 @@ package com.appslandia.common.utils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Random;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  *
@@ -68,4 +72,35 @@ public class IOUtilsTest {
     } catch (IOException ex) {
     }
   }
+
+  @Test
+  public void test_copyToChannel() throws IOException {
+    // Larger than the channel buffer
+    var src = RandomUtils.nextBytes(200_000, new Random());
+    var os = new ByteArrayOutputStream();
+
+    var count = IOUtils.copy(new ByteArrayInputStream(src), Channels.newChannel(os));
+    Assertions.assertEquals(src.length, count);
+    Assertions.assertArrayEquals(src, os.toByteArray());
+  }
+
+  @Test
+  public void test_copyToFile(@TempDir Path dir) throws IOException {
+    var file = dir.resolve("data.bin");
+    Files.write(file, new byte[300_000]);
+
+    var src = RandomUtils.nextBytes(100, new Random());
+    Assertions.assertEquals(100, IOUtils.copy(new ByteArrayInputStream(src), file));
+
+    // Truncates the existing content
+    Assertions.assertArrayEquals(src, Files.readAllBytes(file));
+  }
+
+  @Test
+  public void test_copyToFile_empty(@TempDir Path dir) throws IOException {
+    var file = dir.resolve("empty.bin");
+
+    Assertions.assertEquals(0, IOUtils.copy(new ByteArrayInputStream(new byte[0]), file));
+    Assertions.assertEquals(0, Files.size(file));
+  }
 }